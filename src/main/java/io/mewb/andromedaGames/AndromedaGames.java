@@ -1,5 +1,6 @@
 package io.mewb.andromedaGames;
 
+import io.mewb.andromedaGames.arena.ArenaChangeListener;
 import io.mewb.andromedaGames.arena.ArenaManager;
 import io.mewb.andromedaGames.command.AndromedaGamesCommand;
 import io.mewb.andromedaGames.command.CaptureTheShardCommand;
@@ -8,6 +9,7 @@ import io.mewb.andromedaGames.command.KoTHCommand;
 import io.mewb.andromedaGames.command.VoteCommand;
 import io.mewb.andromedaGames.config.ConfigManager;
 import io.mewb.andromedaGames.game.GameManager;
+import io.mewb.andromedaGames.perf.TickProfiler;
 import io.mewb.andromedaGames.player.PlayerStateManager;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.java.JavaPlugin;
@@ -17,6 +19,7 @@ public class AndromedaGames extends JavaPlugin {
 
     private static AndromedaGames instance;
     private ConfigManager configManager;
+    private TickProfiler tickProfiler;
     private PlayerStateManager playerStateManager;
     private FAWEProvider faweProvider;
     private ArenaManager arenaManager;
@@ -35,8 +38,13 @@ public class AndromedaGames extends JavaPlugin {
         this.configManager = new ConfigManager(this);
         pluginLogger.info("ConfigManager initialized.");
 
+        // Initialize TickProfiler early so every manager can time its work
+        this.tickProfiler = new TickProfiler(configManager.isProfilerEnabled(), configManager.getProfilerWindowSeconds());
+        pluginLogger.info("TickProfiler initialized (enabled: " + tickProfiler.isEnabled() + ").");
+
         // Initialize PlayerStateManager
-        this.playerStateManager = new PlayerStateManager(pluginLogger); // Pass the logger
+        this.playerStateManager = new PlayerStateManager(this);
+        getServer().getPluginManager().registerEvents(playerStateManager, this); // Restores states left over from a crash on join
         pluginLogger.info("PlayerStateManager initialized.");
 
         // Initialize FAWE Provider (dependency for ArenaManager)
@@ -49,6 +57,7 @@ public class AndromedaGames extends JavaPlugin {
 
         // Initialize Arena Manager (depends on FAWEProvider)
         this.arenaManager = new ArenaManager(this); // ArenaManager might need plugin instance for tasks or FAWEProvider
+        getServer().getPluginManager().registerEvents(new ArenaChangeListener(arenaManager), this); // Feeds arena reset journals
         pluginLogger.info("ArenaManager initialized.");
 
         // Initialize Game Manager (depends on ConfigManager, PlayerStateManager, ArenaManager)
@@ -115,6 +124,9 @@ public class AndromedaGames extends JavaPlugin {
         if (gameManager != null) {
             gameManager.shutdown(); // Shuts down all active games and performs cleanup
         }
+        if (playerStateManager != null) {
+            playerStateManager.getStore().shutdown(); // Flushes pending state writes
+        }
         // Any other specific cleanup for other managers if needed
         getLogger().info("AndromedaGames has been disabled.");
         instance = null;
@@ -154,6 +166,10 @@ public class AndromedaGames extends JavaPlugin {
         return configManager;
     }
 
+    public TickProfiler getTickProfiler() {
+        return tickProfiler;
+    }
+
     public PlayerStateManager getPlayerStateManager() {
         return playerStateManager;
     }
@@ -0,0 +1,137 @@
+package io.mewb.andromedaGames.arena;
+
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.data.Directional;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockBurnEvent;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockFadeEvent;
+import org.bukkit.event.block.BlockFormEvent;
+import org.bukkit.event.block.BlockFromToEvent;
+import org.bukkit.event.block.BlockGrowEvent;
+import org.bukkit.event.block.BlockMultiPlaceEvent;
+import org.bukkit.event.block.BlockPistonExtendEvent;
+import org.bukkit.event.block.BlockPistonRetractEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.block.BlockSpreadEvent;
+import org.bukkit.event.block.LeavesDecayEvent;
+import org.bukkit.event.entity.EntityChangeBlockEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+
+import java.util.List;
+
+/**
+ * Feeds block changes inside instance arenas into their {@link BlockChangeJournal}s: players, explosions, fire,
+ * liquids, pistons, entities (falling blocks, endermen, ...) and natural changes (melting, forming, spreading,
+ * growing, leaf decay). Runs at MONITOR so only changes that actually happen are journaled.
+ */
+public class ArenaChangeListener implements Listener {
+
+    private final ArenaManager arenaManager;
+
+    public ArenaChangeListener(ArenaManager arenaManager) {
+        this.arenaManager = arenaManager;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBreak(BlockBreakEvent event) {
+        arenaManager.recordBlockChange(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlace(BlockPlaceEvent event) {
+        // The block is already placed when this fires; the replaced state is what must be restored
+        if (event instanceof BlockMultiPlaceEvent) {
+            for (BlockState replaced : ((BlockMultiPlaceEvent) event).getReplacedBlockStates()) {
+                arenaManager.recordBlockChange(replaced);
+            }
+        } else {
+            arenaManager.recordBlockChange(event.getBlockReplacedState());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityExplode(EntityExplodeEvent event) { // TNT (including voting hook TNT), creepers, ...
+        for (Block block : event.blockList()) {
+            arenaManager.recordBlockChange(block);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockExplode(BlockExplodeEvent event) {
+        for (Block block : event.blockList()) {
+            arenaManager.recordBlockChange(block);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBurn(BlockBurnEvent event) {
+        arenaManager.recordBlockChange(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onLiquidFlow(BlockFromToEvent event) {
+        arenaManager.recordBlockChange(event.getToBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonExtend(BlockPistonExtendEvent event) {
+        recordPiston(event.getBlock(), event.getBlocks(), true);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonRetract(BlockPistonRetractEvent event) {
+        recordPiston(event.getBlock(), event.getBlocks(), false);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityChangeBlock(EntityChangeBlockEvent event) { // Falling blocks, endermen, ravagers, silverfish, ...
+        arenaManager.recordBlockChange(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockFade(BlockFadeEvent event) { // Ice and snow melting, coral dying, fire burning out, ...
+        arenaManager.recordBlockChange(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockForm(BlockFormEvent event) { // Snow, ice, concrete, obsidian/cobblestone from liquids, ...
+        arenaManager.recordBlockChange(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockSpread(BlockSpreadEvent event) { // Fire, grass, mycelium, vines, ...
+        arenaManager.recordBlockChange(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockGrow(BlockGrowEvent event) {
+        arenaManager.recordBlockChange(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onLeavesDecay(LeavesDecayEvent event) {
+        arenaManager.recordBlockChange(event.getBlock());
+    }
+
+    /**
+     * Records everything a piston changes: the piston itself, the space of its head, and every moved block both
+     * where it was and where it goes. Blocks move along the piston's facing when extending, against it when retracting.
+     */
+    private void recordPiston(Block piston, List<Block> movedBlocks, boolean extending) {
+        arenaManager.recordBlockChange(piston);
+        if (!(piston.getBlockData() instanceof Directional)) return;
+        BlockFace facing = ((Directional) piston.getBlockData()).getFacing();
+        arenaManager.recordBlockChange(piston.getRelative(facing)); // Head
+        BlockFace movement = extending ? facing : facing.getOppositeFace();
+        for (Block block : movedBlocks) {
+            arenaManager.recordBlockChange(block);
+            arenaManager.recordBlockChange(block.getRelative(movement));
+        }
+    }
+}
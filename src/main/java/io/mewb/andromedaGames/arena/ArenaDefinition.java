@@ -17,6 +17,9 @@ public class ArenaDefinition {
     private final String displayName;
     private final String schematicFile; // Filename like "koth_mountain.schem"
     private final List<String> tags; // e.g., "koth", "large", "indoor"
+    private final ArenaProvisioning provisioning;
+    private final String templateWorld; // Folder under templates/, for TEMPLATE_WORLD provisioning
+    private final RelativeLocation templateOrigin; // Point in the template world that relative locations are measured from
 
     // This map will hold the structured relative locations.
     // The Object can be a RelativeLocation or a List<RelativeLocation>.
@@ -28,12 +31,21 @@ public class ArenaDefinition {
 
     public ArenaDefinition(String arenaId, String displayName, String schematicFile, List<String> tags,
                            Map<String, Object> definedRelativeLocations, Map<String, Object> customProperties) {
+        this(arenaId, displayName, schematicFile, tags, definedRelativeLocations, customProperties, ArenaProvisioning.SCHEMATIC, null, null);
+    }
+
+    public ArenaDefinition(String arenaId, String displayName, String schematicFile, List<String> tags,
+                           Map<String, Object> definedRelativeLocations, Map<String, Object> customProperties,
+                           ArenaProvisioning provisioning, String templateWorld, RelativeLocation templateOrigin) {
         this.arenaId = Objects.requireNonNull(arenaId, "Arena ID cannot be null");
         this.displayName = displayName != null ? displayName : arenaId;
         this.schematicFile = schematicFile; // Can be null if arena is part of the main world / not schematic based
         this.tags = new ArrayList<>(tags != null ? tags : Collections.emptyList());
         this.definedRelativeLocations = new HashMap<>(definedRelativeLocations != null ? definedRelativeLocations : Collections.emptyMap());
         this.customProperties = new HashMap<>(customProperties != null ? customProperties : Collections.emptyMap());
+        this.provisioning = provisioning != null ? provisioning : ArenaProvisioning.SCHEMATIC;
+        this.templateWorld = templateWorld;
+        this.templateOrigin = templateOrigin != null ? templateOrigin : new RelativeLocation(0, 0, 0);
     }
 
     // Getters
@@ -42,6 +54,9 @@ public class ArenaDefinition {
     public String getSchematicFile() { return schematicFile; }
     public List<String> getTags() { return Collections.unmodifiableList(tags); }
     public Map<String, Object> getCustomProperties() { return Collections.unmodifiableMap(customProperties); }
+    public ArenaProvisioning getProvisioning() { return provisioning; }
+    public String getTemplateWorld() { return templateWorld; }
+    public RelativeLocation getTemplateOrigin() { return templateOrigin; }
 
     /**
      * Gets the map of defined relative locations.
@@ -110,6 +125,13 @@ public class ArenaDefinition {
         String displayName = config.getString("display_name", arenaId);
         String schematicFile = config.getString("schematic_file"); // Can be null
         List<String> tags = config.getStringList("tags");
+        ArenaProvisioning provisioning = ArenaProvisioning.fromConfig(config.getString("provisioning"), arenaId, logger);
+        String templateWorld = config.getString("template_world");
+        RelativeLocation templateOrigin = RelativeLocation.loadFromConfig(config.getConfigurationSection("template_origin"), logger);
+        if (provisioning == ArenaProvisioning.TEMPLATE_WORLD && (templateWorld == null || templateWorld.trim().isEmpty())) {
+            logger.warning("Arena '" + arenaId + "' uses template_world provisioning but has no 'template_world'. Using schematic.");
+            provisioning = ArenaProvisioning.SCHEMATIC;
+        }
 
         Map<String, Object> parsedRelativeLocations = new HashMap<>();
         ConfigurationSection relLocsSection = config.getConfigurationSection("relative_locations");
@@ -146,6 +168,7 @@ public class ArenaDefinition {
             }
         }
 
-        return new ArenaDefinition(arenaId, displayName, schematicFile, tags, parsedRelativeLocations, customPropsMap);
+        return new ArenaDefinition(arenaId, displayName, schematicFile, tags, parsedRelativeLocations, customPropsMap,
+                provisioning, templateWorld, templateOrigin);
     }
 }
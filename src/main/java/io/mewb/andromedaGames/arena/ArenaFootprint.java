@@ -0,0 +1,29 @@
+package io.mewb.andromedaGames.arena;
+
+/**
+ * Horizontal extent of a pasted arena, relative to the paste location.
+ * A schematic pasted at P covers blocks from P + (minOffsetX, minOffsetZ) to P + (minOffsetX + sizeX - 1, minOffsetZ + sizeZ - 1).
+ */
+public class ArenaFootprint {
+    private final int minOffsetX;
+    private final int minOffsetZ;
+    private final int sizeX;
+    private final int sizeZ;
+
+    public ArenaFootprint(int minOffsetX, int minOffsetZ, int sizeX, int sizeZ) {
+        this.minOffsetX = minOffsetX;
+        this.minOffsetZ = minOffsetZ;
+        this.sizeX = Math.max(1, sizeX);
+        this.sizeZ = Math.max(1, sizeZ);
+    }
+
+    public int getMinOffsetX() { return minOffsetX; }
+    public int getMinOffsetZ() { return minOffsetZ; }
+    public int getSizeX() { return sizeX; }
+    public int getSizeZ() { return sizeZ; }
+
+    @Override
+    public String toString() {
+        return "ArenaFootprint{offset=(" + minOffsetX + "," + minOffsetZ + "), size=" + sizeX + "x" + sizeZ + "}";
+    }
+}
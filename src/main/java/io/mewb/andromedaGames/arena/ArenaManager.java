@@ -7,7 +7,6 @@ import com.sk89q.worldedit.bukkit.BukkitAdapter;
 import com.sk89q.worldedit.extent.clipboard.Clipboard;
 import com.sk89q.worldedit.extent.clipboard.io.ClipboardFormat;
 import com.sk89q.worldedit.extent.clipboard.io.ClipboardFormats;
-import com.sk89q.worldedit.extent.clipboard.io.ClipboardReader;
 import com.sk89q.worldedit.extent.clipboard.io.ClipboardWriter;
 import com.sk89q.worldedit.function.operation.Operation;
 import com.sk89q.worldedit.function.operation.Operations;
@@ -18,13 +17,29 @@ import com.sk89q.worldedit.function.mask.ExistingBlockMask; // For copying exist
 // RecursiveVisitor is not directly used in this corrected version for the basic save, but good to know for advanced ops.
 
 import io.mewb.andromedaGames.AndromedaGames;
+import io.mewb.andromedaGames.config.ConfigManager;
+import io.mewb.andromedaGames.perf.TickProfiler;
+import io.mewb.andromedaGames.utils.RelativeLocation;
 import org.bukkit.Location;
 import org.bukkit.World; // Bukkit World
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockState;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.FallingBlock;
+import org.bukkit.entity.TNTPrimed;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -34,6 +49,28 @@ public class ArenaManager {
     private final WorldEdit worldEdit; // Instance from FAWEProvider
     private final Logger logger;
     private final File schematicsDir; // Plugin-specific schematics directory
+    private final ArenaSlotAllocator slotAllocator; // Non-overlapping placement of instance arenas
+    private final int defaultFootprintSize; // Used for arenas without a schematic
+    private final Map<String, ArenaFootprint> footprintCache = new ConcurrentHashMap<>();
+    private final SchematicCache schematicCache; // Decoded clipboards, so repeated pastes skip disk and NBT decode
+    private final TemplateWorldProvisioner templateWorlds; // Per-instance world copies for template_world arenas
+    private final int journalMaxBlocks; // Above this many changed blocks an arena is re-pasted instead of reverted
+    private final int resetBatchSize; // Blocks per EditSession when reverting a journal
+    // Block change journals per instance, and per world + grid cell for lookups from block events
+    private final Map<UUID, BlockChangeJournal> journalsByInstance = new HashMap<>();
+    private final Map<String, Map<Long, BlockChangeJournal>> journalsByCell = new HashMap<>();
+    // Arena chunks each instance holds loaded, and how many instances hold each chunk (per world), for plugin chunk tickets
+    private final Map<UUID, HeldChunks> heldChunksByInstance = new HashMap<>();
+    private final Map<String, Map<Long, Integer>> chunkHoldCounts = new HashMap<>();
+
+    private static final class HeldChunks {
+        final World world;
+        final List<Long> chunkKeys = new ArrayList<>();
+
+        HeldChunks(World world) {
+            this.world = world;
+        }
+    }
 
     public ArenaManager(AndromedaGames plugin) {
         this.plugin = plugin;
@@ -59,6 +96,111 @@ public class ArenaManager {
         } else {
             logger.info("Plugin schematics directory already exists: " + schematicsDir.getAbsolutePath());
         }
+
+        ConfigManager config = plugin.getConfigManager();
+        this.slotAllocator = new ArenaSlotAllocator(logger,
+                config.getArenaAllocationCellSize(), config.getArenaAllocationMargin(),
+                config.getArenaAllocationOriginX(), config.getArenaAllocationOriginZ(),
+                config.getArenaAllocationPasteY());
+        this.defaultFootprintSize = config.getArenaAllocationDefaultFootprint();
+        this.schematicCache = new SchematicCache(logger, config.isSchematicCacheEnabled(), config.getSchematicCacheMaxMemoryMb());
+        this.journalMaxBlocks = config.getArenaResetJournalMaxBlocks();
+        this.resetBatchSize = Math.max(1, config.getArenaResetBatchSize());
+        this.templateWorlds = new TemplateWorldProvisioner(plugin);
+    }
+
+    public ArenaSlotAllocator getSlotAllocator() {
+        return slotAllocator;
+    }
+
+    public SchematicCache getSchematicCache() {
+        return schematicCache;
+    }
+
+    public TemplateWorldProvisioner getTemplateWorlds() {
+        return templateWorlds;
+    }
+
+    public File getSchematicsDirectory() {
+        return schematicsDir;
+    }
+
+    /**
+     * Forgets everything cached for a schematic file that changed on disk. Thread-safe.
+     * @param fileName The schematic file name (with extension).
+     */
+    public void invalidateSchematic(String fileName) {
+        footprintCache.remove(fileName);
+        schematicCache.invalidate(fileName);
+    }
+
+    /**
+     * Gets the horizontal footprint of an arena relative to its paste location.
+     * For schematic arenas this is read from the schematic's region and origin (and cached per schematic name);
+     * arenas without a schematic get a square of the configured default size.
+     * Unless cached, this reads and decodes the schematic; use {@link #getArenaFootprintAsync} from the main thread.
+     * @param arena The arena definition.
+     * @return The footprint, never null.
+     */
+    public ArenaFootprint getArenaFootprint(ArenaDefinition arena) {
+        String schematicName = arena.getSchematicFile();
+        if (schematicName == null || schematicName.trim().isEmpty()) {
+            return new ArenaFootprint(0, 0, defaultFootprintSize, defaultFootprintSize);
+        }
+        String fileName = schematicName.endsWith(".schem") ? schematicName : schematicName + ".schem";
+        ArenaFootprint cached = footprintCache.get(fileName);
+        if (cached != null) return cached;
+
+        // Goes through the clipboard cache, so the paste that follows does not decode the file again
+        ArenaFootprint footprint = schematicCache.use(new File(schematicsDir, fileName), clipboard -> {
+            BlockVector3 min = clipboard.getRegion().getMinimumPoint();
+            BlockVector3 max = clipboard.getRegion().getMaximumPoint();
+            BlockVector3 origin = clipboard.getOrigin();
+            return new ArenaFootprint(
+                    min.getX() - origin.getX(), min.getZ() - origin.getZ(),
+                    max.getX() - min.getX() + 1, max.getZ() - min.getZ() + 1);
+        });
+        if (footprint == null) {
+            logger.warning("Could not read footprint of schematic '" + fileName + "' for arena '" + arena.getArenaId() + "'. Using default size " + defaultFootprintSize + ".");
+            return new ArenaFootprint(0, 0, defaultFootprintSize, defaultFootprintSize);
+        }
+        footprintCache.put(fileName, footprint);
+        logger.fine("Computed footprint for schematic '" + fileName + "': " + footprint);
+        return footprint;
+    }
+
+    /**
+     * Gets an arena's footprint without touching the schematic file on the calling thread.
+     * @return A future completed right away (on the calling thread) if the footprint is cached or the arena has
+     *         no schematic, otherwise completed on an async thread once the schematic has been read.
+     */
+    public CompletableFuture<ArenaFootprint> getArenaFootprintAsync(ArenaDefinition arena) {
+        String schematicName = arena.getSchematicFile();
+        if (schematicName == null || schematicName.trim().isEmpty()) {
+            return CompletableFuture.completedFuture(getArenaFootprint(arena));
+        }
+        ArenaFootprint cached = footprintCache.get(schematicName.endsWith(".schem") ? schematicName : schematicName + ".schem");
+        if (cached != null) return CompletableFuture.completedFuture(cached);
+
+        CompletableFuture<ArenaFootprint> future = new CompletableFuture<>();
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+            try {
+                future.complete(getArenaFootprint(arena));
+            } catch (Throwable t) {
+                logger.log(Level.SEVERE, "Unexpected error reading footprint of schematic '" + schematicName + "'", t);
+                future.completeExceptionally(t);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Reads the footprints of schematic arenas in the background, so the first instance of each finds it cached.
+     */
+    public void prefetchArenaFootprints(Collection<ArenaDefinition> arenas) {
+        for (ArenaDefinition arena : arenas) {
+            if (arena.getProvisioning() == ArenaProvisioning.SCHEMATIC) getArenaFootprintAsync(arena);
+        }
     }
 
     /**
@@ -91,36 +233,266 @@ public class ArenaManager {
             return false;
         }
 
-        ClipboardFormat format = ClipboardFormats.findByFile(schematicFile);
-        if (format == null) {
-            logger.severe("Could not determine clipboard format for: " + schematicFile.getName() + ". Ensure it's a valid .schem file.");
+        long profileStart = plugin.getTickProfiler().start();
+        try {
+            com.sk89q.worldedit.world.World weWorld = BukkitAdapter.adapt(pasteLocation.getWorld());
+            Boolean pasted = schematicCache.use(schematicFile, clipboard -> { // Cached after the first read
+                // Using FAWE's EditSession for performance and proper operation handling
+                try (EditSession editSession = worldEdit.newEditSession(weWorld)) {
+                    // Configure the EditSession as needed
+                    // editSession.setBypassHistory(true); // If undo is not needed for this operation
+
+                    Operation operation = new ClipboardHolder(clipboard)
+                            .createPaste(editSession)
+                            .to(BlockVector3.at(pasteLocation.getX(), pasteLocation.getY(), pasteLocation.getZ()))
+                            .ignoreAirBlocks(false) // Set to false to paste air blocks from schematic, true to skip them
+                            .build();
+                    Operations.complete(operation); // Execute the paste operation
+                    return true;
+                }
+            });
+            if (pasted == null) {
+                return false; // Cache already logged why the file could not be read
+            }
+            logger.info("Successfully pasted schematic '" + fileName + "' at " + pasteLocation.toString());
+            return true;
+        } catch (WorldEditException e) {
+            logger.log(Level.SEVERE, "Error pasting schematic '" + fileName + "': " + e.getMessage(), e);
             return false;
+        } finally {
+            plugin.getTickProfiler().record(TickProfiler.Section.SCHEMATIC_PASTE, null, profileStart);
         }
+    }
 
-        try (FileInputStream fis = new FileInputStream(schematicFile);
-             ClipboardReader reader = format.getReader(fis)) {
+    /**
+     * Pastes a schematic off the main thread. Reading and decoding the file and running the FAWE EditSession
+     * all happen on an async task; FAWE applies the resulting chunk changes safely from there.
+     * The returned future completes on that async thread, so callers must hop back to the main thread
+     * (e.g. via runTask) before touching Bukkit state.
+     *
+     * @param schematicName The name of the schematic file.
+     * @param pasteLocation The Bukkit Location where the schematic should be pasted.
+     * @return A future completed with true if the paste succeeded, false otherwise.
+     */
+    public CompletableFuture<Boolean> pasteSchematicAsync(String schematicName, Location pasteLocation) {
+        CompletableFuture<Boolean> future = new CompletableFuture<>();
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+            try {
+                future.complete(pasteSchematic(schematicName, pasteLocation));
+            } catch (Throwable t) {
+                logger.log(Level.SEVERE, "Unexpected error during async paste of schematic '" + schematicName + "'", t);
+                future.complete(false);
+            }
+        });
+        return future;
+    }
 
-            Clipboard clipboard = reader.read();
-            com.sk89q.worldedit.world.World weWorld = BukkitAdapter.adapt(pasteLocation.getWorld());
+    /**
+     * Loads the chunks an instance's arena covers without blocking the main thread, and holds them loaded with
+     * plugin chunk tickets until {@link #releaseArenaChunks}. Joins, starts and teleports inside the arena then
+     * never load chunks synchronously. Main thread only; the future completes on the main thread.
+     *
+     * @param instanceId The instance holding the chunks.
+     * @param arena The arena definition (for its bounds).
+     * @param baseLocation Where the arena was pasted (or the template origin in its own world).
+     * @param footprint The footprint the arena was pasted with, or null for template worlds.
+     * @return A future completed once every chunk is loaded and held.
+     */
+    public CompletableFuture<Void> holdArenaChunks(UUID instanceId, ArenaDefinition arena, Location baseLocation, ArenaFootprint footprint) {
+        releaseArenaChunks(instanceId);
+        World world = baseLocation.getWorld();
+        if (world == null) return CompletableFuture.completedFuture(null);
+        HeldChunks held = new HeldChunks(world);
+        heldChunksByInstance.put(instanceId, held);
 
-            // Using FAWE's EditSession for performance and proper operation handling
-            try (EditSession editSession = worldEdit.newEditSession(weWorld)) {
-                // Configure the EditSession as needed
-                // editSession.setBypassHistory(true); // If undo is not needed for this operation
-
-                Operation operation = new ClipboardHolder(clipboard)
-                        .createPaste(editSession)
-                        .to(BlockVector3.at(pasteLocation.getX(), pasteLocation.getY(), pasteLocation.getZ()))
-                        .ignoreAirBlocks(false) // Set to false to paste air blocks from schematic, true to skip them
-                        .build();
-                Operations.complete(operation); // Execute the paste operation
-                logger.info("Successfully pasted schematic '" + fileName + "' at " + pasteLocation.toString());
-                return true;
+        int[] bounds = getArenaBlockBounds(arena, baseLocation, footprint);
+        List<CompletableFuture<?>> loads = new ArrayList<>();
+        for (int chunkX = bounds[0] >> 4; chunkX <= bounds[2] >> 4; chunkX++) {
+            for (int chunkZ = bounds[1] >> 4; chunkZ <= bounds[3] >> 4; chunkZ++) {
+                loads.add(world.getChunkAtAsync(chunkX, chunkZ).thenAccept(chunk -> {
+                    if (heldChunksByInstance.get(instanceId) != held) return; // Released while loading
+                    long chunkKey = chunk.getChunkKey();
+                    held.chunkKeys.add(chunkKey);
+                    if (chunkHoldCounts.computeIfAbsent(world.getName(), k -> new HashMap<>()).merge(chunkKey, 1, Integer::sum) == 1) {
+                        chunk.addPluginChunkTicket(plugin);
+                    }
+                }));
+            }
+        }
+        logger.fine("Loading " + loads.size() + " arena chunks for instance " + instanceId.toString().substring(0,8) + ".");
+        return CompletableFuture.allOf(loads.toArray(new CompletableFuture[0]));
+    }
+
+    /**
+     * Drops an instance's hold on its arena chunks; a chunk's ticket is removed once no instance holds it. Main thread only.
+     */
+    public void releaseArenaChunks(UUID instanceId) {
+        HeldChunks held = heldChunksByInstance.remove(instanceId);
+        if (held == null) return;
+        Map<Long, Integer> counts = chunkHoldCounts.get(held.world.getName());
+        if (counts == null) return;
+        for (long chunkKey : held.chunkKeys) {
+            Integer remaining = counts.computeIfPresent(chunkKey, (k, count) -> count > 1 ? count - 1 : null);
+            if (remaining == null) {
+                held.world.removePluginChunkTicket((int) chunkKey, (int) (chunkKey >> 32), plugin);
             }
-        } catch (IOException | WorldEditException e) {
-            logger.log(Level.SEVERE, "Error pasting schematic '" + fileName + "': " + e.getMessage(), e);
-            return false;
         }
+        if (counts.isEmpty()) chunkHoldCounts.remove(held.world.getName());
+    }
+
+    /**
+     * Block bounds {minX, minZ, maxX, maxZ} an arena covers around its base location: the schematic footprint,
+     * or for template worlds the area spanned by its relative locations plus a chunk of margin.
+     */
+    private int[] getArenaBlockBounds(ArenaDefinition arena, Location baseLocation, ArenaFootprint footprint) {
+        int baseX = baseLocation.getBlockX();
+        int baseZ = baseLocation.getBlockZ();
+        if (footprint != null) {
+            int minX = baseX + footprint.getMinOffsetX();
+            int minZ = baseZ + footprint.getMinOffsetZ();
+            return new int[] {minX, minZ, minX + footprint.getSizeX() - 1, minZ + footprint.getSizeZ() - 1};
+        }
+        double minX = 0, minZ = 0, maxX = 0, maxZ = 0;
+        for (Object value : arena.getDefinedRelativeLocations().values()) {
+            List<?> locations = value instanceof List ? (List<?>) value : Collections.singletonList(value);
+            for (Object location : locations) {
+                if (!(location instanceof RelativeLocation)) continue;
+                RelativeLocation rel = (RelativeLocation) location;
+                minX = Math.min(minX, rel.relX);
+                minZ = Math.min(minZ, rel.relZ);
+                maxX = Math.max(maxX, rel.relX);
+                maxZ = Math.max(maxZ, rel.relZ);
+            }
+        }
+        return new int[] {baseX + (int) Math.floor(minX) - 16, baseZ + (int) Math.floor(minZ) - 16,
+                baseX + (int) Math.ceil(maxX) + 16, baseZ + (int) Math.ceil(maxZ) + 16};
+    }
+
+    /**
+     * Starts journaling block changes inside an instance's arena slot. Call once the arena is pasted.
+     */
+    public void startJournal(UUID instanceId, ArenaSlot slot) {
+        stopJournal(instanceId);
+        BlockChangeJournal journal = new BlockChangeJournal(slot, journalMaxBlocks);
+        journalsByInstance.put(instanceId, journal);
+        Map<Long, BlockChangeJournal> cells = journalsByCell.computeIfAbsent(slot.getWorldName(), k -> new HashMap<>());
+        for (long cellKey : slotAllocator.cellKeysOf(slot)) {
+            cells.put(cellKey, journal);
+        }
+    }
+
+    /**
+     * Stops journaling for an instance and returns its journal.
+     * @return The journal, or null if none was started.
+     */
+    public BlockChangeJournal stopJournal(UUID instanceId) {
+        BlockChangeJournal journal = journalsByInstance.remove(instanceId);
+        if (journal == null) return null;
+        Map<Long, BlockChangeJournal> cells = journalsByCell.get(journal.getSlot().getWorldName());
+        if (cells != null) {
+            for (long cellKey : slotAllocator.cellKeysOf(journal.getSlot())) {
+                cells.remove(cellKey, journal);
+            }
+            if (cells.isEmpty()) journalsByCell.remove(journal.getSlot().getWorldName());
+        }
+        return journal;
+    }
+
+    /**
+     * Records a block's current state in the journal of the arena slot it lies in, if any.
+     * Must be called before the block changes.
+     */
+    public void recordBlockChange(Block block) {
+        BlockChangeJournal journal = getJournalAt(block.getWorld(), block.getX(), block.getZ());
+        if (journal != null) journal.record(block.getX(), block.getY(), block.getZ(), block.getBlockData());
+    }
+
+    /**
+     * Records a block's previous state (e.g. the state replaced by a placed block) in the journal of its arena slot, if any.
+     */
+    public void recordBlockChange(BlockState previousState) {
+        BlockChangeJournal journal = getJournalAt(previousState.getWorld(), previousState.getX(), previousState.getZ());
+        if (journal != null) journal.record(previousState.getX(), previousState.getY(), previousState.getZ(), previousState.getBlockData());
+    }
+
+    /**
+     * Removes primed TNT and falling blocks inside a journaled slot, so nothing lands or explodes there once
+     * the journal has stopped recording.
+     */
+    private void removeSettlingEntities(BlockChangeJournal journal) {
+        World world = plugin.getServer().getWorld(journal.getSlot().getWorldName());
+        if (world == null) return;
+        for (Entity entity : world.getEntitiesByClasses(TNTPrimed.class, FallingBlock.class)) {
+            Location location = entity.getLocation();
+            if (getJournalAt(world, location.getBlockX(), location.getBlockZ()) == journal) entity.remove();
+        }
+    }
+
+    private BlockChangeJournal getJournalAt(World world, int blockX, int blockZ) {
+        if (journalsByCell.isEmpty() || world == null) return null;
+        Map<Long, BlockChangeJournal> cells = journalsByCell.get(world.getName());
+        return cells == null ? null : cells.get(slotAllocator.cellKeyAt(blockX, blockZ));
+    }
+
+    /**
+     * Restores an instance's arena to its pasted state. Only the journaled blocks are written back, in batched
+     * EditSessions off the main thread; if the journal overflowed (or none was kept) the schematic is re-pasted instead.
+     * Stops the instance's journal. The returned future completes off the main thread.
+     *
+     * @param instanceId The instance whose arena to reset.
+     * @param arena The arena definition (for the fallback re-paste).
+     * @param pasteLocation Where the arena was pasted.
+     * @return A future completed with true if the arena was restored.
+     */
+    public CompletableFuture<Boolean> resetArena(UUID instanceId, ArenaDefinition arena, Location pasteLocation) {
+        BlockChangeJournal active = journalsByInstance.get(instanceId);
+        if (active != null) removeSettlingEntities(active);
+        BlockChangeJournal journal = stopJournal(instanceId);
+        boolean hasSchematic = arena.getSchematicFile() != null && !arena.getSchematicFile().isEmpty();
+        if (journal == null || journal.isOverflowed()) {
+            if (!hasSchematic) return CompletableFuture.completedFuture(journal == null);
+            logger.info("Re-pasting arena '" + arena.getArenaId() + "' for instance " + instanceId.toString().substring(0,8)
+                    + (journal == null ? " (no change journal)." : " (more than " + journalMaxBlocks + " blocks changed)."));
+            return pasteSchematicAsync(arena.getSchematicFile(), pasteLocation);
+        }
+        if (journal.isEmpty() || worldEdit == null || pasteLocation.getWorld() == null) {
+            return CompletableFuture.completedFuture(journal.isEmpty());
+        }
+
+        // Snapshot on the main thread; the journal is not touched again after this
+        int count = journal.size();
+        BlockVector3[] positions = new BlockVector3[count];
+        com.sk89q.worldedit.world.block.BlockState[] states = new com.sk89q.worldedit.world.block.BlockState[count];
+        int[] index = {0};
+        journal.forEach((x, y, z, original) -> {
+            positions[index[0]] = BlockVector3.at(x, y, z);
+            states[index[0]] = BukkitAdapter.adapt(original);
+            index[0]++;
+        });
+        com.sk89q.worldedit.world.World weWorld = BukkitAdapter.adapt(pasteLocation.getWorld());
+
+        CompletableFuture<Boolean> future = new CompletableFuture<>();
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+            long profileStart = plugin.getTickProfiler().start();
+            try {
+                for (int start = 0; start < count; start += resetBatchSize) {
+                    int end = Math.min(count, start + resetBatchSize);
+                    try (EditSession editSession = worldEdit.newEditSession(weWorld)) {
+                        for (int i = start; i < end; i++) {
+                            editSession.setBlock(positions[i], states[i]);
+                        }
+                    }
+                }
+                logger.info("Reverted " + count + " changed blocks of arena '" + arena.getArenaId() + "' for instance " + instanceId.toString().substring(0,8) + ".");
+                future.complete(true);
+            } catch (Throwable t) {
+                logger.log(Level.SEVERE, "Error reverting arena '" + arena.getArenaId() + "' for instance " + instanceId.toString().substring(0,8) + ": " + t.getMessage(), t);
+                future.complete(false);
+            } finally {
+                plugin.getTickProfiler().record(TickProfiler.Section.ARENA_RESET, null, profileStart);
+            }
+        });
+        return future;
     }
 
     /**
@@ -188,6 +560,7 @@ public class ArenaManager {
         try (FileOutputStream fos = new FileOutputStream(schematicFile);
              ClipboardWriter writer = format.getWriter(fos)) {
             writer.write(clipboard);
+            invalidateSchematic(fileName); // Region or origin may have changed
             logger.info("Successfully saved schematic '" + fileName + "' to " + schematicFile.getAbsolutePath());
             return true;
         } catch (IOException e) {
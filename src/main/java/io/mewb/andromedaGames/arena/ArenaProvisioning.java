@@ -0,0 +1,23 @@
+package io.mewb.andromedaGames.arena;
+
+import java.util.logging.Logger;
+
+/**
+ * How an instance's copy of an arena is created, set per arena with {@code provisioning} in its file.
+ */
+public enum ArenaProvisioning {
+    /** The arena's schematic is pasted into a slot of a shared world. */
+    SCHEMATIC,
+    /** A saved template world is copied into a new world of its own, which is deleted when the instance ends. */
+    TEMPLATE_WORLD;
+
+    public static ArenaProvisioning fromConfig(String value, String arenaId, Logger logger) {
+        if (value == null || value.trim().isEmpty()) return SCHEMATIC;
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            logger.warning("Unknown provisioning '" + value + "' in arena '" + arenaId + "'. Expected 'schematic' or 'template_world'. Using schematic.");
+            return SCHEMATIC;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package io.mewb.andromedaGames.arena;
+
+/**
+ * A reserved rectangle of grid cells in one world, handed out by {@link ArenaSlotAllocator}.
+ * The slot includes the configured margin; the arena itself is pasted inside it.
+ */
+public class ArenaSlot {
+    private final String worldName;
+    private final int cellX;
+    private final int cellZ;
+    private final int cellsX;
+    private final int cellsZ;
+    private final int cellSize;
+
+    ArenaSlot(String worldName, int cellX, int cellZ, int cellsX, int cellsZ, int cellSize) {
+        this.worldName = worldName;
+        this.cellX = cellX;
+        this.cellZ = cellZ;
+        this.cellsX = cellsX;
+        this.cellsZ = cellsZ;
+        this.cellSize = cellSize;
+    }
+
+    public String getWorldName() { return worldName; }
+    public int getCellX() { return cellX; }
+    public int getCellZ() { return cellZ; }
+    public int getCellsX() { return cellsX; }
+    public int getCellsZ() { return cellsZ; }
+
+    /** Lowest block X covered by this slot (margin included). */
+    public int getMinBlockX(int originX) { return originX + cellX * cellSize; }
+    /** Lowest block Z covered by this slot (margin included). */
+    public int getMinBlockZ(int originZ) { return originZ + cellZ * cellSize; }
+    public int getSizeX() { return cellsX * cellSize; }
+    public int getSizeZ() { return cellsZ * cellSize; }
+
+    @Override
+    public String toString() {
+        return "ArenaSlot{" + worldName + " cell=(" + cellX + "," + cellZ + ") size=" + cellsX + "x" + cellsZ + " cells}";
+    }
+}
@@ -0,0 +1,167 @@
+package io.mewb.andromedaGames.arena;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * Hands out non-overlapping arena regions on a 2D grid of square cells, per world.
+ * A slot is sized from the arena's real footprint plus a margin on every side, rounded up to whole cells.
+ * Candidate positions are scanned in rings outward from the grid origin, so arenas are packed densely
+ * near the origin instead of marching off along one axis. Released slots go onto a free-list per slot size
+ * and are handed out again before any new cells are scanned.
+ * All methods are synchronized: a slot is fully reserved before allocate() returns, so two creations
+ * can never be given overlapping regions even if one of them pastes asynchronously.
+ */
+public class ArenaSlotAllocator {
+
+    private static final int MAX_RINGS = 512; // Hard stop for the ring scan (512 rings of 64-block cells ~= 32k blocks)
+
+    private final Logger logger;
+    private final int cellSize;
+    private final int margin;
+    private final int originX;
+    private final int originZ;
+    private final int pasteY;
+
+    private final Map<String, Set<Long>> occupiedCellsByWorld = new HashMap<>();
+    // Free-list per world and slot shape (cellsX x cellsZ), so a same-sized arena reuses a freed slot in O(1)
+    private final Map<String, Map<Long, Deque<ArenaSlot>>> freeSlotsByWorld = new HashMap<>();
+    private int allocatedCount = 0;
+
+    public ArenaSlotAllocator(Logger logger, int cellSize, int margin, int originX, int originZ, int pasteY) {
+        this.logger = logger;
+        this.cellSize = Math.max(16, cellSize);
+        this.margin = Math.max(0, margin);
+        this.originX = originX;
+        this.originZ = originZ;
+        this.pasteY = pasteY;
+    }
+
+    /**
+     * Reserves a slot big enough for the given footprint in the given world.
+     * @return The reserved slot, or null if no free region was found within the scan limit.
+     */
+    public synchronized ArenaSlot allocate(String worldName, ArenaFootprint footprint) {
+        int cellsX = cellsFor(footprint.getSizeX());
+        int cellsZ = cellsFor(footprint.getSizeZ());
+        Set<Long> occupied = occupiedCellsByWorld.computeIfAbsent(worldName, k -> new HashSet<>());
+
+        Deque<ArenaSlot> freeList = freeSlotsByWorld.computeIfAbsent(worldName, k -> new HashMap<>()).get(shapeKey(cellsX, cellsZ));
+        while (freeList != null && !freeList.isEmpty()) {
+            ArenaSlot recycled = freeList.poll();
+            if (isFree(occupied, recycled.getCellX(), recycled.getCellZ(), cellsX, cellsZ)) {
+                mark(occupied, recycled, true);
+                allocatedCount++;
+                logger.fine("[ArenaSlotAllocator] Reused free slot " + recycled);
+                return recycled;
+            }
+            // Cells were taken by a differently sized slot since this one was freed; discard the stale entry
+        }
+
+        for (int ring = 0; ring < MAX_RINGS; ring++) {
+            for (int cx = -ring; cx <= ring; cx++) {
+                for (int cz = -ring; cz <= ring; cz++) {
+                    if (Math.abs(cx) != ring && Math.abs(cz) != ring) continue; // Only the ring boundary
+                    if (isFree(occupied, cx, cz, cellsX, cellsZ)) {
+                        ArenaSlot slot = new ArenaSlot(worldName, cx, cz, cellsX, cellsZ, cellSize);
+                        mark(occupied, slot, true);
+                        allocatedCount++;
+                        logger.fine("[ArenaSlotAllocator] Allocated new slot " + slot + " for " + footprint);
+                        return slot;
+                    }
+                }
+            }
+        }
+        logger.severe("[ArenaSlotAllocator] No free arena slot found in world '" + worldName + "' for " + footprint + " within " + MAX_RINGS + " rings.");
+        return null;
+    }
+
+    /**
+     * Returns a slot to the pool. The cells become free for any shape, and the slot itself is remembered for same-shape reuse.
+     */
+    public synchronized void release(ArenaSlot slot) {
+        if (slot == null) return;
+        Set<Long> occupied = occupiedCellsByWorld.get(slot.getWorldName());
+        if (occupied == null) return;
+        mark(occupied, slot, false);
+        allocatedCount = Math.max(0, allocatedCount - 1);
+        freeSlotsByWorld.computeIfAbsent(slot.getWorldName(), k -> new HashMap<>())
+                .computeIfAbsent(shapeKey(slot.getCellsX(), slot.getCellsZ()), k -> new ArrayDeque<>())
+                .push(slot);
+        logger.fine("[ArenaSlotAllocator] Released slot " + slot);
+    }
+
+    /**
+     * Where to paste an arena with the given footprint so that it sits inside the slot, offset by the margin.
+     */
+    public Location getPasteLocation(ArenaSlot slot, ArenaFootprint footprint, World world) {
+        int x = slot.getMinBlockX(originX) + margin - footprint.getMinOffsetX();
+        int z = slot.getMinBlockZ(originZ) + margin - footprint.getMinOffsetZ();
+        return new Location(world, x, pasteY, z);
+    }
+
+    /**
+     * Key of the grid cell containing the given block column. Matches the keys returned by {@link #cellKeysOf(ArenaSlot)}.
+     */
+    public long cellKeyAt(int blockX, int blockZ) {
+        return cellKey(Math.floorDiv(blockX - originX, cellSize), Math.floorDiv(blockZ - originZ, cellSize));
+    }
+
+    /**
+     * Keys of all grid cells covered by a slot, for block-to-slot lookups.
+     */
+    public List<Long> cellKeysOf(ArenaSlot slot) {
+        List<Long> keys = new ArrayList<>(slot.getCellsX() * slot.getCellsZ());
+        for (int x = slot.getCellX(); x < slot.getCellX() + slot.getCellsX(); x++) {
+            for (int z = slot.getCellZ(); z < slot.getCellZ() + slot.getCellsZ(); z++) {
+                keys.add(cellKey(x, z));
+            }
+        }
+        return keys;
+    }
+
+    public synchronized int getAllocatedCount() { return allocatedCount; }
+    public int getCellSize() { return cellSize; }
+    public int getMargin() { return margin; }
+
+    private int cellsFor(int blocks) {
+        int withMargin = blocks + 2 * margin;
+        return Math.max(1, (withMargin + cellSize - 1) / cellSize);
+    }
+
+    private boolean isFree(Set<Long> occupied, int cellX, int cellZ, int cellsX, int cellsZ) {
+        for (int x = cellX; x < cellX + cellsX; x++) {
+            for (int z = cellZ; z < cellZ + cellsZ; z++) {
+                if (occupied.contains(cellKey(x, z))) return false;
+            }
+        }
+        return true;
+    }
+
+    private void mark(Set<Long> occupied, ArenaSlot slot, boolean taken) {
+        for (int x = slot.getCellX(); x < slot.getCellX() + slot.getCellsX(); x++) {
+            for (int z = slot.getCellZ(); z < slot.getCellZ() + slot.getCellsZ(); z++) {
+                if (taken) occupied.add(cellKey(x, z));
+                else occupied.remove(cellKey(x, z));
+            }
+        }
+    }
+
+    private static long cellKey(int x, int z) {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+
+    private static long shapeKey(int cellsX, int cellsZ) {
+        return ((long) cellsX << 32) | (cellsZ & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,79 @@
+package io.mewb.andromedaGames.arena;
+
+import org.bukkit.block.data.BlockData;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Original block data of every block changed inside one instance's arena slot during a match.
+ * Only the first change of a block is kept (that is the state to restore). Entries are grouped per chunk,
+ * keyed by a packed chunk-local position, so a revert walks the world chunk by chunk.
+ * Once more than maxEntries blocks have changed the journal marks itself overflowed and drops its entries;
+ * the arena then has to be re-pasted in full instead.
+ * Not thread-safe: recorded from the main thread only.
+ */
+public class BlockChangeJournal {
+
+    /** Receives one journaled block on {@link #forEach(Visitor)}. */
+    public interface Visitor {
+        void visit(int x, int y, int z, BlockData original);
+    }
+
+    private final ArenaSlot slot;
+    private final int maxEntries;
+    private final Map<Long, Map<Integer, BlockData>> chunks = new HashMap<>();
+    private int size = 0;
+    private boolean overflowed = false;
+
+    public BlockChangeJournal(ArenaSlot slot, int maxEntries) {
+        this.slot = slot;
+        this.maxEntries = Math.max(0, maxEntries);
+    }
+
+    /**
+     * Records a block's state before it changes. Later changes of an already journaled block are ignored.
+     */
+    public void record(int x, int y, int z, BlockData original) {
+        if (overflowed) return;
+        Map<Integer, BlockData> chunk = chunks.computeIfAbsent(chunkKey(x >> 4, z >> 4), k -> new HashMap<>());
+        if (chunk.putIfAbsent(localKey(x, y, z), original) != null) return;
+        if (++size > maxEntries) {
+            overflowed = true;
+            chunks.clear();
+        }
+    }
+
+    /**
+     * Visits every journaled block, chunk by chunk.
+     */
+    public void forEach(Visitor visitor) {
+        for (Map.Entry<Long, Map<Integer, BlockData>> chunk : chunks.entrySet()) {
+            int chunkX = (int) (chunk.getKey() >> 32);
+            int chunkZ = (int) (long) chunk.getKey();
+            for (Map.Entry<Integer, BlockData> block : chunk.getValue().entrySet()) {
+                int packed = block.getKey();
+                visitor.visit((chunkX << 4) | ((packed >> 4) & 15), (short) (packed >>> 16), (chunkZ << 4) | (packed & 15), block.getValue());
+            }
+        }
+    }
+
+    public void clear() {
+        chunks.clear();
+        size = 0;
+        overflowed = false;
+    }
+
+    public ArenaSlot getSlot() { return slot; }
+    public int size() { return overflowed ? maxEntries : size; }
+    public boolean isEmpty() { return !overflowed && size == 0; }
+    public boolean isOverflowed() { return overflowed; }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    private static int localKey(int x, int y, int z) {
+        return ((y & 0xFFFF) << 16) | ((x & 15) << 4) | (z & 15); // y kept as a signed 16-bit value
+    }
+}
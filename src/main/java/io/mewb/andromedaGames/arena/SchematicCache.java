@@ -0,0 +1,211 @@
+package io.mewb.andromedaGames.arena;
+
+import com.sk89q.worldedit.extent.clipboard.Clipboard;
+import com.sk89q.worldedit.extent.clipboard.io.ClipboardFormat;
+import com.sk89q.worldedit.extent.clipboard.io.ClipboardFormats;
+import com.sk89q.worldedit.extent.clipboard.io.ClipboardReader;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps decoded schematic clipboards in memory so repeated pastes of the same arena skip the disk read
+ * and NBT decode. Entries are keyed by file name and validated against the file's last-modified time and
+ * length, so a schematic changed on disk is re-read on its next use. Total size is bounded by an estimated
+ * memory ceiling; the least recently used clipboards are evicted first, and closed once no paste uses them.
+ * All methods are thread-safe: pastes read from the cache off the main thread.
+ */
+public class SchematicCache {
+
+    private static final long BYTES_PER_BLOCK = 4; // Rough in-memory cost of one clipboard block (state id + overhead)
+
+    private final Logger logger;
+    private final boolean enabled;
+    private final long maxBytes;
+
+    // Access-ordered: iteration starts at the least recently used entry
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes = 0;
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    public SchematicCache(Logger logger, boolean enabled, int maxMemoryMb) {
+        this.logger = logger;
+        this.enabled = enabled;
+        this.maxBytes = Math.max(1, maxMemoryMb) * 1024L * 1024L;
+    }
+
+    /**
+     * Action run with a schematic's clipboard by {@link #use}.
+     */
+    @FunctionalInterface
+    public interface ClipboardAction<T, E extends Exception> {
+        T apply(Clipboard clipboard) throws E;
+    }
+
+    /**
+     * Runs an action with the decoded clipboard of a schematic file, reading it from disk only if it is not
+     * cached or has changed since it was cached. Clipboards are not thread-safe, so actions on the same cached
+     * clipboard run one at a time. The clipboard must not be kept past the action: it is closed once it has
+     * been evicted (or was never cached) and no action is using it.
+     * @param schematicFile The schematic file.
+     * @param action What to do with the clipboard.
+     * @return The action's result, or null if the file is missing or could not be read.
+     */
+    public <T, E extends Exception> T use(File schematicFile, ClipboardAction<T, E> action) throws E {
+        if (!schematicFile.isFile()) return null;
+        String key = schematicFile.getName();
+        long lastModified = schematicFile.lastModified();
+        long length = schematicFile.length();
+
+        Entry entry = null;
+        if (enabled) {
+            synchronized (this) {
+                Entry cached = entries.get(key);
+                if (cached != null && cached.lastModified == lastModified && cached.length == length) {
+                    hits++;
+                    cached.users++;
+                    entry = cached;
+                } else {
+                    misses++;
+                    if (cached != null) remove(key); // Stale: the file changed on disk
+                }
+            }
+        }
+
+        if (entry == null) {
+            Clipboard clipboard = read(schematicFile);
+            if (clipboard == null) return null;
+            long estimatedBytes = clipboard.getRegion().getVolume() * BYTES_PER_BLOCK;
+            if (!enabled || estimatedBytes > maxBytes) {
+                if (enabled) {
+                    logger.fine("[SchematicCache] Not caching '" + key + "': ~" + (estimatedBytes / 1024 / 1024) + "MB exceeds the cache ceiling.");
+                }
+                try {
+                    return action.apply(clipboard);
+                } finally {
+                    close(key, clipboard);
+                }
+            }
+            entry = new Entry(clipboard, lastModified, length, estimatedBytes);
+            entry.users++;
+            synchronized (this) {
+                remove(key); // Another thread may have cached it meanwhile
+                entries.put(key, entry);
+                usedBytes += estimatedBytes;
+                evictToCeiling();
+            }
+        }
+
+        try {
+            synchronized (entry) {
+                return action.apply(entry.clipboard);
+            }
+        } finally {
+            release(key, entry);
+        }
+    }
+
+    /**
+     * Drops a cached schematic, e.g. after it has been overwritten by saveSchematic.
+     * @param fileName The schematic file name (with extension).
+     */
+    public synchronized void invalidate(String fileName) {
+        if (remove(fileName)) {
+            logger.fine("[SchematicCache] Invalidated '" + fileName + "'.");
+        }
+    }
+
+    public synchronized void clear() {
+        for (Map.Entry<String, Entry> cached : entries.entrySet()) {
+            retire(cached.getKey(), cached.getValue());
+        }
+        entries.clear();
+        usedBytes = 0;
+    }
+
+    public boolean isEnabled() { return enabled; }
+    public synchronized int getEntryCount() { return entries.size(); }
+    public synchronized long getUsedBytes() { return usedBytes; }
+    public long getMaxBytes() { return maxBytes; }
+    public synchronized long getHits() { return hits; }
+    public synchronized long getMisses() { return misses; }
+    public synchronized long getEvictions() { return evictions; }
+
+    private Clipboard read(File schematicFile) {
+        ClipboardFormat format = ClipboardFormats.findByFile(schematicFile);
+        if (format == null) {
+            logger.severe("Could not determine clipboard format for: " + schematicFile.getName() + ". Ensure it's a valid .schem file.");
+            return null;
+        }
+        try (FileInputStream fis = new FileInputStream(schematicFile);
+             ClipboardReader reader = format.getReader(fis)) {
+            return reader.read();
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Error reading schematic '" + schematicFile.getName() + "': " + e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private boolean remove(String key) {
+        Entry removed = entries.remove(key);
+        if (removed == null) return false;
+        usedBytes -= removed.estimatedBytes;
+        retire(key, removed);
+        return true;
+    }
+
+    /** Marks an entry as no longer cached; its clipboard is closed now, or by the last action still using it. */
+    private void retire(String key, Entry entry) {
+        entry.retired = true;
+        if (entry.users == 0) close(key, entry.clipboard);
+    }
+
+    private synchronized void release(String key, Entry entry) {
+        entry.users--;
+        if (entry.retired && entry.users == 0) close(key, entry.clipboard);
+    }
+
+    private void close(String key, Clipboard clipboard) {
+        try {
+            clipboard.close();
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "[SchematicCache] Could not close clipboard of '" + key + "': " + e.getMessage(), e);
+        }
+    }
+
+    private void evictToCeiling() {
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (usedBytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, Entry> eldest = it.next();
+            usedBytes -= eldest.getValue().estimatedBytes;
+            it.remove();
+            retire(eldest.getKey(), eldest.getValue());
+            evictions++;
+            logger.fine("[SchematicCache] Evicted '" + eldest.getKey() + "' (LRU).");
+        }
+    }
+
+    private static final class Entry {
+        final Clipboard clipboard;
+        final long lastModified;
+        final long length;
+        final long estimatedBytes;
+        int users = 0; // Actions currently using the clipboard; guarded by the cache
+        boolean retired = false; // Evicted or invalidated; guarded by the cache
+
+        Entry(Clipboard clipboard, long lastModified, long length, long estimatedBytes) {
+            this.clipboard = clipboard;
+            this.lastModified = lastModified;
+            this.length = length;
+            this.estimatedBytes = estimatedBytes;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package io.mewb.andromedaGames.arena;
+
+import io.mewb.andromedaGames.AndromedaGames;
+import io.mewb.andromedaGames.utils.FileUtil;
+import io.mewb.andromedaGames.utils.VoidChunkGenerator;
+import org.bukkit.Bukkit;
+import org.bukkit.GameRule;
+import org.bukkit.World;
+import org.bukkit.WorldCreator;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Provisions arenas with {@link ArenaProvisioning#TEMPLATE_WORLD}: the arena is stored once as a saved world
+ * folder under {@code templates/}, and every instance gets its own world made by copying that folder's files
+ * (region files and level.dat) on an async task and loading the copy. Large maps load as fast as their region
+ * files can be copied instead of being pasted block by block. The copy never saves and is unloaded and deleted
+ * when its instance ends, so there is nothing to reset.
+ */
+public class TemplateWorldProvisioner {
+
+    public static final String WORLD_PREFIX = "ag_tpl_";
+    // Server bookkeeping that must not be shared between a template and its copies
+    private static final Set<String> SKIPPED_FILES = Set.of("uid.dat", "session.lock");
+    private static final Set<String> SKIPPED_DIRECTORIES = Set.of("playerdata", "advancements", "stats", "datapacks");
+
+    private final AndromedaGames plugin;
+    private final Logger logger;
+    private final File templatesDir;
+
+    public TemplateWorldProvisioner(AndromedaGames plugin) {
+        this.plugin = plugin;
+        this.logger = plugin.getLogger();
+        this.templatesDir = new File(plugin.getDataFolder(), "templates");
+        if (!templatesDir.exists() && !templatesDir.mkdirs()) {
+            logger.severe("Could not create templates directory: " + templatesDir.getAbsolutePath());
+        }
+        deleteLeftoverCopies();
+    }
+
+    public File getTemplatesDirectory() {
+        return templatesDir;
+    }
+
+    /**
+     * Creates and loads a fresh copy of an arena's template world for one instance.
+     * The files are copied off the main thread; the world is loaded on the main thread, where the future completes.
+     * @return A future completed with the loaded world, or completed exceptionally if the copy or load failed.
+     */
+    public CompletableFuture<World> provision(ArenaDefinition arena, UUID instanceId) {
+        File template = new File(templatesDir, arena.getTemplateWorld());
+        if (!new File(template, "level.dat").isFile()) {
+            logger.severe("Template world '" + arena.getTemplateWorld() + "' for arena '" + arena.getArenaId() + "' not found (expected a world folder with level.dat in " + templatesDir.getAbsolutePath() + ").");
+            return CompletableFuture.failedFuture(new IllegalStateException("Template world '" + arena.getTemplateWorld() + "' not found."));
+        }
+        String worldName = WORLD_PREFIX + instanceId.toString().substring(0,8);
+        File target = new File(Bukkit.getWorldContainer(), worldName);
+        CompletableFuture<World> future = new CompletableFuture<>();
+
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+            long startNanos = System.nanoTime();
+            try {
+                FileUtil.deleteDirectory(target.toPath()); // Leftover from an earlier run with the same short ID
+                copyTemplate(template.toPath(), target.toPath());
+            } catch (IOException e) {
+                logger.log(Level.SEVERE, "Could not copy template world '" + arena.getTemplateWorld() + "' for arena '" + arena.getArenaId() + "'", e);
+                deleteQuietly(target);
+                future.completeExceptionally(e);
+                return;
+            }
+            double copyMillis = (System.nanoTime() - startNanos) / 1_000_000.0;
+            if (!plugin.isEnabled()) {
+                deleteQuietly(target);
+                future.completeExceptionally(new IllegalStateException("Plugin disabled while copying template world."));
+                return;
+            }
+            plugin.getServer().getScheduler().runTask(plugin, () -> {
+                World world = new WorldCreator(worldName)
+                        .generator(new VoidChunkGenerator()) // Outside the template's regions there is nothing
+                        .generateStructures(false)
+                        .createWorld();
+                if (world == null) {
+                    logger.severe("Could not load template world copy '" + worldName + "' for arena '" + arena.getArenaId() + "'.");
+                    deleteQuietly(target);
+                    future.completeExceptionally(new IllegalStateException("Template world copy could not be loaded."));
+                    return;
+                }
+                world.setAutoSave(false);
+                world.setGameRule(GameRule.SPAWN_CHUNK_RADIUS, 0); // No spawn chunks kept loaded
+                world.setGameRule(GameRule.DO_MOB_SPAWNING, false);
+                logger.info("Provisioned world '" + worldName + "' from template '" + arena.getTemplateWorld() + "' (copied in " + String.format("%.1f", copyMillis) + "ms).");
+                future.complete(world);
+            });
+        });
+        return future;
+    }
+
+    /**
+     * Unloads a world created by {@link #provision} without saving it and deletes its folder. Main thread only;
+     * the world must have no players left in it. The folder is deleted async unless the plugin is shutting down.
+     */
+    public void discard(String worldName) {
+        World world = Bukkit.getWorld(worldName);
+        if (world != null && !Bukkit.unloadWorld(world, false)) {
+            logger.warning("Could not unload template world copy '" + worldName + "'. Its folder is deleted on the next startup.");
+            return;
+        }
+        File folder = new File(Bukkit.getWorldContainer(), worldName);
+        if (plugin.isEnabled()) {
+            plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> deleteQuietly(folder));
+        } else {
+            deleteQuietly(folder);
+        }
+    }
+
+    /** Deletes copies left behind by a crash or a failed unload. */
+    private void deleteLeftoverCopies() {
+        File[] leftovers = Bukkit.getWorldContainer().listFiles((dir, name) -> name.startsWith(WORLD_PREFIX));
+        if (leftovers == null) return;
+        for (File leftover : leftovers) {
+            if (Bukkit.getWorld(leftover.getName()) != null) continue;
+            logger.info("Deleting leftover template world copy '" + leftover.getName() + "'.");
+            deleteQuietly(leftover);
+        }
+    }
+
+    private static void copyTemplate(Path source, Path target) throws IOException {
+        Files.walkFileTree(source, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                if (!dir.equals(source) && SKIPPED_DIRECTORIES.contains(dir.getFileName().toString())) return FileVisitResult.SKIP_SUBTREE;
+                Files.createDirectories(target.resolve(source.relativize(dir)));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                if (!SKIPPED_FILES.contains(file.getFileName().toString())) {
+                    Files.copy(file, target.resolve(source.relativize(file)), StandardCopyOption.REPLACE_EXISTING);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private void deleteQuietly(File folder) {
+        try {
+            FileUtil.deleteDirectory(folder.toPath());
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Could not delete world folder " + folder.getAbsolutePath(), e);
+        }
+    }
+}
@@ -5,7 +5,7 @@ import io.mewb.andromedaGames.arena.ArenaDefinition;
 import io.mewb.andromedaGames.game.GameDefinition;
 import io.mewb.andromedaGames.game.GameInstance;
 import io.mewb.andromedaGames.game.GameState;
-import io.mewb.andromedaGames.utils.GameScoreboard;
+import io.mewb.andromedaGames.perf.TickProfiler;
 import io.mewb.andromedaGames.utils.ParticleUtil;
 import io.mewb.andromedaGames.utils.RelativeLocation;
 import io.mewb.andromedaGames.voting.VoteManager;
@@ -22,11 +22,11 @@ import org.bukkit.SoundCategory;
 import org.bukkit.block.Block;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
-import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.scoreboard.Team.Option;
 import org.bukkit.scoreboard.Team.OptionStatus;
 
@@ -35,6 +35,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -49,7 +50,6 @@ public class CaptureTheShardGame extends GameInstance {
     private int capturesToWin;
     private int gameDurationSeconds;
     private int countdownSeconds;
-    private String scoreboardTitle;
     private GameMode gameplayGamemode;
     private int maxPlayersPerTeam;
     private int minPlayersToStart; // Combined from both teams
@@ -71,12 +71,9 @@ public class CaptureTheShardGame extends GameInstance {
     private final Map<TeamColor, ShardState> teamShardStates = new HashMap<>();
     private final Map<TeamColor, UUID> shardCarriers = new HashMap<>(); // TeamColor of shard -> Player UUID carrying it
 
-    private BukkitTask gameTimerTask;
-    private BukkitTask countdownTask;
+    private int countdownRemaining; // Driven by countdownTick() while STARTING
     private int timeRemainingSeconds;
 
-    // Spigot Scoreboard Teams
-    private Map<TeamColor, org.bukkit.scoreboard.Team> spigotTeams = new HashMap<>();
     private final Random random = new Random();
 
     // Constants for Shard Item
@@ -98,20 +95,15 @@ public class CaptureTheShardGame extends GameInstance {
     public void setupInstance() {
         this.logger.info("[CTSInstance:" + instanceId.toString().substring(0, 8) + "] Setting up with definition '" + definition.getDefinitionId() + "' and arena '" + arena.getArenaId() + "'.");
 
-        // Load Game Rules
-        this.capturesToWin = definition.getRule("captures_to_win", 3);
-        this.gameDurationSeconds = definition.getRule("game_duration_seconds", 600);
+        // Load Game Rules (compiled and validated when the definition was loaded)
+        CtsRules rules = (CtsRules) definition.getRules();
+        this.capturesToWin = rules.getCapturesToWin();
+        this.gameDurationSeconds = rules.getGameDurationSeconds();
         this.timeRemainingSeconds = this.gameDurationSeconds;
-        this.countdownSeconds = definition.getRule("countdown_seconds", 20);
-        this.maxPlayersPerTeam = definition.getRule("max_players_per_team", 8);
-        this.minPlayersToStart = definition.getRule("min_players_to_start", 2); // Min total players for the game
-        this.scoreboardTitle = ChatColor.translateAlternateColorCodes('&', definition.getRule("scoreboard_title", "&b&lCapture The Shard: &e" + definition.getDisplayName()));
-        try {
-            this.gameplayGamemode = GameMode.valueOf(definition.getRule("gameplay_gamemode", "SURVIVAL").toString().toUpperCase());
-        } catch (IllegalArgumentException e) {
-            this.logger.warning("[CTSInstance:" + instanceId.toString().substring(0,8) + "] Invalid gameplay_gamemode. Defaulting to SURVIVAL.");
-            this.gameplayGamemode = GameMode.SURVIVAL;
-        }
+        this.countdownSeconds = rules.getCountdownSeconds();
+        this.maxPlayersPerTeam = rules.getMaxPlayersPerTeam();
+        this.minPlayersToStart = rules.getMinPlayersToStart(); // Min total players for the game
+        this.gameplayGamemode = rules.getGameplayGamemode();
 
         // Load Locations
         this.neutralLobbySpawn = getAbsoluteLocation("lobby_spawn"); // General lobby
@@ -167,7 +159,7 @@ public class CaptureTheShardGame extends GameInstance {
             return;
         }
 
-        setupSpigotTeams();
+        setupNametagTeams();
 
         // Voting System (similar to KoTH/Infection)
         ConfigurationSection votingConfigSection = definition.getVotingConfig();
@@ -217,37 +209,17 @@ public class CaptureTheShardGame extends GameInstance {
         }
     }
 
-    private void setupSpigotTeams() {
-        org.bukkit.scoreboard.Scoreboard mainScoreboard = Bukkit.getScoreboardManager().getMainScoreboard();
-        String instancePrefix = "cts_" + instanceId.toString().substring(0, 4);
-
+    // Nametag teams live on the instance's scoreboard, named after the team colour
+    private void setupNametagTeams() {
         for (TeamColor teamColor : TeamColor.values()) {
-            String teamName = instancePrefix + "_" + teamColor.name().toLowerCase();
-            org.bukkit.scoreboard.Team spigotTeam = mainScoreboard.getTeam(teamName);
-            if (spigotTeam != null) spigotTeam.unregister(); // Clear old team if exists
-
-            spigotTeam = mainScoreboard.registerNewTeam(teamName);
-            spigotTeam.setColor(teamColor.getChatColor());
-            spigotTeam.setPrefix(teamColor.getChatColor() + "[" + teamColor.name() + "] ");
-            spigotTeam.setAllowFriendlyFire(false); // Typically false in team games
-            spigotTeam.setCanSeeFriendlyInvisibles(true);
-            // Set collision rule (requires Paper/Spigot API supporting it)
-            // spigotTeam.setOption(Option.COLLISION_RULE, OptionStatus.FOR_OTHER_TEAMS);
-            spigotTeams.put(teamColor, spigotTeam);
-            this.logger.fine("[CTSInstance:" + instanceId.toString().substring(0,8) + "] Registered Spigot team: " + teamName);
-        }
-    }
-
-    private void clearSpigotTeams() {
-        for (org.bukkit.scoreboard.Team spigotTeam : spigotTeams.values()) {
-            if (spigotTeam != null) {
-                try {
-                    spigotTeam.unregister();
-                    this.logger.fine("[CTSInstance:" + instanceId.toString().substring(0,8) + "] Unregistered Spigot team: " + spigotTeam.getName());
-                } catch (IllegalStateException e) { /* Already unregistered */ }
-            }
+            scoreboard.registerNametagTeam(teamColor.name().toLowerCase(), teamColor.getChatColor(), teamColor.getChatColor() + "[" + teamColor.name() + "] ", team -> {
+                team.setAllowFriendlyFire(false); // Typically false in team games
+                team.setCanSeeFriendlyInvisibles(true);
+                // Set collision rule (requires Paper/Spigot API supporting it)
+                // team.setOption(Option.COLLISION_RULE, OptionStatus.FOR_OTHER_TEAMS);
+            });
         }
-        spigotTeams.clear();
+        this.logger.fine("[CTSInstance:" + instanceId.toString().substring(0,8) + "] Nametag teams configured.");
     }
 
 
@@ -255,20 +227,23 @@ public class CaptureTheShardGame extends GameInstance {
     public void cleanupInstance() {
         this.logger.info("[CTSInstance:" + instanceId.toString().substring(0,8) + "] Cleaning up...");
         cancelTasks();
-        playerScoreboards.values().forEach(GameScoreboard::destroy);
-        playerScoreboards.clear();
-        clearSpigotTeams();
+        scoreboard.destroy();
         // Any other CTS specific cleanup
         this.logger.info("[CTSInstance:" + instanceId.toString().substring(0,8) + "] Cleanup complete.");
     }
 
     private void cancelTasks() {
-        if (countdownTask != null && !countdownTask.isCancelled()) countdownTask.cancel();
-        if (gameTimerTask != null && !gameTimerTask.isCancelled()) gameTimerTask.cancel();
+        // Countdown and game timer are ticked by the InstanceScheduler and stop with the state change
         if (voteManager != null && voteManager.isVoteActive()) voteManager.endVote(false);
         this.logger.fine("[CTSInstance:" + instanceId.toString().substring(0,8) + "] All scheduled tasks cancelled.");
     }
 
+    @Override
+    public int getTickPeriod(GameState phase) {
+        // Countdown and match timer both run once per second
+        return (phase == GameState.STARTING || phase == GameState.ACTIVE) ? 20 : 0;
+    }
+
     @Override
     public boolean start(boolean bypassMinPlayerCheck) {
         if (gameState == GameState.DISABLED) {
@@ -297,25 +272,23 @@ public class CaptureTheShardGame extends GameInstance {
         this.activeHookEndTimeMillis = 0;
 
 
-        // Prepare players (clear inventory, set gamemode, scoreboards, add to Spigot teams)
+        List<Player> playersToPrepare = new ArrayList<>();
+        // Prepare players (clear inventory, set gamemode, scoreboards, add to nametag teams)
         teamPlayers.forEach((teamColor, playerUUIDs) -> {
             playerUUIDs.forEach(uuid -> {
                 Player p = Bukkit.getPlayer(uuid);
                 if (p != null && p.isOnline()) {
-                    playerStateManager.clearPlayerForGame(p, this.gameplayGamemode);
-                    GameScoreboard sb = playerScoreboards.computeIfAbsent(uuid, k -> new GameScoreboard(p, scoreboardTitle));
-                    sb.updateTitle(scoreboardTitle);
-                    sb.show();
-                    spigotTeams.get(teamColor).addEntry(p.getName());
-                    updateScoreboard(p);
+                    playersToPrepare.add(p); // Cleared for the game in batches below
+                    scoreboard.addViewer(p);
+                    scoreboard.setNametagTeam(p.getName(), teamColor.name().toLowerCase());
                 }
             });
         });
+        updateAllScoreboards();
 
-        // Teleport players to their team spawns
-        teleportAllPlayersToSpawns();
         placeInitialShardsOnPedestals(); // Visually place shards
-        startCountdown();
+        // Teleport players to their team spawns; the countdown begins once everyone has arrived
+        prepareAndTeleportForStart(playersToPrepare, this.gameplayGamemode, getTeamSpawnDestinations(), this::startCountdown);
         return true;
     }
 
@@ -323,14 +296,15 @@ public class CaptureTheShardGame extends GameInstance {
         for (TeamColor tc : TeamColor.values()) {
             Location pedestalLoc = teamShardPedestals.get(tc);
             if (pedestalLoc != null) {
-                pedestalLoc.getBlock().setType(SHARD_MATERIAL); // Or a specific block representing the shard
+                setArenaBlockType(pedestalLoc.getBlock(), SHARD_MATERIAL); // Or a specific block representing the shard
                 // Could add particle effects here too
                 ParticleUtil.spawnLocationEffect(pedestalLoc.clone().add(0.5, 1, 0.5), Particle.END_ROD, 20, 0.1, 0.5, 0.1, 0);
             }
         }
     }
 
-    private void teleportAllPlayersToSpawns() {
+    private Map<Player, Location> getTeamSpawnDestinations() {
+        Map<Player, Location> destinations = new LinkedHashMap<>();
         teamPlayers.forEach((teamColor, playerUUIDs) -> {
             List<Location> spawns = teamPlayerSpawns.get(teamColor);
             if (spawns == null || spawns.isEmpty()) {
@@ -341,40 +315,37 @@ public class CaptureTheShardGame extends GameInstance {
             for (UUID uuid : playerUUIDs) {
                 Player p = Bukkit.getPlayer(uuid);
                 if (p != null && p.isOnline()) {
-                    p.teleport(spawns.get(spawnIndex % spawns.size()));
+                    destinations.put(p, spawns.get(spawnIndex % spawns.size()));
                     spawnIndex++;
                 }
             }
         });
+        return destinations;
     }
 
     private void startCountdown() {
         cancelTasks();
-        final int[] currentCountdownValue = {this.countdownSeconds};
+        this.countdownRemaining = this.countdownSeconds;
         broadcastToGamePlayers(ChatColor.GOLD + "Capture The Shard: " + definition.getDisplayName() + ChatColor.YELLOW + " is starting soon!");
+    }
 
-        this.countdownTask = plugin.getServer().getScheduler().runTaskTimer(plugin, () -> {
-            if (gameState != GameState.STARTING) {
-                cancelTasks();
-                return;
-            }
-            if (currentCountdownValue[0] > 0) {
-                String title = ChatColor.AQUA + "Starting in: " + ChatColor.GOLD + currentCountdownValue[0];
-                for (UUID uuid : playersInGame) {
-                    Player p = Bukkit.getPlayer(uuid);
-                    if (p != null && p.isOnline()) {
-                        p.sendTitle(title, "", 0, 25, 5);
-                        if (currentCountdownValue[0] <= 5) {
-                            p.playSound(p.getLocation(), Sound.BLOCK_NOTE_BLOCK_HAT, 1f, 1f + (0.2f * (5 - currentCountdownValue[0])));
-                        }
+    @Override
+    protected void countdownTick() {
+        if (countdownRemaining > 0) {
+            String title = ChatColor.AQUA + "Starting in: " + ChatColor.GOLD + countdownRemaining;
+            for (UUID uuid : playersInGame) {
+                Player p = Bukkit.getPlayer(uuid);
+                if (p != null && p.isOnline()) {
+                    p.sendTitle(title, "", 0, 25, 5);
+                    if (countdownRemaining <= 5) {
+                        p.playSound(p.getLocation(), Sound.BLOCK_NOTE_BLOCK_HAT, 1f, 1f + (0.2f * (5 - countdownRemaining)));
                     }
                 }
-            } else {
-                cancelTasks();
-                activateGame();
             }
-            currentCountdownValue[0]--;
-        }, 0L, 20L);
+        } else {
+            activateGame();
+        }
+        countdownRemaining--;
     }
 
     private void activateGame() {
@@ -385,8 +356,6 @@ public class CaptureTheShardGame extends GameInstance {
         this.logger.info("[CTSInstance:" + instanceId.toString().substring(0,8) + "] is now ACTIVE.");
         this.timeRemainingSeconds = this.gameDurationSeconds;
         if (this.votingEnabled) this.lastVoteTriggerTimeMillis = System.currentTimeMillis();
-
-        this.gameTimerTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::gameTick, 0L, 20L);
     }
 
 
@@ -422,15 +391,15 @@ public class CaptureTheShardGame extends GameInstance {
 
         broadcastToGamePlayers(winnerMessage);
 
+        List<Player> playersToRestore = new ArrayList<>();
         String finalWinnerMessage = winnerMessage;
         new HashSet<>(playersInGame).forEach(uuid -> {
             Player player = Bukkit.getPlayer(uuid);
             if (player != null && player.isOnline()) {
                 player.sendTitle(finalWinnerMessage.substring(0, Math.min(finalWinnerMessage.length(), 45)), ChatColor.GOLD + "Thanks for playing!", 10, 80, 30);
-                playerScoreboards.get(uuid).destroy();
-                playerScoreboards.remove(uuid);
-                playerStateManager.restorePlayerState(player);
-                removePlayerFromSpigotTeam(player); // Remove from Spigot team
+                scoreboard.removeViewer(player);
+                playersToRestore.add(player); // Restored in batches below
+                scoreboard.setNametagTeam(player.getName(), null); // Remove from nametag team
                 clearShardFromInventory(player); // Ensure shard is removed
 
                 TeamColor playerTeamColor = playerTeams.get(uuid);
@@ -441,6 +410,7 @@ public class CaptureTheShardGame extends GameInstance {
                 playerStateManager.removePlayerState(Bukkit.getOfflinePlayer(uuid).getPlayer());
             }
         });
+        playerStateManager.restoreAll(playersToRestore); // Spread over ticks, not one packet burst
 
         playersInGame.clear();
         playerTeams.clear();
@@ -449,18 +419,11 @@ public class CaptureTheShardGame extends GameInstance {
         shardCarriers.clear();
         teamShardStates.replaceAll((c,v) -> ShardState.AT_PEDESTAL);
         // Remove shard blocks from pedestals
-        teamShardPedestals.values().forEach(loc -> { if(loc != null) loc.getBlock().setType(Material.AIR); });
-
+        teamShardPedestals.values().forEach(loc -> { if(loc != null) setArenaBlockType(loc.getBlock(), Material.AIR); });
 
-        setGameState(GameState.WAITING); // Ready for potential reuse or full cleanup by GameManager
-        this.logger.info("[CTSInstance:" + instanceId.toString().substring(0,8) + "] Game logic finished, set to WAITING.");
-    }
 
-    private void removePlayerFromSpigotTeam(Player player) {
-        TeamColor teamColor = playerTeams.get(player.getUniqueId());
-        if (teamColor != null && spigotTeams.containsKey(teamColor)) {
-            spigotTeams.get(teamColor).removeEntry(player.getName());
-        }
+        this.logger.info("[CTSInstance:" + instanceId.toString().substring(0,8) + "] Game logic finished. Resetting arena for the next match.");
+        finishMatch(); // GameManager resets the arena and returns this instance to WAITING
     }
 
 
@@ -560,9 +523,7 @@ public class CaptureTheShardGame extends GameInstance {
         TeamColor team = playerTeams.remove(playerUUID);
         if (team != null) {
             teamPlayers.get(team).remove(playerUUID);
-            if (spigotTeams.get(team) != null) {
-                spigotTeams.get(team).removeEntry(player.getName());
-            }
+            scoreboard.setNametagTeam(player.getName(), null);
         }
 
         // If player was carrying a shard, drop it or return it
@@ -575,8 +536,7 @@ public class CaptureTheShardGame extends GameInstance {
         clearShardFromInventory(player);
 
 
-        GameScoreboard sb = playerScoreboards.remove(playerUUID);
-        if (sb != null) sb.destroy();
+        scoreboard.removeViewer(player);
 
         boolean wasInGame = playersInGame.remove(playerUUID); // From GameInstance set
         playerStateManager.restorePlayerState(player);
@@ -679,7 +639,7 @@ public class CaptureTheShardGame extends GameInstance {
         if (pedestalLoc != null) { // Remove from pedestal
             Block pedestalBlock = pedestalLoc.getBlock();
             if(pedestalBlock.getType() == SHARD_MATERIAL) { // Check if it's actually the shard material
-                pedestalBlock.setType(Material.AIR);
+                setArenaBlockType(pedestalBlock, Material.AIR);
             } else {
                 // If shard was "dropped" and is now a conceptual pickup rather than block break
                 this.logger.info("[CTSInstance:" + instanceId.toString().substring(0,8) + "] Player " + player.getName() + " picked up " + shardTeamColor + " shard (not from block).");
@@ -790,7 +750,7 @@ public class CaptureTheShardGame extends GameInstance {
 
         Location pedestalLoc = teamShardPedestals.get(shardTeamColor);
         if (pedestalLoc != null) {
-            pedestalLoc.getBlock().setType(SHARD_MATERIAL); // Place shard block back
+            setArenaBlockType(pedestalLoc.getBlock(), SHARD_MATERIAL); // Place shard block back
             ParticleUtil.spawnLocationEffect(pedestalLoc.clone().add(0.5,1,0.5), Particle.REVERSE_PORTAL, 30, 0.3,0.5,0.3,0.05);
         }
 
@@ -822,20 +782,10 @@ public class CaptureTheShardGame extends GameInstance {
     }
 
     private void updateAllScoreboards() {
-        for (UUID uuid : playersInGame) {
-            Player p = Bukkit.getPlayer(uuid);
-            if (p != null && p.isOnline()) updateScoreboard(p);
-        }
-    }
-
-    private void updateScoreboard(Player player) {
-        GameScoreboard sb = playerScoreboards.get(player.getUniqueId());
-        if (sb == null) return;
-        sb.clearAllLines();
-        int line = 0;
-
-        sb.setLine(line++, "&7Time: &e" + formatTime(timeRemainingSeconds));
-        sb.setLine(line++, "&m--------------------");
+        long profileStart = profiler.start();
+        List<String> top = new ArrayList<>();
+        top.add("&7Time: &e" + formatTime(timeRemainingSeconds));
+        top.add("&m--------------------");
 
         for (TeamColor team : TeamColor.values()) {
             String teamNameDisplay = team.getChatColor() + team.name();
@@ -855,27 +805,42 @@ public class CaptureTheShardGame extends GameInstance {
                 case DROPPED: shardStatusDisplay = "&6(Dropped!)"; break; // If implementing timed drop
                 default: shardStatusDisplay = "";
             }
-            sb.setLine(line++, teamNameDisplay + " " + scoreDisplay + " " + shardStatusDisplay);
-        }
-        sb.setLine(line++, "&m--------------------");
-
-        // Player's current status (e.g., carrying a shard)
-        Optional<Map.Entry<TeamColor, UUID>> carryingEntry = shardCarriers.entrySet().stream()
-                .filter(entry -> entry.getValue().equals(player.getUniqueId()))
-                .findFirst();
-        if (carryingEntry.isPresent()) {
-            TeamColor carriedShardTeam = carryingEntry.get().getKey();
-            sb.setLine(line++, "&6Carrying: " + carriedShardTeam.getChatColor() + carriedShardTeam.name() + " Shard");
+            top.add(teamNameDisplay + " " + scoreDisplay + " " + shardStatusDisplay);
         }
+        top.add("&m--------------------");
 
+        List<String> bottom = new ArrayList<>();
         if (activeVotingHook != null) {
-            sb.setLine(line++, "&m--------------------");
-            sb.setLine(line++, "&dEvent: &f" + activeVotingHook.getDisplayName());
+            bottom.add("&m--------------------");
+            bottom.add("&dEvent: &f" + activeVotingHook.getDisplayName());
             if (activeHookEndTimeMillis > 0) {
                 long hookTimeLeft = (activeHookEndTimeMillis - System.currentTimeMillis()) / 1000;
-                if (hookTimeLeft > 0) sb.setLine(line++, "&dTime Left: &f" + formatTime((int)hookTimeLeft));
+                if (hookTimeLeft > 0) bottom.add("&dTime Left: &f" + formatTime((int)hookTimeLeft));
+            }
+        }
+        scoreboard.update(top, this::getCarryingLines, bottom); // Shard carriers get their own board, everyone else shares one
+        profiler.record(TickProfiler.Section.SCOREBOARD, this, profileStart);
+    }
+
+    // Player's current status (e.g., carrying a shard), the only per-player part of the sidebar
+    private List<String> getCarryingLines(Player player) {
+        for (Map.Entry<TeamColor, UUID> entry : shardCarriers.entrySet()) {
+            if (entry.getValue().equals(player.getUniqueId())) {
+                TeamColor carriedShardTeam = entry.getKey();
+                return List.of("&6Carrying: " + carriedShardTeam.getChatColor() + carriedShardTeam.name() + " Shard");
             }
         }
+        return Collections.emptyList();
+    }
+
+    @Override
+    public void onPlayerDamageByPlayer(EntityDamageByEntityEvent event, Player damaged, Player damager) {
+        // Team friendly fire used to come from main-scoreboard teams; the nametag teams are display-only.
+        // Projectile hits arrive here too, with the shooter as damager
+        TeamColor damagedTeam = playerTeams.get(damaged.getUniqueId());
+        if (damagedTeam != null && damagedTeam == playerTeams.get(damager.getUniqueId())) {
+            event.setCancelled(true);
+        }
     }
 
     private String formatTime(int totalSeconds) {
@@ -0,0 +1,32 @@
+package io.mewb.andromedaGames.capturetheshard;
+
+import io.mewb.andromedaGames.game.GameRules;
+import io.mewb.andromedaGames.game.RuleReader;
+import org.bukkit.GameMode;
+
+/**
+ * Compiled rules of a CAPTURETHESHARD game definition.
+ * The player limit is per team; {@link #getMaxPlayers()} is that times the number of teams.
+ */
+public class CtsRules extends GameRules {
+
+    private final int capturesToWin;
+    private final int maxPlayersPerTeam;
+    private final GameMode gameplayGamemode;
+
+    public CtsRules(RuleReader rules, String displayName) {
+        super(rules, 16, 20, 600, "&b&lCapture The Shard: &e" + displayName);
+        this.capturesToWin = rules.getInt("captures_to_win", 3, 1);
+        this.maxPlayersPerTeam = rules.getInt("max_players_per_team", 8, 1);
+        this.gameplayGamemode = rules.getEnum("gameplay_gamemode", GameMode.class, GameMode.SURVIVAL);
+    }
+
+    @Override
+    public int getMaxPlayers() {
+        return maxPlayersPerTeam * TeamColor.values().length;
+    }
+
+    public int getCapturesToWin() { return capturesToWin; }
+    public int getMaxPlayersPerTeam() { return maxPlayersPerTeam; }
+    public GameMode getGameplayGamemode() { return gameplayGamemode; }
+}
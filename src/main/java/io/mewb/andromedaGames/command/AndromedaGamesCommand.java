@@ -1,8 +1,10 @@
 package io.mewb.andromedaGames.command;
 
 import io.mewb.andromedaGames.AndromedaGames;
+import io.mewb.andromedaGames.arena.SchematicCache;
 import io.mewb.andromedaGames.game.GameInstance;
 import io.mewb.andromedaGames.game.GameManager;
+import io.mewb.andromedaGames.perf.TickProfiler;
 import org.bukkit.ChatColor;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
@@ -14,7 +16,10 @@ import org.bukkit.util.StringUtil;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 public class AndromedaGamesCommand implements CommandExecutor, TabCompleter {
 
@@ -48,6 +53,8 @@ public class AndromedaGamesCommand implements CommandExecutor, TabCompleter {
                 return handleReload(sender);
             case "listinstances":
                 return handleListInstances(sender);
+            case "perf":
+                return handlePerf(sender, subCommandArgs);
             case "arena": // New case for arena subcommands
                 // Delegate to ArenaAdminCommand
                 // We pass 'command' and 'label' from the original /ag command,
@@ -69,8 +76,14 @@ public class AndromedaGamesCommand implements CommandExecutor, TabCompleter {
 
         if (args.length == 1) {
             StringUtil.copyPartialMatches(args[0],
-                    Arrays.asList("reload", "listinstances", "arena"), // Added "arena"
+                    Arrays.asList("reload", "listinstances", "arena", "perf"), // Added "arena"
                     completions);
+        } else if (args.length == 2 && args[0].equalsIgnoreCase("perf")) {
+            List<String> options = new ArrayList<>(Arrays.asList("on", "off", "reset"));
+            if (gameManager != null) {
+                gameManager.getRunningInstances().forEach(inst -> options.add(inst.getInstanceId().toString().substring(0, 8)));
+            }
+            StringUtil.copyPartialMatches(args[1], options, completions);
         } else if (args.length >= 2 && args[0].equalsIgnoreCase("arena")) {
             // Delegate tab completion to ArenaAdminCommand
             // Create a new args array for ArenaAdminCommand, excluding the "arena" part
@@ -87,6 +100,7 @@ public class AndromedaGamesCommand implements CommandExecutor, TabCompleter {
         sender.sendMessage(ChatColor.YELLOW + "/ag reload" + ChatColor.GRAY + " - Reloads plugin configurations.");
         sender.sendMessage(ChatColor.YELLOW + "/ag listinstances" + ChatColor.GRAY + " - Lists all running game instances.");
         sender.sendMessage(ChatColor.YELLOW + "/ag arena" + ChatColor.GRAY + " - Shows arena setup & management commands.");
+        sender.sendMessage(ChatColor.YELLOW + "/ag perf [instance-prefix|on|off|reset]" + ChatColor.GRAY + " - Shows tick timings per section, game type and instance.");
     }
 
     private boolean handleReload(CommandSender sender) {
@@ -94,7 +108,7 @@ public class AndromedaGamesCommand implements CommandExecutor, TabCompleter {
         plugin.reloadConfig();
         if (gameManager != null) {
             gameManager.loadAllDefinitionsAndArenas();
-            sender.sendMessage(ChatColor.GREEN + "Game and Arena definitions reloaded. All running instances were stopped.");
+            sender.sendMessage(ChatColor.GREEN + "Game and Arena definitions reloaded. Running matches continue; changes apply to new matches.");
         } else {
             sender.sendMessage(ChatColor.RED + "GameManager not available.");
         }
@@ -130,4 +144,110 @@ public class AndromedaGamesCommand implements CommandExecutor, TabCompleter {
         }
         return true;
     }
+
+    private boolean handlePerf(CommandSender sender, String[] args) {
+        TickProfiler profiler = plugin.getTickProfiler();
+        if (profiler == null || gameManager == null) {
+            sender.sendMessage(ChatColor.RED + "Profiler is not available.");
+            return true;
+        }
+        if (args.length >= 1) {
+            String arg = args[0].toLowerCase();
+            switch (arg) {
+                case "on":
+                    profiler.setEnabled(true);
+                    sender.sendMessage(ChatColor.GREEN + "Tick profiler enabled.");
+                    return true;
+                case "off":
+                    profiler.setEnabled(false);
+                    sender.sendMessage(ChatColor.YELLOW + "Tick profiler disabled.");
+                    return true;
+                case "reset":
+                    profiler.reset();
+                    sender.sendMessage(ChatColor.GREEN + "Tick profiler histograms reset.");
+                    return true;
+                default:
+                    return handlePerfInstance(sender, profiler, arg);
+            }
+        }
+
+        sender.sendMessage(ChatColor.GOLD + "--- AndromedaGames Performance (last " + profiler.getWindowSeconds() + "-" + (profiler.getWindowSeconds() * 2) + "s) ---");
+        if (!profiler.isEnabled()) {
+            sender.sendMessage(ChatColor.RED + "Profiler is currently disabled. Use /ag perf on to enable it.");
+        }
+        sender.sendMessage(ChatColor.GRAY + "Scheduled instances: " + ChatColor.WHITE + gameManager.getInstanceScheduler().getRegisteredCount()
+                + ChatColor.GRAY + ", budget deferrals: " + ChatColor.WHITE + gameManager.getInstanceScheduler().getDeferredDispatches());
+        if (plugin.getArenaManager() != null) {
+            SchematicCache cache = plugin.getArenaManager().getSchematicCache();
+            sender.sendMessage(ChatColor.GRAY + "Schematic cache: " + ChatColor.WHITE + cache.getEntryCount() + ChatColor.GRAY + " entries, "
+                    + ChatColor.WHITE + (cache.getUsedBytes() / 1024 / 1024) + "/" + (cache.getMaxBytes() / 1024 / 1024) + "MB"
+                    + ChatColor.GRAY + ", hits: " + ChatColor.WHITE + cache.getHits()
+                    + ChatColor.GRAY + ", misses: " + ChatColor.WHITE + cache.getMisses()
+                    + ChatColor.GRAY + ", evictions: " + ChatColor.WHITE + cache.getEvictions());
+        }
+
+        sender.sendMessage(ChatColor.AQUA + "By section:");
+        for (TickProfiler.Section section : TickProfiler.sections()) {
+            sendPerfLine(sender, section.name(), profiler.snapshotGlobal(section));
+        }
+
+        Map<String, TickProfiler.Snapshot> byType = profiler.snapshotGameTypes(TickProfiler.Section.INSTANCE_TICK);
+        if (!byType.isEmpty()) {
+            sender.sendMessage(ChatColor.AQUA + "Instance tick by game type:");
+            byType.forEach((type, snapshot) -> sendPerfLine(sender, type, snapshot));
+        }
+
+        List<GameInstance> heaviest = gameManager.getRunningInstances().stream()
+                .sorted(Comparator.comparingLong((GameInstance inst) -> profiler.snapshotInstance(inst.getInstanceId(), TickProfiler.Section.INSTANCE_TICK).p99).reversed())
+                .limit(5)
+                .collect(Collectors.toList());
+        if (!heaviest.isEmpty()) {
+            sender.sendMessage(ChatColor.AQUA + "Heaviest instances (by p99 tick):");
+            for (GameInstance instance : heaviest) {
+                sendPerfLine(sender, instance.getInstanceId().toString().substring(0, 8) + " " + instance.getDefinition().getDefinitionId(),
+                        profiler.snapshotInstance(instance.getInstanceId(), TickProfiler.Section.INSTANCE_TICK));
+            }
+        }
+        return true;
+    }
+
+    private boolean handlePerfInstance(CommandSender sender, TickProfiler profiler, String prefix) {
+        List<GameInstance> matches = gameManager.getRunningInstances().stream()
+                .filter(inst -> inst.getInstanceId().toString().startsWith(prefix))
+                .collect(Collectors.toList());
+        if (matches.isEmpty()) {
+            sender.sendMessage(ChatColor.RED + "No running instance matches '" + prefix + "'.");
+            return true;
+        }
+        if (matches.size() > 1) {
+            sender.sendMessage(ChatColor.RED + "'" + prefix + "' matches " + matches.size() + " instances. Use a longer prefix.");
+            return true;
+        }
+        GameInstance instance = matches.get(0);
+        sender.sendMessage(ChatColor.GOLD + "--- Performance: " + instance.getInstanceId().toString().substring(0, 8)
+                + " (" + instance.getDefinition().getDefinitionId() + ", " + instance.getGameState().name() + ") ---");
+        for (TickProfiler.Section section : TickProfiler.sections()) {
+            if (section == TickProfiler.Section.SCHEMATIC_PASTE) continue; // Not attributed to instances
+            sendPerfLine(sender, section.name(), profiler.snapshotInstance(instance.getInstanceId(), section));
+        }
+        return true;
+    }
+
+    private void sendPerfLine(CommandSender sender, String label, TickProfiler.Snapshot snapshot) {
+        if (snapshot.count == 0) {
+            sender.sendMessage(ChatColor.YELLOW + "  " + label + ChatColor.DARK_GRAY + " - no samples");
+            return;
+        }
+        sender.sendMessage(String.format("  %s%s %s- n=%s%d %sp50=%s%s %sp95=%s%s %sp99=%s%s %smax=%s%s",
+                ChatColor.YELLOW, label, ChatColor.GRAY,
+                ChatColor.WHITE, snapshot.count,
+                ChatColor.GRAY, ChatColor.GREEN, formatMillis(snapshot.p50),
+                ChatColor.GRAY, ChatColor.GREEN, formatMillis(snapshot.p95),
+                ChatColor.GRAY, ChatColor.GOLD, formatMillis(snapshot.p99),
+                ChatColor.GRAY, ChatColor.RED, formatMillis(snapshot.max)));
+    }
+
+    private String formatMillis(long nanos) {
+        return String.format("%.2fms", nanos / 1_000_000.0);
+    }
 }
\ No newline at end of file
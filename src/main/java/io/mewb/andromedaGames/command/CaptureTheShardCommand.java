@@ -23,6 +23,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
@@ -192,6 +193,10 @@ public class CaptureTheShardCommand implements CommandExecutor, TabCompleter {
             player.sendMessage(ChatColor.RED + "You are already in a game.");
             return true;
         }
+        if (gameManager.getMatchmakingService().isQueued(player)) {
+            player.sendMessage(ChatColor.RED + "You are already queued for a game.");
+            return true;
+        }
 
         Optional<GameDefinition> defOpt = gameManager.getGameDefinition(definitionId);
         if (defOpt.isEmpty() || !defOpt.get().getGameType().equalsIgnoreCase("CAPTURETHESHARD")) {
@@ -200,62 +205,13 @@ public class CaptureTheShardCommand implements CommandExecutor, TabCompleter {
         }
         GameDefinition definition = defOpt.get();
 
-        Optional<GameInstance> targetInstanceOpt = gameManager.getRunningInstances().stream()
-                .filter(inst -> inst.getDefinition().getDefinitionId().equalsIgnoreCase(definitionId) &&
-                        inst.getGameState() == GameState.WAITING &&
-                        inst.getPlayerCount() < (definition.getRule("max_players_per_team", 8) * TeamColor.values().length)) // Approx max total players
-                .findFirst();
-
-        GameInstance targetInstance;
-        if (targetInstanceOpt.isPresent()) {
-            targetInstance = targetInstanceOpt.get();
-            logger.info("Found existing waiting CTS instance " + targetInstance.getInstanceId().toString().substring(0,8) + " for definition " + definitionId);
-        } else {
-            logger.info("No waiting CTS instance found for " + definitionId + ". Attempting to create a new one.");
-            Optional<ArenaDefinition> arenaOpt = gameManager.getAllArenaDefinitions().stream()
-                    .filter(ad -> ad.getTags().stream().anyMatch(tag -> definition.getCompatibleArenaTags().contains(tag) || definition.getCompatibleArenaTags().isEmpty()))
-                    .findFirst();
-
-            if (arenaOpt.isEmpty()) {
-                player.sendMessage(ChatColor.RED + "No compatible arenas available to start a new '" + definition.getDisplayName() + "' match.");
-                logger.warning("Could not create instance for CTS definition '" + definitionId + "': No compatible arenas found.");
-                return true;
-            }
-            String arenaIdToUse = arenaOpt.get().getArenaId();
-            logger.info("Selected arena '" + arenaIdToUse + "' for new CTS instance of definition '" + definitionId + "'.");
-
-            Optional<GameInstance> newInstanceOpt = gameManager.createGameInstance(definitionId, arenaIdToUse);
-            if (newInstanceOpt.isPresent()) {
-                targetInstance = newInstanceOpt.get();
-            } else {
-                player.sendMessage(ChatColor.RED + "Failed to create a new CTS match for '" + definition.getDisplayName() + "'.");
-                logger.severe("Failed to create game instance for CTS definition '" + definitionId + "' with arena '" + arenaIdToUse + "'.");
-                return true;
-            }
-        }
-
-        if (targetInstance instanceof CaptureTheShardGame) { // Ensure it's the correct game type
-            CaptureTheShardGame ctsInstance = (CaptureTheShardGame) targetInstance;
-            // The addPlayer method in CaptureTheShardGame needs to accept preferredTeam
-            if (!ctsInstance.addPlayer(player, preferredTeam)) { // Pass preferredTeam
-                logger.warning("[CTSCommand] Failed to add " + player.getName() + " to instance " + targetInstance.getInstanceId().toString().substring(0,8) + " via CTSGame.addPlayer");
-            }
-            // GameManager.addPlayerToInstance is more generic and doesn't know about preferredTeam.
-            // The logic for adding to a specific team and then GameManager tracking should be:
-            // 1. CTSInstance.addPlayer(player, preferredTeam) -> adds to teamPlayers, playerTeams, playersInGame (in GameInstance)
-            // 2. If successful, then gameManager.trackPlayerInInstance(player, instanceId); (hypothetical new method)
-            // For now, we assume ctsInstance.addPlayer also informs GameManager or handles the global tracking part.
-            // The current GameManager.addPlayerToInstance already does the global tracking if instance.addPlayer is true.
-            if (!gameManager.addPlayerToInstance(player, targetInstance.getInstanceId())) {
-                // This message might be redundant if ctsInstance.addPlayer already messaged.
-                // player.sendMessage(ChatColor.RED + "Failed to join the match instance.");
-            }
-        } else if (targetInstance != null) {
-            player.sendMessage(ChatColor.RED + "Selected game is not a Capture The Shard type.");
-            logger.warning("Player " + player.getName() + " tried to join instance " + targetInstance.getInstanceId() + " which is not a CTS game.");
-        } else {
-            player.sendMessage(ChatColor.RED + "Could not find or create a suitable CTS match for '" + definition.getDisplayName() + "'.");
-        }
+        // Matchmaking assigns the player to the fullest waiting instance, creating one if none has room.
+        // The team preference is applied by CaptureTheShardGame.addPlayer once an instance is chosen.
+        final TeamColor finalPreferredTeam = preferredTeam;
+        gameManager.getMatchmakingService().enqueue(player, definition, instance ->
+                gameManager.addPlayerToInstance(player, instance.getInstanceId(), inst -> inst instanceof CaptureTheShardGame
+                        ? ((CaptureTheShardGame) inst).addPlayer(player, finalPreferredTeam)
+                        : inst.addPlayer(player)));
         return true;
     }
 
@@ -269,6 +225,10 @@ public class CaptureTheShardCommand implements CommandExecutor, TabCompleter {
             player.sendMessage(ChatColor.RED + "You do not have permission to leave games.");
             return true;
         }
+        if (gameManager.getMatchmakingService().dequeue(player.getUniqueId())) {
+            player.sendMessage(ChatColor.YELLOW + "You have left the queue.");
+            return true;
+        }
         if (!gameManager.removePlayerFromInstance(player)) {
             player.sendMessage(ChatColor.RED + "You are not currently in a CTS game match.");
         }
@@ -340,21 +300,26 @@ public class CaptureTheShardCommand implements CommandExecutor, TabCompleter {
             }
         }
 
-        Optional<GameInstance> instanceOpt = gameManager.createGameInstance(definitionId, arenaId);
-        if (instanceOpt.isPresent()) {
-            GameInstance instance = instanceOpt.get();
+        String selectedArenaId = arenaId;
+        CompletableFuture<GameInstance> creation = gameManager.createGameInstance(definitionId, selectedArenaId);
+        if (!creation.isDone()) {
+            sender.sendMessage(ChatColor.YELLOW + "Preparing arena '" + selectedArenaId + "' for a new CTS instance of '" + definition.getDisplayName() + "'...");
+        }
+        creation.whenComplete((instance, error) -> {
+            if (error != null || instance == null) {
+                sender.sendMessage(ChatColor.RED + "Failed to create CTS instance for definition '" + definitionId + "' on arena '" + selectedArenaId + "'. Check console for errors.");
+                return;
+            }
             if (instance.getGameState() == GameState.WAITING) {
                 if (instance.start(true)) {
-                    sender.sendMessage(ChatColor.GREEN + "New CTS instance of '" + definition.getDisplayName() + "' on arena '" + arenaId + "' created and force-started (ID: " + instance.getInstanceId().toString().substring(0,8) + ").");
+                    sender.sendMessage(ChatColor.GREEN + "New CTS instance of '" + definition.getDisplayName() + "' on arena '" + selectedArenaId + "' created and force-started (ID: " + instance.getInstanceId().toString().substring(0,8) + ").");
                 } else {
                     sender.sendMessage(ChatColor.YELLOW + "CTS instance '" + definition.getDisplayName() + "' created (ID: " + instance.getInstanceId().toString().substring(0,8) + ") but failed to start. It is in " + instance.getGameState() + " state.");
                 }
             } else {
                 sender.sendMessage(ChatColor.YELLOW + "CTS instance '" + definition.getDisplayName() + "' created (ID: " + instance.getInstanceId().toString().substring(0,8) + ") but is already in state " + instance.getGameState() + ". Not attempting to start.");
             }
-        } else {
-            sender.sendMessage(ChatColor.RED + "Failed to create CTS instance for definition '" + definitionId + "' on arena '" + arenaId + "'. Check console for errors.");
-        }
+        });
         return true;
     }
 
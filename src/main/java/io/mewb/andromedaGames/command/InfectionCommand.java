@@ -21,6 +21,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
@@ -157,6 +158,10 @@ public class InfectionCommand implements CommandExecutor, TabCompleter {
             player.sendMessage(ChatColor.RED + "You are already in a game.");
             return true;
         }
+        if (gameManager.getMatchmakingService().isQueued(player)) {
+            player.sendMessage(ChatColor.RED + "You are already queued for a game.");
+            return true;
+        }
 
         Optional<GameDefinition> defOpt = gameManager.getGameDefinition(definitionId);
         if (defOpt.isEmpty() || !defOpt.get().getGameType().equalsIgnoreCase("INFECTION")) {
@@ -165,47 +170,8 @@ public class InfectionCommand implements CommandExecutor, TabCompleter {
         }
         GameDefinition definition = defOpt.get();
 
-        Optional<GameInstance> targetInstanceOpt = gameManager.getRunningInstances().stream()
-                .filter(inst -> inst.getDefinition().getDefinitionId().equalsIgnoreCase(definitionId) &&
-                        inst.getGameState() == GameState.WAITING &&
-                        inst.getPlayerCount() < definition.getRule("max_players", 20)) // Example max_players rule
-                .findFirst();
-
-        GameInstance targetInstance;
-        if (targetInstanceOpt.isPresent()) {
-            targetInstance = targetInstanceOpt.get();
-            logger.info("Found existing waiting Infection instance " + targetInstance.getInstanceId().toString().substring(0,8) + " for definition " + definitionId);
-        } else {
-            logger.info("No waiting Infection instance found for " + definitionId + ". Attempting to create a new one.");
-            Optional<ArenaDefinition> arenaOpt = gameManager.getAllArenaDefinitions().stream()
-                    .filter(ad -> ad.getTags().stream().anyMatch(tag -> definition.getCompatibleArenaTags().contains(tag) || definition.getCompatibleArenaTags().isEmpty()))
-                    .findFirst();
-
-            if (arenaOpt.isEmpty()) {
-                player.sendMessage(ChatColor.RED + "No compatible arenas available to start a new '" + definition.getDisplayName() + "' match.");
-                logger.warning("Could not create instance for Infection definition '" + definitionId + "': No compatible arenas found.");
-                return true;
-            }
-            String arenaIdToUse = arenaOpt.get().getArenaId();
-            logger.info("Selected arena '" + arenaIdToUse + "' for new Infection instance of definition '" + definitionId + "'.");
-
-            Optional<GameInstance> newInstanceOpt = gameManager.createGameInstance(definitionId, arenaIdToUse);
-            if (newInstanceOpt.isPresent()) {
-                targetInstance = newInstanceOpt.get();
-            } else {
-                player.sendMessage(ChatColor.RED + "Failed to create a new Infection match for '" + definition.getDisplayName() + "'.");
-                logger.severe("Failed to create game instance for Infection definition '" + definitionId + "' with arena '" + arenaIdToUse + "'.");
-                return true;
-            }
-        }
-
-        if (targetInstance != null) {
-            if (!gameManager.addPlayerToInstance(player, targetInstance.getInstanceId())) {
-                logger.warning("[InfectionCommand] Failed to add " + player.getName() + " to instance " + targetInstance.getInstanceId().toString().substring(0,8));
-            }
-        } else {
-            player.sendMessage(ChatColor.RED + "Could not find or create a suitable Infection match for '" + definition.getDisplayName() + "'.");
-        }
+        // Matchmaking assigns the player to the fullest waiting instance, creating one if none has room
+        gameManager.getMatchmakingService().enqueue(player, definition);
         return true;
     }
 
@@ -219,6 +185,10 @@ public class InfectionCommand implements CommandExecutor, TabCompleter {
             player.sendMessage(ChatColor.RED + "You do not have permission to leave games.");
             return true;
         }
+        if (gameManager.getMatchmakingService().dequeue(player.getUniqueId())) {
+            player.sendMessage(ChatColor.YELLOW + "You have left the queue.");
+            return true;
+        }
         if (!gameManager.removePlayerFromInstance(player)) {
             player.sendMessage(ChatColor.RED + "You are not currently in an Infection game match.");
         }
@@ -290,21 +260,26 @@ public class InfectionCommand implements CommandExecutor, TabCompleter {
             }
         }
 
-        Optional<GameInstance> instanceOpt = gameManager.createGameInstance(definitionId, arenaId);
-        if (instanceOpt.isPresent()) {
-            GameInstance instance = instanceOpt.get();
+        String selectedArenaId = arenaId;
+        CompletableFuture<GameInstance> creation = gameManager.createGameInstance(definitionId, selectedArenaId);
+        if (!creation.isDone()) {
+            sender.sendMessage(ChatColor.YELLOW + "Preparing arena '" + selectedArenaId + "' for a new Infection instance of '" + definition.getDisplayName() + "'...");
+        }
+        creation.whenComplete((instance, error) -> {
+            if (error != null || instance == null) {
+                sender.sendMessage(ChatColor.RED + "Failed to create Infection instance for definition '" + definitionId + "' on arena '" + selectedArenaId + "'. Check console for errors.");
+                return;
+            }
             if (instance.getGameState() == GameState.WAITING) {
                 if (instance.start(true)) {
-                    sender.sendMessage(ChatColor.GREEN + "New Infection instance of '" + definition.getDisplayName() + "' on arena '" + arenaId + "' created and force-started (ID: " + instance.getInstanceId().toString().substring(0,8) + ").");
+                    sender.sendMessage(ChatColor.GREEN + "New Infection instance of '" + definition.getDisplayName() + "' on arena '" + selectedArenaId + "' created and force-started (ID: " + instance.getInstanceId().toString().substring(0,8) + ").");
                 } else {
                     sender.sendMessage(ChatColor.YELLOW + "Infection instance '" + definition.getDisplayName() + "' created (ID: " + instance.getInstanceId().toString().substring(0,8) + ") but failed to start. It is in " + instance.getGameState() + " state.");
                 }
             } else {
                 sender.sendMessage(ChatColor.YELLOW + "Infection instance '" + definition.getDisplayName() + "' created (ID: " + instance.getInstanceId().toString().substring(0,8) + ") but is already in state " + instance.getGameState() + ". Not attempting to start.");
             }
-        } else {
-            sender.sendMessage(ChatColor.RED + "Failed to create Infection instance for definition '" + definitionId + "' on arena '" + arenaId + "'. Check console for errors.");
-        }
+        });
         return true;
     }
 
@@ -22,6 +22,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
@@ -179,6 +180,10 @@ public class KoTHCommand implements CommandExecutor, TabCompleter {
             player.sendMessage(ChatColor.RED + "You are already in a game.");
             return true;
         }
+        if (gameManager.getMatchmakingService().isQueued(player)) {
+            player.sendMessage(ChatColor.RED + "You are already queued for a game.");
+            return true;
+        }
 
         Optional<GameDefinition> defOpt = gameManager.getGameDefinition(definitionId);
         if (defOpt.isEmpty() || !defOpt.get().getGameType().equalsIgnoreCase("KOTH")) {
@@ -187,54 +192,8 @@ public class KoTHCommand implements CommandExecutor, TabCompleter {
         }
         GameDefinition definition = defOpt.get();
 
-        // Find an available waiting instance of this definition, or create a new one
-        Optional<GameInstance> targetInstanceOpt = gameManager.getRunningInstances().stream()
-                .filter(inst -> inst.getDefinition().getDefinitionId().equalsIgnoreCase(definitionId) &&
-                        inst.getGameState() == GameState.WAITING &&
-                        inst.getPlayerCount() < definition.getRule("max_players", 16)) // Check max players rule
-                .findFirst();
-
-        GameInstance targetInstance;
-        if (targetInstanceOpt.isPresent()) {
-            targetInstance = targetInstanceOpt.get();
-            logger.info("Found existing waiting KoTH instance " + targetInstance.getInstanceId().toString().substring(0,8) + " for definition " + definitionId);
-        } else {
-            logger.info("No waiting KoTH instance found for " + definitionId + ". Attempting to create a new one.");
-            // Find a compatible arena
-            Optional<ArenaDefinition> arenaOpt = gameManager.getAllArenaDefinitions().stream()
-                    .filter(ad -> ad.getTags().stream().anyMatch(tag -> definition.getCompatibleArenaTags().contains(tag)))
-                    .findFirst(); // For simplicity, pick the first compatible one. Could be random.
-
-            if (arenaOpt.isEmpty()) {
-                player.sendMessage(ChatColor.RED + "No compatible arenas available to start a new '" + definition.getDisplayName() + "' match.");
-                logger.warning("Could not create instance for KoTH definition '" + definitionId + "': No compatible arenas found.");
-                return true;
-            }
-            String arenaIdToUse = arenaOpt.get().getArenaId();
-            logger.info("Selected arena '" + arenaIdToUse + "' for new KoTH instance of definition '" + definitionId + "'.");
-
-            Optional<GameInstance> newInstanceOpt = gameManager.createGameInstance(definitionId, arenaIdToUse);
-            if (newInstanceOpt.isPresent()) {
-                targetInstance = newInstanceOpt.get();
-                // New instance might need to be explicitly started if it doesn't auto-start on creation
-                // For now, we assume it's WAITING and players can join.
-                // An admin might need to /koth startinstance if it requires manual start.
-            } else {
-                player.sendMessage(ChatColor.RED + "Failed to create a new KoTH match for '" + definition.getDisplayName() + "'.");
-                logger.severe("Failed to create game instance for KoTH definition '" + definitionId + "' with arena '" + arenaIdToUse + "'.");
-                return true;
-            }
-        }
-
-        if (targetInstance != null) {
-            if (!gameManager.addPlayerToInstance(player, targetInstance.getInstanceId())) {
-                // Message to player should be handled by addPlayerToInstance or the GameInstance.addPlayer
-                logger.warning("[KoTHCommand] Failed to add " + player.getName() + " to instance " + targetInstance.getInstanceId().toString().substring(0,8));
-            }
-        } else {
-            // This case should ideally be caught by the creation failure messages above.
-            player.sendMessage(ChatColor.RED + "Could not find or create a suitable KoTH match for '" + definition.getDisplayName() + "'.");
-        }
+        // Matchmaking assigns the player to the fullest waiting instance, creating one if none has room
+        gameManager.getMatchmakingService().enqueue(player, definition);
         return true;
     }
 
@@ -248,6 +207,10 @@ public class KoTHCommand implements CommandExecutor, TabCompleter {
             player.sendMessage(ChatColor.RED + "You do not have permission to leave games.");
             return true;
         }
+        if (gameManager.getMatchmakingService().dequeue(player.getUniqueId())) {
+            player.sendMessage(ChatColor.YELLOW + "You have left the queue.");
+            return true;
+        }
         if (!gameManager.removePlayerFromInstance(player)) {
             player.sendMessage(ChatColor.RED + "You are not currently in a KoTH game match.");
         }
@@ -319,21 +282,26 @@ public class KoTHCommand implements CommandExecutor, TabCompleter {
             }
         }
 
-        Optional<GameInstance> instanceOpt = gameManager.createGameInstance(definitionId, arenaId);
-        if (instanceOpt.isPresent()) {
-            GameInstance instance = instanceOpt.get();
+        String selectedArenaId = arenaId;
+        CompletableFuture<GameInstance> creation = gameManager.createGameInstance(definitionId, selectedArenaId);
+        if (!creation.isDone()) {
+            sender.sendMessage(ChatColor.YELLOW + "Preparing arena '" + selectedArenaId + "' for a new KoTH instance of '" + definition.getDisplayName() + "'...");
+        }
+        creation.whenComplete((instance, error) -> {
+            if (error != null || instance == null) {
+                sender.sendMessage(ChatColor.RED + "Failed to create KoTH instance for definition '" + definitionId + "' on arena '" + selectedArenaId + "'. Check console for errors.");
+                return;
+            }
             if (instance.getGameState() == GameState.WAITING) { // Only try to start if it's waiting
                 if (instance.start(true)) { // true to bypass player checks for admin start
-                    sender.sendMessage(ChatColor.GREEN + "New KoTH instance of '" + definition.getDisplayName() + "' on arena '" + arenaId + "' created and force-started (ID: " + instance.getInstanceId().toString().substring(0,8) + ").");
+                    sender.sendMessage(ChatColor.GREEN + "New KoTH instance of '" + definition.getDisplayName() + "' on arena '" + selectedArenaId + "' created and force-started (ID: " + instance.getInstanceId().toString().substring(0,8) + ").");
                 } else {
                     sender.sendMessage(ChatColor.YELLOW + "KoTH instance '" + definition.getDisplayName() + "' created (ID: " + instance.getInstanceId().toString().substring(0,8) + ") but failed to start (e.g. no players yet, or other issue). It is in " + instance.getGameState() + " state.");
                 }
             } else {
                 sender.sendMessage(ChatColor.YELLOW + "KoTH instance '" + definition.getDisplayName() + "' created (ID: " + instance.getInstanceId().toString().substring(0,8) + ") but is already in state " + instance.getGameState() + ". Not attempting to start.");
             }
-        } else {
-            sender.sendMessage(ChatColor.RED + "Failed to create KoTH instance for definition '" + definitionId + "' on arena '" + arenaId + "'. Check console for errors.");
-        }
+        });
         return true;
     }
 
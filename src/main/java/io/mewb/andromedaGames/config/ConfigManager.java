@@ -2,23 +2,36 @@ package io.mewb.andromedaGames.config;
 
 import io.mewb.andromedaGames.AndromedaGames;
 import io.mewb.andromedaGames.arena.ArenaDefinition;
+import io.mewb.andromedaGames.arena.ArenaProvisioning;
 import io.mewb.andromedaGames.game.GameDefinition;
 import io.mewb.andromedaGames.utils.RelativeLocation; // Added import
 import org.bukkit.configuration.ConfigurationSection; // Added import
+import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 
 import java.io.File;
 import java.io.IOException; // For save method
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList; // Added import
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors; // Added import
+import java.util.zip.CRC32;
 
 public class ConfigManager {
 
@@ -34,6 +47,60 @@ public class ConfigManager {
     private double arenaSetupOriginY = 100.0;
     private double arenaSetupOriginZ = 0.0;
 
+    // Instance Scheduler Configuration
+    private double schedulerTickBudgetMillis = 5.0;
+
+    // Arena Slot Allocation Configuration
+    private int arenaAllocationCellSize = 64;
+    private int arenaAllocationMargin = 16;
+    private int arenaAllocationOriginX = 0;
+    private int arenaAllocationOriginZ = 0;
+    private int arenaAllocationPasteY = 100;
+    private int arenaAllocationDefaultFootprint = 128;
+
+    // Profiler Configuration
+    private boolean profilerEnabled = true;
+    private int profilerWindowSeconds = 60;
+
+    // Schematic Cache Configuration
+    private boolean schematicCacheEnabled = true;
+    private int schematicCacheMaxMemoryMb = 256;
+
+    // Arena Reset Configuration
+    private int arenaResetJournalMaxBlocks = 100000;
+    private int arenaResetBatchSize = 4096;
+
+    // Warm Instance Pool Configuration
+    private boolean warmPoolEnabled = true;
+    private int warmPoolCheckIntervalTicks = 40;
+    private double warmPoolMaxMspt = 40.0;
+    private int warmPoolIdleShrinkSeconds = 300;
+
+    // Matchmaking Configuration
+    private int matchmakingBatchIntervalTicks = 10;
+    private boolean matchmakingAutoStart = true;
+
+    // Hot Reload Configuration
+    private boolean hotReloadEnabled = true;
+    private int hotReloadDebounceMillis = 500;
+
+    // Definition Loading Configuration
+    private int definitionLoadThreads = Math.min(4, Runtime.getRuntime().availableProcessors());
+    private boolean definitionSnapshotEnabled = true;
+
+    // Teleport Configuration
+    private int teleportMaxPerTick = 4;
+
+    // Player Preparation Configuration
+    private int playerPreparationMaxPerTick = 8;
+
+    // World Sharding Configuration
+    private boolean worldShardingEnabled = true;
+    private String worldShardingWorldPrefix = "ag_instances_";
+    private int worldShardingMaxWorlds = 4;
+    private int worldShardingMaxInstancesPerWorld = 8;
+    private int worldShardingEmptyUnloadSeconds = 120;
+
 
     private static final List<String> GAME_TYPES = Collections.unmodifiableList(Arrays.asList(
             "koth", "infection", "capturetheshard",
@@ -42,6 +109,25 @@ public class ConfigManager {
 
     private final Map<String, ArenaDefinition> loadedArenaDefinitions = new HashMap<>();
     private final Map<String, GameDefinition> loadedGameDefinitions = new HashMap<>();
+    // Fingerprints of the files behind the cached definitions, keyed like the caches above
+    private final Map<String, FileStamp> arenaFileStamps = new HashMap<>();
+    private final Map<String, FileStamp> gameFileStamps = new HashMap<>();
+    // Parsed trees of the loaded files, saved to cache/definitions.bin; read from disk on the first load
+    private final File snapshotFile;
+    private Map<String, DefinitionSnapshot.Record> snapshotRecords;
+    private boolean snapshotDirty = false;
+
+    static final class FileStamp {
+        final long lastModified;
+        final long length;
+        final long crc;
+
+        FileStamp(long lastModified, long length, long crc) {
+            this.lastModified = lastModified;
+            this.length = length;
+            this.crc = crc;
+        }
+    }
 
     public ConfigManager(AndromedaGames plugin) {
         this.plugin = plugin;
@@ -62,6 +148,8 @@ public class ConfigManager {
             logger.severe("Could not create definitions directory: " + definitionsDirectory.getAbsolutePath());
         }
 
+        this.snapshotFile = new File(new File(pluginDataFolder, "cache"), "definitions.bin");
+
         loadMainPluginConfig(); // Load settings like arena setup world/origin
         setupDefaultConfigs();
     }
@@ -78,6 +166,61 @@ public class ConfigManager {
         this.arenaSetupOriginY = mainConfig.getDouble("arena_setup.origin_y", 100.0);
         this.arenaSetupOriginZ = mainConfig.getDouble("arena_setup.origin_z", 0.0);
         logger.info("Arena Setup Config: World='" + arenaSetupWorldName + "', Origin=(" + arenaSetupOriginX + "," + arenaSetupOriginY + "," + arenaSetupOriginZ + ")");
+
+        this.schedulerTickBudgetMillis = mainConfig.getDouble("scheduler.tick_budget_ms", 5.0);
+        logger.info("Instance Scheduler Config: Tick budget=" + schedulerTickBudgetMillis + "ms");
+
+        this.arenaAllocationCellSize = mainConfig.getInt("arena_allocation.cell_size", 64);
+        this.arenaAllocationMargin = mainConfig.getInt("arena_allocation.margin", 16);
+        this.arenaAllocationOriginX = mainConfig.getInt("arena_allocation.origin_x", 0);
+        this.arenaAllocationOriginZ = mainConfig.getInt("arena_allocation.origin_z", 0);
+        this.arenaAllocationPasteY = mainConfig.getInt("arena_allocation.paste_y", 100);
+        this.arenaAllocationDefaultFootprint = mainConfig.getInt("arena_allocation.default_footprint", 128);
+        logger.info("Arena Allocation Config: Cell=" + arenaAllocationCellSize + ", Margin=" + arenaAllocationMargin + ", Origin=(" + arenaAllocationOriginX + "," + arenaAllocationOriginZ + "), PasteY=" + arenaAllocationPasteY);
+
+        this.profilerEnabled = mainConfig.getBoolean("profiler.enabled", true);
+        this.profilerWindowSeconds = mainConfig.getInt("profiler.window_seconds", 60);
+        logger.info("Profiler Config: Enabled=" + profilerEnabled + ", Window=" + profilerWindowSeconds + "s");
+
+        this.schematicCacheEnabled = mainConfig.getBoolean("schematic_cache.enabled", true);
+        this.schematicCacheMaxMemoryMb = mainConfig.getInt("schematic_cache.max_memory_mb", 256);
+        logger.info("Schematic Cache Config: Enabled=" + schematicCacheEnabled + ", Max memory=" + schematicCacheMaxMemoryMb + "MB");
+
+        this.arenaResetJournalMaxBlocks = mainConfig.getInt("arena_reset.journal_max_blocks", 100000);
+        this.arenaResetBatchSize = mainConfig.getInt("arena_reset.batch_size", 4096);
+        logger.info("Arena Reset Config: Journal max blocks=" + arenaResetJournalMaxBlocks + ", Batch size=" + arenaResetBatchSize);
+
+        this.warmPoolEnabled = mainConfig.getBoolean("warm_pool.enabled", true);
+        this.warmPoolCheckIntervalTicks = mainConfig.getInt("warm_pool.check_interval_ticks", 40);
+        this.warmPoolMaxMspt = mainConfig.getDouble("warm_pool.max_mspt", 40.0);
+        this.warmPoolIdleShrinkSeconds = mainConfig.getInt("warm_pool.idle_shrink_seconds", 300);
+        logger.info("Warm Pool Config: Enabled=" + warmPoolEnabled + ", Interval=" + warmPoolCheckIntervalTicks + " ticks, Max MSPT=" + warmPoolMaxMspt + ", Idle shrink=" + warmPoolIdleShrinkSeconds + "s");
+
+        this.matchmakingBatchIntervalTicks = mainConfig.getInt("matchmaking.batch_interval_ticks", 10);
+        this.matchmakingAutoStart = mainConfig.getBoolean("matchmaking.auto_start", true);
+        logger.info("Matchmaking Config: Batch interval=" + matchmakingBatchIntervalTicks + " ticks, Auto-start=" + matchmakingAutoStart);
+
+        this.hotReloadEnabled = mainConfig.getBoolean("hot_reload.enabled", true);
+        this.hotReloadDebounceMillis = mainConfig.getInt("hot_reload.debounce_ms", 500);
+        logger.info("Hot Reload Config: Enabled=" + hotReloadEnabled + ", Debounce=" + hotReloadDebounceMillis + "ms");
+
+        this.definitionLoadThreads = Math.max(1, mainConfig.getInt("definition_loading.threads", Math.min(4, Runtime.getRuntime().availableProcessors())));
+        this.definitionSnapshotEnabled = mainConfig.getBoolean("definition_loading.snapshot_enabled", true);
+        logger.info("Definition Loading Config: Threads=" + definitionLoadThreads + ", Snapshot=" + definitionSnapshotEnabled);
+
+        this.teleportMaxPerTick = mainConfig.getInt("teleport.max_per_tick", 4);
+        logger.info("Teleport Config: Max per tick=" + teleportMaxPerTick);
+
+        this.playerPreparationMaxPerTick = Math.max(1, mainConfig.getInt("player_preparation.max_per_tick", 8));
+        logger.info("Player Preparation Config: Max per tick=" + playerPreparationMaxPerTick);
+
+        this.worldShardingEnabled = mainConfig.getBoolean("world_sharding.enabled", true);
+        this.worldShardingWorldPrefix = mainConfig.getString("world_sharding.world_prefix", "ag_instances_");
+        this.worldShardingMaxWorlds = mainConfig.getInt("world_sharding.max_worlds", 4);
+        this.worldShardingMaxInstancesPerWorld = mainConfig.getInt("world_sharding.max_instances_per_world", 8);
+        this.worldShardingEmptyUnloadSeconds = mainConfig.getInt("world_sharding.empty_unload_seconds", 120);
+        logger.info("World Sharding Config: Enabled=" + worldShardingEnabled + ", Prefix='" + worldShardingWorldPrefix + "', Max worlds=" + worldShardingMaxWorlds
+                + ", Max instances/world=" + worldShardingMaxInstancesPerWorld + ", Empty unload=" + worldShardingEmptyUnloadSeconds + "s");
     }
 
     // Getters for Arena Setup Config
@@ -86,6 +229,60 @@ public class ConfigManager {
     public double getArenaSetupOriginY() { return arenaSetupOriginY; }
     public double getArenaSetupOriginZ() { return arenaSetupOriginZ; }
 
+    // Getters for Instance Scheduler Config
+    public double getSchedulerTickBudgetMillis() { return schedulerTickBudgetMillis; }
+
+    // Getters for Arena Slot Allocation Config
+    public int getArenaAllocationCellSize() { return arenaAllocationCellSize; }
+    public int getArenaAllocationMargin() { return arenaAllocationMargin; }
+    public int getArenaAllocationOriginX() { return arenaAllocationOriginX; }
+    public int getArenaAllocationOriginZ() { return arenaAllocationOriginZ; }
+    public int getArenaAllocationPasteY() { return arenaAllocationPasteY; }
+    public int getArenaAllocationDefaultFootprint() { return arenaAllocationDefaultFootprint; }
+
+    // Getters for Profiler Config
+    public boolean isProfilerEnabled() { return profilerEnabled; }
+    public int getProfilerWindowSeconds() { return profilerWindowSeconds; }
+
+    // Getters for Schematic Cache Config
+    public boolean isSchematicCacheEnabled() { return schematicCacheEnabled; }
+    public int getSchematicCacheMaxMemoryMb() { return schematicCacheMaxMemoryMb; }
+
+    // Getters for Arena Reset Config
+    public int getArenaResetJournalMaxBlocks() { return arenaResetJournalMaxBlocks; }
+    public int getArenaResetBatchSize() { return arenaResetBatchSize; }
+
+    // Getters for Warm Instance Pool Config
+    public boolean isWarmPoolEnabled() { return warmPoolEnabled; }
+    public int getWarmPoolCheckIntervalTicks() { return warmPoolCheckIntervalTicks; }
+    public double getWarmPoolMaxMspt() { return warmPoolMaxMspt; }
+    public int getWarmPoolIdleShrinkSeconds() { return warmPoolIdleShrinkSeconds; }
+
+    // Getters for Matchmaking Config
+    public int getMatchmakingBatchIntervalTicks() { return matchmakingBatchIntervalTicks; }
+    public boolean isMatchmakingAutoStart() { return matchmakingAutoStart; }
+
+    // Getters for Hot Reload Config
+    public boolean isHotReloadEnabled() { return hotReloadEnabled; }
+    public int getHotReloadDebounceMillis() { return hotReloadDebounceMillis; }
+
+    // Getters for Definition Loading Config
+    public int getDefinitionLoadThreads() { return definitionLoadThreads; }
+    public boolean isDefinitionSnapshotEnabled() { return definitionSnapshotEnabled; }
+
+    // Getters for Teleport Config
+    public int getTeleportMaxPerTick() { return teleportMaxPerTick; }
+
+    // Getters for Player Preparation Config
+    public int getPlayerPreparationMaxPerTick() { return playerPreparationMaxPerTick; }
+
+    // Getters for World Sharding Config
+    public boolean isWorldShardingEnabled() { return worldShardingEnabled; }
+    public String getWorldShardingWorldPrefix() { return worldShardingWorldPrefix; }
+    public int getWorldShardingMaxWorlds() { return worldShardingMaxWorlds; }
+    public int getWorldShardingMaxInstancesPerWorld() { return worldShardingMaxInstancesPerWorld; }
+    public int getWorldShardingEmptyUnloadSeconds() { return worldShardingEmptyUnloadSeconds; }
+
 
     private void setupDefaultConfigs() {
         logger.info("Initializing default configuration files and directories...");
@@ -167,6 +364,11 @@ public class ConfigManager {
             config.set("schematic_file", null); // Explicitly null if not set
         }
         config.set("tags", arenaDef.getTags());
+        if (arenaDef.getProvisioning() == ArenaProvisioning.TEMPLATE_WORLD) {
+            config.set("provisioning", "template_world");
+            config.set("template_world", arenaDef.getTemplateWorld());
+            config.set("template_origin", arenaDef.getTemplateOrigin().toMap());
+        }
 
         // Serialize definedRelativeLocations
         // The map can contain RelativeLocation or List<RelativeLocation>
@@ -215,6 +417,7 @@ public class ConfigManager {
             logger.info("Saved arena definition: " + arenaFile.getAbsolutePath());
             // If this arena was already loaded, update the cache or clear it so it reloads next time.
             loadedArenaDefinitions.put(arenaDef.getArenaId().toLowerCase(), arenaDef); // Update cache
+            arenaFileStamps.remove(arenaDef.getArenaId().toLowerCase()); // Re-read on the next reload, which picks up the saved file
             return true;
         } catch (IOException e) {
             logger.log(Level.SEVERE, "Could not save arena definition to " + arenaFile.getAbsolutePath(), e);
@@ -238,21 +441,220 @@ public class ConfigManager {
         return definition;
     }
 
-    public Map<String, ArenaDefinition> loadAllArenaDefinitions() {
-        loadedArenaDefinitions.clear();
-        if (!arenasDirectory.exists() || !arenasDirectory.isDirectory()) {
-            logger.warning("Arenas directory not found.");
-            return Collections.emptyMap();
-        }
-        File[] arenaFiles = arenasDirectory.listFiles((dir, name) -> name.toLowerCase().endsWith(".yml"));
-        if (arenaFiles != null) {
-            for (File arenaFile : arenaFiles) {
-                String arenaId = arenaFile.getName().substring(0, arenaFile.getName().length() - 4);
-                getArenaDefinition(arenaId);
+    /** A definition file found on disk, with the cache key and game type (empty for arenas) it loads under. */
+    private static final class DefinitionFileRef {
+        final File file;
+        final String id;
+        final String key;
+        final String gameType;
+
+        DefinitionFileRef(File file, String gameType) {
+            this.file = file;
+            this.id = file.getName().substring(0, file.getName().length() - 4);
+            this.key = gameType.isEmpty() ? id.toLowerCase() : gameType + "/" + id.toLowerCase();
+            this.gameType = gameType;
+        }
+
+        boolean isArena() { return gameType.isEmpty(); }
+    }
+
+    /** Outcome of refreshing one changed file on the loader pool; applied to the caches by the loading thread. */
+    private static final class RefreshResult {
+        final DefinitionFileRef ref;
+        final Object definition; // Null if the content is unchanged (only the stamp is updated)
+        final FileStamp stamp;
+        final DefinitionSnapshot.Record record; // Null if the file can't be snapshotted
+        final boolean fromSnapshot;
+
+        RefreshResult(DefinitionFileRef ref, Object definition, FileStamp stamp, DefinitionSnapshot.Record record, boolean fromSnapshot) {
+            this.ref = ref;
+            this.definition = definition;
+            this.stamp = stamp;
+            this.record = record;
+            this.fromSnapshot = fromSnapshot;
+        }
+    }
+
+    /**
+     * Loads all arena and game definitions, re-reading only files that changed since they were last loaded.
+     * Changed files are read and parsed in parallel on a small bounded pool; the caches are only updated by the
+     * calling thread. A file unchanged since the definition snapshot was written is rebuilt from the snapshot
+     * instead of being parsed as YAML. Definitions whose files are unchanged stay the same objects.
+     */
+    public void loadAllDefinitions() {
+        long startNanos = System.nanoTime();
+        if (snapshotRecords == null) {
+            snapshotRecords = definitionSnapshotEnabled ? DefinitionSnapshot.read(snapshotFile, logger) : new HashMap<>();
+        }
+
+        List<DefinitionFileRef> files = new ArrayList<>(listDefinitionFiles(arenasDirectory, ""));
+        for (String gameType : GAME_TYPES) {
+            files.addAll(listDefinitionFiles(new File(definitionsDirectory, gameType), gameType));
+        }
+
+        Set<String> presentArenaKeys = new HashSet<>();
+        Set<String> presentGameKeys = new HashSet<>();
+        List<Callable<RefreshResult>> tasks = new ArrayList<>();
+        for (DefinitionFileRef ref : files) {
+            (ref.isArena() ? presentArenaKeys : presentGameKeys).add(ref.key);
+            boolean cached = ref.isArena() ? loadedArenaDefinitions.containsKey(ref.key) : loadedGameDefinitions.containsKey(ref.key);
+            FileStamp previous = cached ? (ref.isArena() ? arenaFileStamps : gameFileStamps).get(ref.key) : null;
+            if (previous != null && previous.lastModified == ref.file.lastModified() && previous.length == ref.file.length()) continue;
+            DefinitionSnapshot.Record record = snapshotRecords.get(ref.key);
+            tasks.add(() -> refreshDefinitionFile(ref, previous, cached, record));
+        }
+
+        int parsed = 0;
+        int fromSnapshot = 0;
+        for (RefreshResult result : runRefreshTasks(tasks)) {
+            if (result == null) continue; // Unreadable or invalid; the previous version (if any) is kept
+            DefinitionFileRef ref = result.ref;
+            (ref.isArena() ? arenaFileStamps : gameFileStamps).put(ref.key, result.stamp);
+            if (result.record != null && snapshotRecords.put(ref.key, result.record) != result.record) snapshotDirty = true;
+            if (result.definition == null) continue;
+            if (ref.isArena()) {
+                loadedArenaDefinitions.put(ref.key, (ArenaDefinition) result.definition);
+            } else {
+                loadedGameDefinitions.put(ref.key, (GameDefinition) result.definition);
+            }
+            if (result.fromSnapshot) fromSnapshot++; else parsed++;
+        }
+
+        // Files deleted since the last load
+        loadedArenaDefinitions.keySet().retainAll(presentArenaKeys);
+        arenaFileStamps.keySet().retainAll(presentArenaKeys);
+        loadedGameDefinitions.keySet().retainAll(presentGameKeys);
+        gameFileStamps.keySet().retainAll(presentGameKeys);
+        if (snapshotRecords.keySet().removeIf(key -> !presentArenaKeys.contains(key) && !presentGameKeys.contains(key))) {
+            snapshotDirty = true;
+        }
+        saveDefinitionSnapshot();
+
+        logger.info("Loaded " + loadedArenaDefinitions.size() + " arena and " + loadedGameDefinitions.size() + " game definitions ("
+                + parsed + " parsed, " + fromSnapshot + " from snapshot, " + (files.size() - tasks.size()) + " unchanged) in "
+                + String.format("%.1f", (System.nanoTime() - startNanos) / 1_000_000.0) + "ms.");
+    }
+
+    /** Copy of the loaded arena definitions, keyed by lowercase arena id. */
+    public Map<String, ArenaDefinition> getLoadedArenaDefinitions() {
+        return Collections.unmodifiableMap(new HashMap<>(loadedArenaDefinitions));
+    }
+
+    /** Copy of the loaded game definitions, keyed by "gametype/definitionid" (lowercase). */
+    public Map<String, GameDefinition> getLoadedGameDefinitions() {
+        return Collections.unmodifiableMap(new HashMap<>(loadedGameDefinitions));
+    }
+
+    /**
+     * Writes the definition snapshot if definitions were parsed or removed since it was last written.
+     */
+    public void saveDefinitionSnapshot() {
+        if (!definitionSnapshotEnabled || !snapshotDirty || snapshotRecords == null) return;
+        DefinitionSnapshot.write(snapshotFile, new ArrayList<>(snapshotRecords.values()), logger);
+        snapshotDirty = false;
+    }
+
+    private List<DefinitionFileRef> listDefinitionFiles(File directory, String gameType) {
+        if (!directory.isDirectory()) {
+            logger.warning(gameType.isEmpty() ? "Arenas directory not found." : "Game definition directory not found for type: " + gameType);
+            return Collections.emptyList();
+        }
+        File[] definitionFiles = directory.listFiles((dir, name) -> name.toLowerCase().endsWith(".yml"));
+        if (definitionFiles == null) return Collections.emptyList();
+        List<DefinitionFileRef> refs = new ArrayList<>(definitionFiles.length);
+        for (File file : definitionFiles) {
+            refs.add(new DefinitionFileRef(file, gameType));
+        }
+        return refs;
+    }
+
+    /**
+     * Runs the refresh tasks on a pool of at most definition_loading.threads threads, which is shut down afterwards.
+     * A single task (or a single thread) runs on the calling thread.
+     */
+    private List<RefreshResult> runRefreshTasks(List<Callable<RefreshResult>> tasks) {
+        List<RefreshResult> results = new ArrayList<>(tasks.size());
+        int threads = Math.min(definitionLoadThreads, tasks.size());
+        if (threads <= 1) {
+            for (Callable<RefreshResult> task : tasks) {
+                try {
+                    results.add(task.call());
+                } catch (Exception e) {
+                    logger.log(Level.WARNING, "Error loading a definition file", e);
+                }
             }
+            return results;
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "AndromedaGames-DefinitionLoader-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (Future<RefreshResult> future : pool.invokeAll(tasks)) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    logger.log(Level.WARNING, "Error loading a definition file", e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warning("Interrupted while loading definition files.");
+        } finally {
+            pool.shutdownNow();
+        }
+        return results;
+    }
+
+    /**
+     * Re-reads a definition file that may have changed. Runs on the loader pool, so it only reads its arguments.
+     * The snapshot record is used if the file's modification time and length still match it; otherwise the file
+     * is read and its checksum compared with the previous load, so touched but identical files are not re-parsed.
+     * @return The result, or null if the file could not be read or is not a valid definition.
+     */
+    private RefreshResult refreshDefinitionFile(DefinitionFileRef ref, FileStamp previous, boolean hasPrevious, DefinitionSnapshot.Record record) {
+        long lastModified = ref.file.lastModified();
+        long length = ref.file.length();
+        if (record != null && record.stamp.lastModified == lastModified && record.stamp.length == length) {
+            if (previous != null && previous.crc == record.stamp.crc) {
+                return new RefreshResult(ref, null, record.stamp, record, true);
+            }
+            try {
+                Object definition = buildDefinition(ref, DefinitionSnapshot.decode(record.tree));
+                if (definition != null) return new RefreshResult(ref, definition, record.stamp, record, true);
+            } catch (IOException e) {
+                logger.fine("Snapshot entry for " + ref.file.getName() + " is unreadable; parsing the file instead.");
+            }
+        }
+
+        byte[] content = readDefinitionFile(ref.file);
+        if (content == null) return null;
+        FileStamp stamp = new FileStamp(lastModified, length, checksum(content));
+        if (previous != null && previous.crc == stamp.crc) {
+            return new RefreshResult(ref, null, stamp, null, false); // Touched, not changed
+        }
+        YamlConfiguration config = parseYaml(ref.file, content, hasPrevious);
+        if (config == null) return null;
+        Object definition = buildDefinition(ref, config);
+        if (definition == null) {
+            if (hasPrevious) logger.warning("Definition file " + ref.file.getName() + " is invalid. Keeping the previously loaded version.");
+            return null;
         }
-        logger.info("Loaded " + loadedArenaDefinitions.size() + " arena definitions.");
-        return Collections.unmodifiableMap(loadedArenaDefinitions);
+        return new RefreshResult(ref, definition, stamp, snapshotRecordOf(ref, stamp, config), false);
+    }
+
+    private Object buildDefinition(DefinitionFileRef ref, ConfigurationSection config) {
+        return ref.isArena()
+                ? ArenaDefinition.loadFromConfig(ref.id, config, logger)
+                : GameDefinition.loadFromConfig(ref.id, config, logger);
+    }
+
+    private DefinitionSnapshot.Record snapshotRecordOf(DefinitionFileRef ref, FileStamp stamp, ConfigurationSection config) {
+        if (!definitionSnapshotEnabled) return null;
+        byte[] tree = DefinitionSnapshot.encode(config);
+        return tree != null ? new DefinitionSnapshot.Record(ref.key, ref.gameType, ref.file.getName(), stamp, tree) : null;
     }
 
     public GameDefinition getGameDefinition(String gameType, String definitionId) {
@@ -270,31 +672,138 @@ public class ConfigManager {
         return definition;
     }
 
-    public Map<String, GameDefinition> loadAllGameDefinitionsOfType(String gameType) {
-        String normalizedGameType = gameType.toLowerCase();
-        Map<String, GameDefinition> definitionsOfType = new HashMap<>();
-        File gameTypeDir = new File(definitionsDirectory, normalizedGameType);
-        if (!gameTypeDir.exists() || !gameTypeDir.isDirectory()) {
-            logger.warning("Game definition directory not found for type: " + normalizedGameType);
-            return Collections.emptyMap();
-        }
-        File[] definitionFiles = gameTypeDir.listFiles((dir, name) -> name.toLowerCase().endsWith(".yml"));
-        if (definitionFiles != null) {
-            for (File defFile : definitionFiles) {
-                String definitionId = defFile.getName().substring(0, defFile.getName().length() - 4);
-                GameDefinition def = getGameDefinition(normalizedGameType, definitionId);
-                if (def != null) {
-                    definitionsOfType.put(definitionId, def);
-                }
-            }
+
+    /**
+     * A definition file read and parsed without touching the caches, so the work can be done off the main thread.
+     * Applied to the caches on the main thread with {@link #applyParsedArena} / {@link #applyParsedGameDefinition}.
+     */
+    public static final class ParsedDefinitionFile<T> {
+        private final String key;
+        private final T definition;
+        private final FileStamp stamp;
+        private final DefinitionSnapshot.Record record;
+
+        private ParsedDefinitionFile(String key, T definition, FileStamp stamp, DefinitionSnapshot.Record record) {
+            this.key = key;
+            this.definition = definition;
+            this.stamp = stamp;
+            this.record = record;
+        }
+
+        public T getDefinition() { return definition; }
+    }
+
+    /**
+     * Reads and parses one arena file. Thread-safe.
+     * @return The parsed file, or null if it could not be read or is not a valid arena definition.
+     */
+    public ParsedDefinitionFile<ArenaDefinition> parseArenaFile(File arenaFile) {
+        return parseDefinitionFile(new DefinitionFileRef(arenaFile, ""));
+    }
+
+    /**
+     * Reads and parses one game definition file. Thread-safe.
+     * @return The parsed file, or null if it could not be read or is not a valid game definition.
+     */
+    public ParsedDefinitionFile<GameDefinition> parseGameDefinitionFile(String gameType, File definitionFile) {
+        return parseDefinitionFile(new DefinitionFileRef(definitionFile, gameType.toLowerCase()));
+    }
+
+    /**
+     * Puts a parsed arena into the cache. Main thread only.
+     * @return False if its content is the same as the cached version's.
+     */
+    public boolean applyParsedArena(ParsedDefinitionFile<ArenaDefinition> parsed) {
+        return applyParsed(parsed, arenaFileStamps, loadedArenaDefinitions);
+    }
+
+    /**
+     * Puts a parsed game definition into the cache. Main thread only.
+     * @return False if its content is the same as the cached version's.
+     */
+    public boolean applyParsedGameDefinition(ParsedDefinitionFile<GameDefinition> parsed) {
+        return applyParsed(parsed, gameFileStamps, loadedGameDefinitions);
+    }
+
+    /** Drops a deleted arena file from the cache. Main thread only. */
+    public boolean removeArenaDefinition(String arenaId) {
+        arenaFileStamps.remove(arenaId.toLowerCase());
+        if (snapshotRecords != null && snapshotRecords.remove(arenaId.toLowerCase()) != null) snapshotDirty = true;
+        return loadedArenaDefinitions.remove(arenaId.toLowerCase()) != null;
+    }
+
+    /** Drops a deleted game definition file from the cache. Main thread only. */
+    public boolean removeGameDefinition(String gameType, String definitionId) {
+        String key = gameType.toLowerCase() + "/" + definitionId.toLowerCase();
+        gameFileStamps.remove(key);
+        if (snapshotRecords != null && snapshotRecords.remove(key) != null) snapshotDirty = true;
+        return loadedGameDefinitions.remove(key) != null;
+    }
+
+    public File getArenasDirectory() { return arenasDirectory; }
+    public File getDefinitionsDirectory() { return definitionsDirectory; }
+
+    @SuppressWarnings("unchecked")
+    private <T> ParsedDefinitionFile<T> parseDefinitionFile(DefinitionFileRef ref) {
+        long lastModified = ref.file.lastModified();
+        long length = ref.file.length();
+        byte[] content = readDefinitionFile(ref.file);
+        if (content == null) return null;
+        YamlConfiguration config = parseYaml(ref.file, content, true);
+        if (config == null) return null;
+        T definition = (T) buildDefinition(ref, config);
+        if (definition == null) {
+            logger.warning("Definition file " + ref.file.getName() + " is invalid. Keeping the previously loaded version.");
+            return null;
+        }
+        FileStamp stamp = new FileStamp(lastModified, length, checksum(content));
+        return new ParsedDefinitionFile<>(ref.key, definition, stamp, snapshotRecordOf(ref, stamp, config));
+    }
+
+    private <T> boolean applyParsed(ParsedDefinitionFile<T> parsed, Map<String, FileStamp> stamps, Map<String, T> cache) {
+        FileStamp previous = cache.containsKey(parsed.key) ? stamps.get(parsed.key) : null;
+        stamps.put(parsed.key, parsed.stamp);
+        if (parsed.record != null && snapshotRecords != null) {
+            snapshotRecords.put(parsed.key, parsed.record); // Written with the next full load or on shutdown
+            snapshotDirty = true;
+        }
+        if (previous != null && previous.crc == parsed.stamp.crc) return false; // Touched, not changed
+        cache.put(parsed.key, parsed.definition);
+        return true;
+    }
+
+    private byte[] readDefinitionFile(File file) {
+        try {
+            return Files.readAllBytes(file.toPath());
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Could not read definition file " + file.getName() + ": " + e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private YamlConfiguration parseYaml(File file, byte[] content, boolean hasPrevious) {
+        YamlConfiguration config = new YamlConfiguration();
+        try {
+            config.loadFromString(new String(content, StandardCharsets.UTF_8));
+        } catch (InvalidConfigurationException e) {
+            logger.warning("Could not parse definition file " + file.getName() + ": " + e.getMessage()
+                    + (hasPrevious ? " Keeping the previously loaded version." : ""));
+            return null;
         }
-        logger.info("Loaded " + definitionsOfType.size() + " game definitions for type '" + normalizedGameType + "'.");
-        return Collections.unmodifiableMap(definitionsOfType);
+        return config;
+    }
+
+    private static long checksum(byte[] content) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(content);
+        return crc32.getValue();
     }
 
     public void reloadAllDefinitions() {
         loadedArenaDefinitions.clear();
         loadedGameDefinitions.clear();
+        arenaFileStamps.clear();
+        gameFileStamps.clear();
         loadMainPluginConfig(); // Reload main config settings like arena setup world/origin
         logger.info("ConfigManager caches cleared and main config reloaded.");
     }
@@ -0,0 +1,211 @@
+package io.mewb.andromedaGames.config;
+
+import io.mewb.andromedaGames.AndromedaGames;
+import io.mewb.andromedaGames.arena.ArenaDefinition;
+import io.mewb.andromedaGames.arena.ArenaManager;
+import io.mewb.andromedaGames.game.GameDefinition;
+import io.mewb.andromedaGames.game.GameManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Hot reload of single files. A background thread watches the arenas/, definitions/&lt;type&gt;/ and schematics/
+ * folders with a {@link WatchService}. Events for a file are debounced until it has been quiet for the
+ * configured time, so an editor's burst of writes is handled once. YAML files are then read and parsed on the
+ * watcher thread, and only valid results are handed to the main thread, which updates ConfigManager's cache
+ * and publishes the definition to the GameManager for new matches. Changed schematics are dropped from the
+ * ArenaManager's caches directly (those are thread-safe).
+ */
+public class DefinitionFileWatcher {
+
+    private static final long POLL_MILLIS = 100;
+
+    private final AndromedaGames plugin;
+    private final ConfigManager configManager;
+    private final GameManager gameManager;
+    private final ArenaManager arenaManager;
+    private final Logger logger;
+    private final long debounceNanos;
+
+    private final Path arenasDir;
+    private final Path definitionsDir;
+    private final Path schematicsDir;
+
+    private final Map<Path, Long> pendingChanges = new HashMap<>(); // File -> time of its last event; watcher thread only
+    private WatchService watchService;
+    private Thread thread;
+    private volatile boolean running = false;
+    private boolean fullReloadPending = false; // Events were lost (OVERFLOW); rescan everything
+
+    public DefinitionFileWatcher(AndromedaGames plugin, GameManager gameManager, int debounceMillis) {
+        this.plugin = plugin;
+        this.configManager = plugin.getConfigManager();
+        this.gameManager = gameManager;
+        this.arenaManager = plugin.getArenaManager();
+        this.logger = plugin.getLogger();
+        this.debounceNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, debounceMillis));
+        this.arenasDir = configManager.getArenasDirectory().toPath().toAbsolutePath();
+        this.definitionsDir = configManager.getDefinitionsDirectory().toPath().toAbsolutePath();
+        this.schematicsDir = arenaManager != null ? arenaManager.getSchematicsDirectory().toPath().toAbsolutePath() : null;
+    }
+
+    public void start() {
+        if (running) return;
+        try {
+            watchService = arenasDir.getFileSystem().newWatchService();
+            register(arenasDir);
+            register(definitionsDir);
+            File[] typeDirs = definitionsDir.toFile().listFiles(File::isDirectory);
+            if (typeDirs != null) {
+                for (File typeDir : typeDirs) register(typeDir.toPath().toAbsolutePath());
+            }
+            if (schematicsDir != null) register(schematicsDir);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "[FileWatcher] Could not start watching definition folders. Hot reload is disabled.", e);
+            closeWatchService();
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "AndromedaGames-FileWatcher");
+        thread.setDaemon(true);
+        thread.start();
+        logger.info("[FileWatcher] Watching arenas, definitions and schematics for changes (debounce " + TimeUnit.NANOSECONDS.toMillis(debounceNanos) + "ms).");
+    }
+
+    public void stop() {
+        running = false;
+        closeWatchService(); // Wakes the thread up
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+    private void register(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) return;
+        dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+    }
+
+    private void closeWatchService() {
+        if (watchService == null) return;
+        try {
+            watchService.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private void run() {
+        while (running) {
+            WatchKey key;
+            try {
+                key = watchService.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                break;
+            }
+            if (key != null) {
+                Path dir = (Path) key.watchable();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        fullReloadPending = true;
+                        continue;
+                    }
+                    Path file = dir.resolve((Path) event.context());
+                    if (dir.equals(definitionsDir) && event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(file)) {
+                        try {
+                            register(file); // New game type folder
+                        } catch (IOException e) {
+                            logger.warning("[FileWatcher] Could not watch new folder " + file.getFileName() + ": " + e.getMessage());
+                        }
+                        continue;
+                    }
+                    pendingChanges.put(file, System.nanoTime());
+                }
+                key.reset();
+            }
+            try {
+                processQuietChanges();
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "[FileWatcher] Error while processing changed files.", e);
+            }
+        }
+    }
+
+    private void processQuietChanges() {
+        long now = System.nanoTime();
+        if (fullReloadPending) {
+            fullReloadPending = false;
+            pendingChanges.clear();
+            logger.info("[FileWatcher] Too many file events at once. Rescanning all definitions.");
+            runOnMainThread(gameManager::loadAllDefinitionsAndArenas);
+            return;
+        }
+        Iterator<Map.Entry<Path, Long>> it = pendingChanges.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Path, Long> change = it.next();
+            if (now - change.getValue() < debounceNanos) continue;
+            it.remove();
+            process(change.getKey());
+        }
+    }
+
+    private void process(Path file) {
+        String fileName = file.getFileName().toString();
+        String lowerName = fileName.toLowerCase();
+        Path dir = file.getParent();
+        boolean exists = Files.isRegularFile(file);
+
+        if (dir.equals(schematicsDir) && (lowerName.endsWith(".schem") || lowerName.endsWith(".schematic"))) {
+            arenaManager.invalidateSchematic(fileName);
+            logger.info("[FileWatcher] Schematic '" + fileName + "' changed. Cached copy dropped.");
+            return;
+        }
+        if (!lowerName.endsWith(".yml")) return; // Editor swap and backup files
+        String id = fileName.substring(0, fileName.length() - 4);
+
+        if (dir.equals(arenasDir)) {
+            if (!exists) {
+                runOnMainThread(() -> {
+                    if (configManager.removeArenaDefinition(id)) gameManager.publishArenaDefinition(id, null);
+                });
+                return;
+            }
+            ConfigManager.ParsedDefinitionFile<ArenaDefinition> parsed = configManager.parseArenaFile(file.toFile());
+            if (parsed == null) return; // Already logged; the previous version stays loaded
+            runOnMainThread(() -> {
+                if (configManager.applyParsedArena(parsed)) gameManager.publishArenaDefinition(id, parsed.getDefinition());
+            });
+        } else if (dir.getParent() != null && dir.getParent().equals(definitionsDir)) {
+            String gameType = dir.getFileName().toString();
+            if (!exists) {
+                runOnMainThread(() -> {
+                    if (configManager.removeGameDefinition(gameType, id)) gameManager.publishGameDefinition(id, null);
+                });
+                return;
+            }
+            ConfigManager.ParsedDefinitionFile<GameDefinition> parsed = configManager.parseGameDefinitionFile(gameType, file.toFile());
+            if (parsed == null) return;
+            runOnMainThread(() -> {
+                if (configManager.applyParsedGameDefinition(parsed)) gameManager.publishGameDefinition(id, parsed.getDefinition());
+            });
+        }
+    }
+
+    private void runOnMainThread(Runnable task) {
+        if (!running || !plugin.isEnabled()) return;
+        plugin.getServer().getScheduler().runTask(plugin, task);
+    }
+}
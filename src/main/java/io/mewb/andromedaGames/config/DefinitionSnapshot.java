@@ -0,0 +1,262 @@
+package io.mewb.andromedaGames.config;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.MemoryConfiguration;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Binary snapshot of every loaded definition file's parsed YAML tree, stored in one file and read in one go at
+ * startup. Each record carries the file's modification time, length and checksum; a file whose time and length
+ * still match is rebuilt from its record (through the definition's normal loadFromConfig) without YAML parsing.
+ * Only plain YAML values (strings, numbers, booleans, lists, maps, sections) are encoded; a file with anything
+ * else is simply left out and parsed normally.
+ */
+public class DefinitionSnapshot {
+
+    private static final int MAGIC = 0x41474453; // "AGDS"
+    private static final int VERSION = 1;
+
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_STRING = 1;
+    private static final byte TAG_INT = 2;
+    private static final byte TAG_LONG = 3;
+    private static final byte TAG_DOUBLE = 4;
+    private static final byte TAG_FLOAT = 5;
+    private static final byte TAG_BOOLEAN = 6;
+    private static final byte TAG_LIST = 7;
+    private static final byte TAG_MAP = 8;
+    private static final byte TAG_SECTION = 9;
+
+    /** One definition file: where it came from, its fingerprint and its encoded YAML tree. */
+    public static final class Record {
+        final String key; // Cache key in ConfigManager
+        final String gameType; // Empty for arenas
+        final String fileName;
+        final ConfigManager.FileStamp stamp;
+        final byte[] tree;
+
+        Record(String key, String gameType, String fileName, ConfigManager.FileStamp stamp, byte[] tree) {
+            this.key = key;
+            this.gameType = gameType;
+            this.fileName = fileName;
+            this.stamp = stamp;
+            this.tree = tree;
+        }
+    }
+
+    private DefinitionSnapshot() {}
+
+    /**
+     * Reads a snapshot file.
+     * @return Records by cache key; empty if the file is missing, from another version or corrupt.
+     */
+    public static Map<String, Record> read(File file, Logger logger) {
+        Map<String, Record> records = new HashMap<>();
+        if (!file.isFile()) return records;
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(file.toPath())))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                logger.info("[DefinitionSnapshot] Snapshot format changed. Parsing all definition files.");
+                return records;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String key = readString(in);
+                String gameType = readString(in);
+                String fileName = readString(in);
+                ConfigManager.FileStamp stamp = new ConfigManager.FileStamp(in.readLong(), in.readLong(), in.readLong());
+                byte[] tree = new byte[in.readInt()];
+                in.readFully(tree);
+                records.put(key, new Record(key, gameType, fileName, stamp, tree));
+            }
+        } catch (IOException e) {
+            logger.warning("[DefinitionSnapshot] Could not read " + file.getName() + " (" + e.getMessage() + "). Parsing all definition files.");
+            records.clear();
+        }
+        return records;
+    }
+
+    /**
+     * Writes a snapshot file, replacing the old one only once the new one is complete.
+     */
+    public static void write(File file, Collection<Record> records, Logger logger) {
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            logger.warning("[DefinitionSnapshot] Could not create " + parent.getAbsolutePath());
+            return;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(records.size());
+            for (Record record : records) {
+                writeString(out, record.key);
+                writeString(out, record.gameType);
+                writeString(out, record.fileName);
+                out.writeLong(record.stamp.lastModified);
+                out.writeLong(record.stamp.length);
+                out.writeLong(record.stamp.crc);
+                out.writeInt(record.tree.length);
+                out.write(record.tree);
+            }
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "[DefinitionSnapshot] Could not encode snapshot.", e);
+            return;
+        }
+        File temp = new File(file.getPath() + ".tmp");
+        try {
+            Files.write(temp.toPath(), bytes.toByteArray());
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "[DefinitionSnapshot] Could not write " + file.getAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Encodes a parsed YAML tree.
+     * @return The encoded tree, or null if it holds values the snapshot can't represent.
+     */
+    public static byte[] encode(ConfigurationSection section) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeSection(out, section);
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Rebuilds a YAML tree encoded by {@link #encode}.
+     */
+    public static MemoryConfiguration decode(byte[] tree) throws IOException {
+        MemoryConfiguration config = new MemoryConfiguration();
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(tree))) {
+            readSection(in, config);
+        }
+        return config;
+    }
+
+    private static void writeSection(DataOutputStream out, ConfigurationSection section) throws IOException {
+        Map<String, Object> values = section.getValues(false);
+        out.writeInt(values.size());
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            writeString(out, entry.getKey());
+            writeValue(out, entry.getValue());
+        }
+    }
+
+    private static void readSection(DataInputStream in, ConfigurationSection target) throws IOException {
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            String key = readString(in);
+            byte tag = in.readByte();
+            if (tag == TAG_SECTION) {
+                readSection(in, target.createSection(key));
+            } else {
+                target.set(key, readValue(in, tag));
+            }
+        }
+    }
+
+    private static Object readValue(DataInputStream in, byte tag) throws IOException {
+        switch (tag) {
+            case TAG_NULL: return null;
+            case TAG_STRING: return readString(in);
+            case TAG_INT: return in.readInt();
+            case TAG_LONG: return in.readLong();
+            case TAG_DOUBLE: return in.readDouble();
+            case TAG_FLOAT: return in.readFloat();
+            case TAG_BOOLEAN: return in.readBoolean();
+            case TAG_LIST: {
+                int size = in.readInt();
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) list.add(readValue(in, in.readByte()));
+                return list;
+            }
+            case TAG_MAP:
+            case TAG_SECTION: { // Sections only appear as section values; anywhere else they are plain maps
+                int size = in.readInt();
+                Map<String, Object> map = new LinkedHashMap<>();
+                for (int i = 0; i < size; i++) {
+                    String key = readString(in);
+                    map.put(key, readValue(in, in.readByte()));
+                }
+                return map;
+            }
+            default:
+                throw new IOException("Unknown value tag " + tag);
+        }
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(TAG_NULL);
+        } else if (value instanceof ConfigurationSection) {
+            out.writeByte(TAG_SECTION);
+            writeSection(out, (ConfigurationSection) value);
+        } else if (value instanceof String) {
+            out.writeByte(TAG_STRING);
+            writeString(out, (String) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(TAG_INT);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(TAG_LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            out.writeByte(TAG_DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            out.writeByte(TAG_FLOAT);
+            out.writeFloat((Float) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(TAG_BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            out.writeByte(TAG_LIST);
+            out.writeInt(list.size());
+            for (Object element : list) writeValue(out, element);
+        } else if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            out.writeByte(TAG_MAP);
+            out.writeInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeString(out, String.valueOf(entry.getKey()));
+                writeValue(out, entry.getValue());
+            }
+        } else {
+            throw new IllegalArgumentException("Unsupported value type " + value.getClass().getName());
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] utf8 = new byte[in.readInt()];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
@@ -15,16 +15,18 @@ public class GameDefinition {
     private final String gameType; // "KOTH", "INFECTION", "CTS"
     private final String displayName;
     private final Map<String, Object> gameRules; // e.g., duration, min_players, captures_to_win
+    private final GameRules rules; // gameRules compiled for this game type
     private final List<String> compatibleArenaTags; // Arenas must have at least one of these tags
     private final ConfigurationSection votingConfig; // Raw section for voting setup
 
     public GameDefinition(String definitionId, String gameType, String displayName,
-                          Map<String, Object> gameRules, List<String> compatibleArenaTags,
+                          Map<String, Object> gameRules, GameRules rules, List<String> compatibleArenaTags,
                           ConfigurationSection votingConfig) {
         this.definitionId = definitionId;
         this.gameType = gameType;
         this.displayName = displayName;
         this.gameRules = new HashMap<>(gameRules);
+        this.rules = rules;
         this.compatibleArenaTags = new ArrayList<>(compatibleArenaTags);
         this.votingConfig = votingConfig; // Store the whole section
     }
@@ -34,6 +36,9 @@ public class GameDefinition {
     public String getGameType() { return gameType; }
     public String getDisplayName() { return displayName; }
     public Map<String, Object> getGameRules() { return Collections.unmodifiableMap(gameRules); }
+    /** The typed rules of this definition's game type (e.g. KoTHRules), compiled when it was loaded. */
+    public GameRules getRules() { return rules; }
+    /** Raw rule lookup, for keys without a typed rule. Prefer {@link #getRules()}. */
     @SuppressWarnings("unchecked")
     public <T> T getRule(String key, T defaultValue) {
         return (T) gameRules.getOrDefault(key, defaultValue);
@@ -70,6 +75,9 @@ public class GameDefinition {
         List<String> compatibleArenaTags = config.getStringList("compatible_arena_tags");
         ConfigurationSection votingConfigSection = config.getConfigurationSection("default_voting_hooks"); // Or just "voting"
 
-        return new GameDefinition(definitionId, gameType, displayName, rulesMap, compatibleArenaTags, votingConfigSection);
+        // Validated and converted once here, so instances never look up or cast raw rule values
+        GameRules rules = GameRules.compile(gameType, definitionId, displayName, rulesMap, logger);
+
+        return new GameDefinition(definitionId, gameType, displayName, rulesMap, rules, compatibleArenaTags, votingConfigSection);
     }
 }
@@ -0,0 +1,91 @@
+package io.mewb.andromedaGames.game;
+
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Projectile;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.player.PlayerDropItemEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+/**
+ * The single Bukkit listener for gameplay events. Each event is resolved to the instance its player is in
+ * through the GameManager's player index and forwarded only to that instance's callback, so the cost of an
+ * event does not grow with the number of running matches. Events of players outside any instance stop at
+ * the lookup.
+ */
+public class GameEventRouter implements Listener {
+
+    private final GameManager gameManager;
+
+    public GameEventRouter(GameManager gameManager) {
+        this.gameManager = gameManager;
+    }
+
+    @EventHandler(ignoreCancelled = true)
+    public void onEntityDamage(EntityDamageEvent event) { // Also receives EntityDamageByEntityEvent
+        if (!(event.getEntity() instanceof Player)) return;
+        Player damaged = (Player) event.getEntity();
+        GameInstance instance = gameManager.getPlayerGameInstance(damaged).orElse(null);
+        if (instance == null) return;
+
+        Player damager = event instanceof EntityDamageByEntityEvent ? getResponsiblePlayer(((EntityDamageByEntityEvent) event).getDamager()) : null;
+        if (damager != null) {
+            if (gameManager.getPlayerGameInstance(damager).orElse(null) == instance) {
+                instance.onPlayerDamageByPlayer((EntityDamageByEntityEvent) event, damaged, damager);
+                return;
+            }
+        }
+        instance.onPlayerDamage(event, damaged);
+    }
+
+    /**
+     * The player behind a damaging entity: the player themselves, or the shooter of a projectile.
+     */
+    private static Player getResponsiblePlayer(Entity damager) {
+        if (damager instanceof Player) return (Player) damager;
+        if (damager instanceof Projectile && ((Projectile) damager).getShooter() instanceof Player) {
+            return (Player) ((Projectile) damager).getShooter();
+        }
+        return null;
+    }
+
+    @EventHandler(ignoreCancelled = true)
+    public void onPlayerMove(PlayerMoveEvent event) {
+        if (!event.hasChangedPosition()) return; // Head rotation only
+        gameManager.getPlayerGameInstance(event.getPlayer()).ifPresent(instance -> instance.onPlayerMove(event));
+    }
+
+    @EventHandler
+    public void onPlayerInteract(PlayerInteractEvent event) {
+        gameManager.getPlayerGameInstance(event.getPlayer()).ifPresent(instance -> instance.onPlayerInteract(event));
+    }
+
+    @EventHandler(ignoreCancelled = true)
+    public void onPlayerDropItem(PlayerDropItemEvent event) {
+        gameManager.getPlayerGameInstance(event.getPlayer()).ifPresent(instance -> instance.onPlayerDropItem(event));
+    }
+
+    @EventHandler(ignoreCancelled = true)
+    public void onBlockBreak(BlockBreakEvent event) {
+        gameManager.getPlayerGameInstance(event.getPlayer()).ifPresent(instance -> instance.onPlayerBlockBreak(event));
+    }
+
+    @EventHandler(ignoreCancelled = true)
+    public void onBlockPlace(BlockPlaceEvent event) {
+        gameManager.getPlayerGameInstance(event.getPlayer()).ifPresent(instance -> instance.onPlayerBlockPlace(event));
+    }
+
+    // LOW so the instance sees the quit before GameManager (NORMAL) removes the player from it
+    @EventHandler(priority = EventPriority.LOW)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        gameManager.getPlayerGameInstance(event.getPlayer()).ifPresent(instance -> instance.onPlayerQuit(event));
+    }
+}
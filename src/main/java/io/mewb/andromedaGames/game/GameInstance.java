@@ -2,15 +2,27 @@ package io.mewb.andromedaGames.game;
 
 import io.mewb.andromedaGames.AndromedaGames;
 import io.mewb.andromedaGames.arena.ArenaDefinition;
+import io.mewb.andromedaGames.perf.TickProfiler;
 import io.mewb.andromedaGames.player.PlayerStateManager;
-import io.mewb.andromedaGames.utils.GameScoreboard;
+import io.mewb.andromedaGames.utils.InstanceScoreboard;
 import io.mewb.andromedaGames.utils.RelativeLocation;
 import io.mewb.andromedaGames.voting.VoteManager;
 import io.mewb.andromedaGames.voting.VotingHook;
 
+import org.bukkit.GameMode;
 import org.bukkit.Location;
+import org.bukkit.Material;
 import org.bukkit.World;
+import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.player.PlayerDropItemEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -34,7 +46,9 @@ public abstract class GameInstance {
     protected GameState gameState;
     protected Set<UUID> playersInGame; // Players currently in this instance
     protected final PlayerStateManager playerStateManager;
-    protected final Map<UUID, GameScoreboard> playerScoreboards = new HashMap<>();
+    protected final TickProfiler profiler;
+    protected final InstanceScoreboard scoreboard; // Shared sidebar and nametag teams of this instance
+    private boolean awaitingArrivals = false; // Start teleports still running; countdown ticks wait for them
 
     // Voting related fields - subclasses will initialize VoteManager if they support voting
     protected VoteManager voteManager;
@@ -62,6 +76,8 @@ public abstract class GameInstance {
             this.instanceBaseWorldLocation = instanceBaseWorldLocation.clone(); // Clone for safety
         }
         this.playerStateManager = plugin.getPlayerStateManager();
+        this.profiler = plugin.getTickProfiler();
+        this.scoreboard = new InstanceScoreboard(definition.getRules().getScoreboardTitle());
         this.playersInGame = new HashSet<>();
         this.availableVotingHooks = new ArrayList<>(); // Initialize
         this.gameState = GameState.UNINITIALIZED; // Instances start uninitialized until fully set up
@@ -132,9 +148,111 @@ public abstract class GameInstance {
     public abstract void stop(boolean force); // Stop the game instance
     public abstract boolean addPlayer(Player player); // Add player to this instance
     public abstract void removePlayer(Player player); // Remove player from this instance
-    protected abstract void gameTick(); // Logic for each active game tick
+    protected abstract void gameTick(); // Logic for each active game tick (called every getTickPeriod(ACTIVE) ticks)
     public abstract void broadcastToGamePlayers(String message); // Broadcast to players in this instance
 
+    /**
+     * Logic for each countdown tick while STARTING. Only called if getTickPeriod(STARTING) is > 0, and not
+     * before the players sent by {@link #teleportForStart} have arrived.
+     */
+    protected void countdownTick() {}
+
+    /**
+     * Sends players to their start positions through the TeleportService, spread over ticks, and runs
+     * onArrived once everyone has arrived if the instance is still STARTING. Players who leave meanwhile are skipped.
+     * Countdown ticks wait until then.
+     */
+    protected void teleportForStart(Map<Player, Location> destinations, Runnable onArrived) {
+        awaitingArrivals = true;
+        plugin.getGameManager().getTeleportService().teleportAll(destinations, player -> isPlayerInGame(player.getUniqueId())).whenComplete((arrived, error) -> {
+            awaitingArrivals = false;
+            if (gameState == GameState.STARTING) onArrived.run();
+        });
+    }
+
+    /**
+     * Clears the roster for the game with {@link PlayerStateManager#prepareAll} (spread over ticks), then sends
+     * them to their start positions with {@link #teleportForStart}. Countdown ticks wait for both.
+     */
+    protected void prepareAndTeleportForStart(List<Player> players, GameMode gameMode, Map<Player, Location> destinations, Runnable onArrived) {
+        awaitingArrivals = true;
+        playerStateManager.prepareAll(players, gameMode, player -> isPlayerInGame(player.getUniqueId())).whenComplete((prepared, error) -> {
+            if (gameState == GameState.STARTING) teleportForStart(destinations, onArrived);
+            else awaitingArrivals = false;
+        });
+    }
+
+    /**
+     * Logic for each tick while ENDING (e.g. post-game effects). Only called if getTickPeriod(ENDING) is > 0.
+     */
+    protected void endingTick() {}
+
+    /**
+     * How often, in server ticks, the InstanceScheduler should tick this instance during the given phase.
+     * Return 0 for phases that don't need ticking. Subclasses override to declare their own rates;
+     * the default ticks once per second while ACTIVE only.
+     * @param phase The game state the instance is currently in.
+     * @return The tick period for that phase, or 0 to skip it.
+     */
+    public int getTickPeriod(GameState phase) {
+        return phase == GameState.ACTIVE ? 20 : 0;
+    }
+
+    /**
+     * Most players this instance accepts. Read from the definition, so it is valid before setupInstance().
+     */
+    public int getMaxPlayers() {
+        return definition.getRules().getMaxPlayers();
+    }
+
+    /**
+     * Players needed before the match can start (used by matchmaking to auto-start).
+     */
+    public int getMinPlayersToStart() {
+        return definition.getRules().getMinPlayersToStart();
+    }
+
+    /**
+     * Ends the current match: marks the instance FINISHED and hands it to the GameManager, which resets the
+     * arena (RESETTING) and returns this same instance, with its arena slot and resolved locations, to WAITING.
+     * Subclasses call this at the end of stop(), once all players have been sent out.
+     */
+    protected void finishMatch() {
+        setGameState(GameState.FINISHED);
+        plugin.getGameManager().recycleInstance(this);
+    }
+
+    /**
+     * Called by the GameManager once the arena has been reset, just before the instance goes back to WAITING.
+     * Resolved locations, voting configuration and hooks are kept across matches; override to clear any
+     * per-match state that start() does not reset itself.
+     */
+    public void prepareNextMatch() {}
+
+    /**
+     * Changes a block inside this instance's arena, recording its previous state so the post-match reset restores it.
+     * Game code should use this rather than Block#setType for arena blocks it changes itself.
+     */
+    protected void setArenaBlockType(Block block, Material type) {
+        if (plugin.getArenaManager() != null) plugin.getArenaManager().recordBlockChange(block);
+        block.setType(type);
+    }
+
+    // --- Event callbacks, forwarded by GameEventRouter only for players in this instance ---
+
+    /** A player of this instance was damaged by a player of this instance, directly or with a projectile (then the event's damager is the projectile). */
+    public void onPlayerDamageByPlayer(EntityDamageByEntityEvent event, Player damaged, Player damager) {}
+    /** A player of this instance took any other damage. */
+    public void onPlayerDamage(EntityDamageEvent event, Player player) {}
+    /** A player of this instance moved to a new position (rotation-only moves are not forwarded). */
+    public void onPlayerMove(PlayerMoveEvent event) {}
+    public void onPlayerInteract(PlayerInteractEvent event) {}
+    public void onPlayerDropItem(PlayerDropItemEvent event) {}
+    public void onPlayerBlockBreak(BlockBreakEvent event) {}
+    public void onPlayerBlockPlace(BlockPlaceEvent event) {}
+    /** A player of this instance is quitting; called before the GameManager removes them via removePlayer(). */
+    public void onPlayerQuit(PlayerQuitEvent event) {}
+
     public World getGameWorld() { // Common implementation
         return instanceBaseWorldLocation.getWorld();
     }
@@ -168,6 +286,8 @@ public abstract class GameInstance {
                     ", Def:" + (definition != null ? definition.getDefinitionId() : "UNKNOWN") +
                     "] State: " + this.gameState + " -> " + newGameState);
             this.gameState = newGameState;
+            GameManager gameManager = plugin.getGameManager();
+            if (gameManager != null) gameManager.getInstanceScheduler().phaseChanged(this); // Reschedule for the new phase's tick period
         }
     }
 
@@ -176,16 +296,21 @@ public abstract class GameInstance {
         return playersInGame.contains(playerUuid);
     }
 
-    public final void tick() { // Called by GameManager's main scheduler if this game is active
-        if (gameState == GameState.ACTIVE) {
-            try {
-                gameTick();
-            } catch (Exception e) {
-                this.logger.log(Level.SEVERE, "Exception during gameTick for instance " + (instanceId != null ? instanceId.toString().substring(0,8) : "UNKNOWN"), e);
-                // Consider error handling, e.g., stopping the instance if ticks consistently fail
-                // this.stop(true);
-                // this.setGameState(GameState.DISABLED);
+    public final void tick() { // Called by GameManager's InstanceScheduler at the period declared for the current phase
+        long profileStart = profiler.start();
+        try {
+            switch (gameState) {
+                case STARTING: if (!awaitingArrivals) countdownTick(); break;
+                case ACTIVE: gameTick(); break;
+                case ENDING: endingTick(); break;
+                default: break;
             }
+        } catch (Exception e) {
+            this.logger.log(Level.SEVERE, "Exception during " + gameState + " tick for instance " + (instanceId != null ? instanceId.toString().substring(0,8) : "UNKNOWN"), e);
+            // Consider error handling, e.g., stopping the instance if ticks consistently fail
+            // this.stop(true);
+            // this.setGameState(GameState.DISABLED);
         }
+        profiler.record(TickProfiler.Section.GAME_TICK, this, profileStart);
     }
 }
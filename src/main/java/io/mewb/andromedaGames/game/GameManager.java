@@ -2,9 +2,13 @@ package io.mewb.andromedaGames.game;
 
 import io.mewb.andromedaGames.AndromedaGames;
 import io.mewb.andromedaGames.arena.ArenaDefinition;
+import io.mewb.andromedaGames.arena.ArenaFootprint;
 import io.mewb.andromedaGames.arena.ArenaManager; // Required for schematic operations
+import io.mewb.andromedaGames.arena.ArenaProvisioning;
+import io.mewb.andromedaGames.arena.ArenaSlot;
 import io.mewb.andromedaGames.capturetheshard.CaptureTheShardGame;
 import io.mewb.andromedaGames.config.ConfigManager;
+import io.mewb.andromedaGames.config.DefinitionFileWatcher;
 import io.mewb.andromedaGames.infection.InfectionGame;
 import io.mewb.andromedaGames.koth.KoTHGame;
 import io.mewb.andromedaGames.utils.RelativeLocation; // Required for setup locations
@@ -26,7 +30,11 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 import java.util.logging.Logger;
 
 public class GameManager implements Listener {
@@ -35,12 +43,30 @@ public class GameManager implements Listener {
     private final Logger logger;
     private final ConfigManager configManager;
     private final ArenaManager arenaManager; // Added for schematic pasting/clearing
+    private final InstanceScheduler instanceScheduler; // Owns all instance ticking
+    private final WarmInstancePool warmInstancePool; // Keeps ready WAITING instances per definition (warm_instances rule)
+    private final MatchmakingService matchmakingService; // Join queues, batched assignment and demand-driven creation
+    private final DefinitionFileWatcher definitionFileWatcher; // Hot reload of single edited definition/schematic files
+    private final InstanceWorldPool instanceWorldPool; // Which world each new instance goes into
+    private final TeleportService teleportService; // Staggered async teleports for match starts and hooks
 
-    private final Map<String, ArenaDefinition> loadedArenaDefinitions = new HashMap<>();
-    private final Map<String, GameDefinition> loadedGameDefinitions = new HashMap<>();
+    // Replaced as a whole on reload; running instances keep the definition objects they were created with
+    private volatile Map<String, ArenaDefinition> loadedArenaDefinitions = Collections.emptyMap();
+    private volatile Map<String, GameDefinition> loadedGameDefinitions = Collections.emptyMap();
 
     private final Map<UUID, GameInstance> runningGameInstances = new HashMap<>();
-    private final Map<UUID, UUID> playerCurrentInstance = new HashMap<>();
+    private final PlayerInstanceRegistry playerRegistry = new PlayerInstanceRegistry(); // Player <-> instance, kept in both directions
+    private final Map<UUID, ArenaSlot> instanceArenaSlots = new HashMap<>(); // Region reserved for each instance's arena
+    private final Map<UUID, String> instanceTemplateWorlds = new HashMap<>(); // Own world of each template_world instance
+    // Instances not registered yet per game definition (lower-case ID): template world copies, schematic footprints being read
+    // Concurrent: an async stage that finishes while the plugin is disabling settles them off the main thread
+    private final Map<String, Integer> provisioningInstances = new ConcurrentHashMap<>();
+    // Instances whose arena is still being pasted
+    private final Map<UUID, CompletableFuture<GameInstance>> preparingInstances = new ConcurrentHashMap<>();
+    // First compatible arena per game definition (lower-case ID), cleared when definitions are reloaded
+    private final Map<String, Optional<ArenaDefinition>> compatibleArenaCache = new HashMap<>();
+    // Finished instances whose arena is being reset before they go back to WAITING
+    private final Map<UUID, CompletableFuture<Boolean>> resettingInstances = new HashMap<>();
 
     // --- Arena Setup Mode State Variables ---
     private Player adminInSetupMode = null;
@@ -61,54 +87,65 @@ public class GameManager implements Listener {
         this.logger = plugin.getLogger();
         this.configManager = plugin.getConfigManager();
         this.arenaManager = plugin.getArenaManager(); // Get ArenaManager instance
+        this.instanceScheduler = new InstanceScheduler(plugin, configManager.getSchedulerTickBudgetMillis());
+        this.warmInstancePool = new WarmInstancePool(plugin, this, configManager.getWarmPoolCheckIntervalTicks(),
+                configManager.getWarmPoolMaxMspt(), configManager.getWarmPoolIdleShrinkSeconds());
+        this.matchmakingService = new MatchmakingService(plugin, this, configManager.getMatchmakingBatchIntervalTicks(), configManager.isMatchmakingAutoStart());
+        this.definitionFileWatcher = new DefinitionFileWatcher(plugin, this, configManager.getHotReloadDebounceMillis());
+        this.teleportService = new TeleportService(plugin, configManager.getTeleportMaxPerTick());
+        this.instanceWorldPool = new InstanceWorldPool(plugin, configManager.isWorldShardingEnabled(), configManager.getWorldShardingWorldPrefix(),
+                configManager.getWorldShardingMaxWorlds(), configManager.getWorldShardingMaxInstancesPerWorld(), configManager.getWorldShardingEmptyUnloadSeconds());
         logger.info("[GM_DEBUG] GameManager instance CREATED.");
     }
 
     public void initialize() {
         plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getServer().getPluginManager().registerEvents(new GameEventRouter(this), plugin); // Forwards gameplay events to the player's instance
         logger.info("GameManager initialized and registered as event listener.");
         loadAllDefinitionsAndArenas();
 
-        plugin.getServer().getScheduler().runTaskTimer(plugin, () -> {
-            for (GameInstance instance : new ArrayList<>(runningGameInstances.values())) {
-                if (instance.getGameState() == GameState.ACTIVE) {
-                    try {
-                        instance.tick();
-                    } catch (Exception e) {
-                        logger.severe("Error during game tick for instance " + instance.getInstanceId() + ": " + e.getMessage());
-                        e.printStackTrace();
-                    }
-                }
-            }
-        }, 0L, 1L);
+        instanceScheduler.start();
+        instanceWorldPool.start();
+        matchmakingService.start();
+        if (configManager.isWarmPoolEnabled()) {
+            warmInstancePool.start();
+        }
+        if (configManager.isHotReloadEnabled()) {
+            definitionFileWatcher.start();
+        }
     }
 
+    /**
+     * Loads (or reloads) all arena and game definitions without stopping running matches.
+     * ConfigManager only re-parses files that changed; the new set is then published in one step for
+     * instances created from now on. Running instances keep their existing definitions. Idle instances of
+     * changed or removed definitions are ended (the warm pool refills them from the new definition), and busy
+     * ones are ended instead of recycled once their current match finishes.
+     */
     public void loadAllDefinitionsAndArenas() {
-        // ... (existing code for loading definitions, unchanged) ...
+        long startNanos = System.nanoTime();
         logger.info("Loading all arena and game definitions... GameManager instance: " + this.hashCode());
-        if (!runningGameInstances.isEmpty()) {
-            logger.info("Stopping all running game instances for definition reload...");
-            for (GameInstance instance : new ArrayList<>(runningGameInstances.values())) {
-                logger.info("[GM_DEBUG] Stopping game instance " + instance.getInstanceId() + " during reload.");
-                endGameInstance(instance.getInstanceId());
-            }
-            playerCurrentInstance.clear();
-            logger.info("[GM_DEBUG] runningGameInstances and playerCurrentInstance maps cleared after stopping all instances.");
-        }
-        loadedArenaDefinitions.clear();
-        loadedGameDefinitions.clear();
-
-        loadedArenaDefinitions.putAll(configManager.loadAllArenaDefinitions());
-        logger.info("Loaded " + loadedArenaDefinitions.size() + " arena definitions.");
 
-        String[] gameTypesToLoad = {"koth", "infection", "capturetheshard", "anvilrain", "colorcollapse", "chickenspleef"};
-        for (String gameType : gameTypesToLoad) {
-            Map<String, GameDefinition> definitions = configManager.loadAllGameDefinitionsOfType(gameType);
-            for (GameDefinition def : definitions.values()) {
-                loadedGameDefinitions.put(def.getDefinitionId().toLowerCase(), def);
-            }
+        configManager.loadAllDefinitions();
+        Map<String, ArenaDefinition> arenas = new HashMap<>(configManager.getLoadedArenaDefinitions());
+        Map<String, GameDefinition> games = new HashMap<>();
+        for (GameDefinition def : configManager.getLoadedGameDefinitions().values()) {
+            games.put(def.getDefinitionId().toLowerCase(), def);
+        }
+        int changedArenas = countChanged(loadedArenaDefinitions, arenas);
+        int changedGames = countChanged(loadedGameDefinitions, games);
+
+        loadedArenaDefinitions = Collections.unmodifiableMap(arenas);
+        loadedGameDefinitions = Collections.unmodifiableMap(games);
+        compatibleArenaCache.clear();
+        if (arenaManager != null) arenaManager.prefetchArenaFootprints(arenas.values()); // Read off the main thread, ready for the first instance
+        logger.info("Loaded " + loadedArenaDefinitions.size() + " arena definitions (" + changedArenas + " changed) and "
+                + loadedGameDefinitions.size() + " game definitions (" + changedGames + " changed) in "
+                + String.format("%.1f", (System.nanoTime() - startNanos) / 1_000_000.0) + "ms.");
+
+        if (changedArenas > 0 || changedGames > 0) {
+            retireOutdatedIdleInstances();
         }
-        logger.info("Loaded " + loadedGameDefinitions.size() + " total game definitions.");
 
         if (loadedArenaDefinitions.isEmpty()) {
             logger.warning("No arena definitions were loaded. Games may not be able to start without arenas.");
@@ -118,6 +155,62 @@ public class GameManager implements Listener {
         }
     }
 
+    /**
+     * Publishes a single reloaded arena definition for new instances, or removes it if null. Main thread only.
+     */
+    public void publishArenaDefinition(String arenaId, ArenaDefinition arena) {
+        Map<String, ArenaDefinition> arenas = new HashMap<>(loadedArenaDefinitions);
+        if (arena != null) arenas.put(arenaId.toLowerCase(), arena); else arenas.remove(arenaId.toLowerCase());
+        loadedArenaDefinitions = Collections.unmodifiableMap(arenas);
+        compatibleArenaCache.clear();
+        if (arena != null && arenaManager != null) arenaManager.prefetchArenaFootprints(Collections.singletonList(arena));
+        logger.info("Arena definition '" + arenaId + "' " + (arena != null ? "reloaded" : "removed") + ". Running matches keep their version.");
+        retireOutdatedIdleInstances();
+    }
+
+    /**
+     * Publishes a single reloaded game definition for new instances, or removes it if null. Main thread only.
+     */
+    public void publishGameDefinition(String definitionId, GameDefinition definition) {
+        Map<String, GameDefinition> games = new HashMap<>(loadedGameDefinitions);
+        if (definition != null) games.put(definitionId.toLowerCase(), definition); else games.remove(definitionId.toLowerCase());
+        loadedGameDefinitions = Collections.unmodifiableMap(games);
+        compatibleArenaCache.clear();
+        logger.info("Game definition '" + definitionId + "' " + (definition != null ? "reloaded" : "removed") + ". Running matches keep their version.");
+        retireOutdatedIdleInstances();
+    }
+
+    /**
+     * Counts keys added, removed or mapped to a different object between two definition maps.
+     */
+    private static <T> int countChanged(Map<String, T> previous, Map<String, T> current) {
+        int changed = 0;
+        for (Map.Entry<String, T> entry : current.entrySet()) {
+            if (previous.get(entry.getKey()) != entry.getValue()) changed++;
+        }
+        for (String key : previous.keySet()) {
+            if (!current.containsKey(key)) changed++;
+        }
+        return changed;
+    }
+
+    /**
+     * Whether an instance still runs on the currently loaded version of its game definition and arena.
+     */
+    public boolean isOnCurrentDefinitions(GameInstance instance) {
+        return loadedGameDefinitions.get(instance.getDefinition().getDefinitionId().toLowerCase()) == instance.getDefinition()
+                && loadedArenaDefinitions.get(instance.getArena().getArenaId().toLowerCase()) == instance.getArena();
+    }
+
+    private void retireOutdatedIdleInstances() {
+        for (GameInstance instance : new ArrayList<>(runningGameInstances.values())) {
+            if (instance.getGameState() == GameState.WAITING && instance.getPlayerCount() == 0 && !isOnCurrentDefinitions(instance)) {
+                logger.info("Ending idle instance " + instance.getInstanceId().toString().substring(0,8) + " (Def: " + instance.getDefinition().getDefinitionId() + "): its definition or arena was reloaded.");
+                endGameInstance(instance.getInstanceId());
+            }
+        }
+    }
+
     // ... (existing getters for definitions, instances, etc. - unchanged) ...
     public Optional<GameDefinition> getGameDefinition(String definitionId) {
         return Optional.ofNullable(loadedGameDefinitions.get(definitionId.toLowerCase()));
@@ -127,6 +220,17 @@ public class GameManager implements Listener {
         return Optional.ofNullable(loadedArenaDefinitions.get(arenaId.toLowerCase()));
     }
 
+    /**
+     * Gets the arena new instances of a definition are created on: the first arena sharing one of its
+     * compatible tags (any arena if the definition lists none). Cached until definitions are reloaded.
+     */
+    public Optional<ArenaDefinition> getCompatibleArena(GameDefinition definition) {
+        return compatibleArenaCache.computeIfAbsent(definition.getDefinitionId().toLowerCase(), k ->
+                loadedArenaDefinitions.values().stream()
+                        .filter(ad -> ad.getTags().stream().anyMatch(tag -> definition.getCompatibleArenaTags().contains(tag) || definition.getCompatibleArenaTags().isEmpty()))
+                        .findFirst());
+    }
+
     public Collection<GameDefinition> getAllGameDefinitions() {
         return Collections.unmodifiableCollection(loadedGameDefinitions.values());
     }
@@ -143,116 +247,368 @@ public class GameManager implements Listener {
         return Collections.unmodifiableCollection(runningGameInstances.values());
     }
 
+    public MatchmakingService getMatchmakingService() {
+        return matchmakingService;
+    }
 
-    public Optional<GameInstance> createGameInstance(String definitionId, String arenaIdToUse) {
-        // ... (existing code - unchanged, but ensure ArenaManager is used for pasting) ...
+    public TeleportService getTeleportService() {
+        return teleportService;
+    }
+
+    public InstanceScheduler getInstanceScheduler() {
+        return instanceScheduler;
+    }
+
+
+    /**
+     * Creates a new game instance without blocking the main thread.
+     * The schematic's footprint is read off the main thread first (unless already cached); the arena slot is then
+     * reserved and the instance registered in the PREPARING state. The schematic is pasted off the main thread, and
+     * setupInstance() runs back on the main thread once the paste is done, flipping the instance to WAITING.
+     * The returned future completes on the main thread.
+     * @param definitionId The game definition to instantiate.
+     * @param arenaIdToUse The arena to paste for this instance.
+     * @return A future completed with the ready instance, or completed exceptionally if creation failed.
+     */
+    public CompletableFuture<GameInstance> createGameInstance(String definitionId, String arenaIdToUse) {
         logger.info("Attempting to create game instance from definition '" + definitionId + "' using arena '" + arenaIdToUse + "'.");
         Optional<GameDefinition> defOpt = getGameDefinition(definitionId);
         Optional<ArenaDefinition> arenaDefOpt = getArenaDefinition(arenaIdToUse);
 
         if (defOpt.isEmpty()) {
             logger.severe("Cannot create game instance: GameDefinition '" + definitionId + "' not found.");
-            return Optional.empty();
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Game definition '" + definitionId + "' not found."));
         }
         if (arenaDefOpt.isEmpty()) {
             logger.severe("Cannot create game instance: ArenaDefinition '" + arenaIdToUse + "' not found.");
-            return Optional.empty();
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Arena '" + arenaIdToUse + "' not found."));
         }
 
         GameDefinition definition = defOpt.get();
         ArenaDefinition arena = arenaDefOpt.get();
 
-        Location instanceBaseWorldLocation;
-        String worldName = definition.getRule("world", "world").toString();
-        World world = Bukkit.getWorld(worldName);
+        if (arenaManager == null) {
+            logger.severe("Cannot create game instance: ArenaManager is not available to allocate an arena region.");
+            return CompletableFuture.failedFuture(new IllegalStateException("ArenaManager is not available."));
+        }
+        if (arena.getProvisioning() == ArenaProvisioning.TEMPLATE_WORLD) {
+            return createTemplateWorldInstance(definition, arena);
+        }
+        // Sizing the slot may mean reading and decoding the schematic, which never happens on the main thread
+        String definitionKey = definition.getDefinitionId().toLowerCase();
+        provisioningInstances.merge(definitionKey, 1, Integer::sum);
+        CompletableFuture<GameInstance> future = new CompletableFuture<>();
+        arenaManager.getArenaFootprintAsync(arena).whenComplete((footprint, error) -> {
+            // Completes on the main thread if the footprint was cached, otherwise on an async thread
+            Runnable reserve = () -> {
+                provisioningInstances.computeIfPresent(definitionKey, (k, count) -> count > 1 ? count - 1 : null);
+                if (footprint == null) {
+                    logger.severe("Cannot create game instance: Footprint of arena '" + arena.getArenaId() + "' could not be determined.");
+                    future.completeExceptionally(error != null ? error : new IllegalStateException("Arena footprint unavailable."));
+                    return;
+                }
+                createSchematicInstance(definition, arena, footprint, future);
+            };
+            if (plugin.getServer().isPrimaryThread()) reserve.run();
+            else if (plugin.isEnabled()) plugin.getServer().getScheduler().runTask(plugin, reserve);
+            else abandonProvisioning(definitionKey, future);
+        });
+        return future;
+    }
+
+    /**
+     * Reserves an arena slot sized to the footprint, registers the instance as PREPARING and starts the paste.
+     * Main thread only.
+     */
+    private void createSchematicInstance(GameDefinition definition, ArenaDefinition arena, ArenaFootprint footprint, CompletableFuture<GameInstance> future) {
+        String definitionId = definition.getDefinitionId();
+        World world = instanceWorldPool.acquireWorld(definition);
         if (world == null) {
-            logger.severe("Cannot create game instance: World '" + worldName + "' for definition '" + definitionId + "' not found or not loaded.");
-            return Optional.empty();
+            String reason = instanceWorldPool.isEnabled() ? "All instance worlds are full." : "World '" + definition.getRules().getWorld() + "' is not loaded.";
+            logger.severe("Cannot create game instance for definition '" + definitionId + "': " + reason);
+            future.completeExceptionally(new IllegalStateException(reason));
+            return;
         }
 
-        // TODO: Implement a robust arena allocation strategy.
-        double offsetX = runningGameInstances.size() * 512;
-        double offsetZ = 0;
-        instanceBaseWorldLocation = new Location(world, offsetX, 100, offsetZ);
-        logger.warning("USING TEMPORARY/PLACEHOLDER instanceBaseWorldLocation for " + definitionId + ": " + instanceBaseWorldLocation.toString());
+        // Reserve a non-overlapping region sized to the arena before anything is pasted
+        ArenaSlot slot = arenaManager.getSlotAllocator().allocate(world.getName(), footprint);
+        if (slot == null) {
+            logger.severe("Cannot create game instance: No free arena slot in world '" + world.getName() + "' for arena '" + arena.getArenaId() + "'.");
+            instanceWorldPool.releaseWorld(world.getName());
+            future.completeExceptionally(new IllegalStateException("No free arena slot."));
+            return;
+        }
+        Location instanceBaseWorldLocation = arenaManager.getSlotAllocator().getPasteLocation(slot, footprint, world);
+        logger.info("Allocated " + slot + " for " + definitionId + ". Arena base: " + instanceBaseWorldLocation.toVector());
 
-        if (arenaManager != null && arena.getSchematicFile() != null && !arena.getSchematicFile().isEmpty()) {
-            if (!arenaManager.pasteSchematic(arena.getSchematicFile(), instanceBaseWorldLocation)) { // Use ArenaManager
-                logger.severe("Failed to paste schematic '" + arena.getSchematicFile() + "' for new instance of " + definitionId + ". Instance creation failed.");
-                return Optional.empty();
-            }
-            logger.info("Schematic '" + arena.getSchematicFile() + "' pasted for instance of " + definitionId + " at " + instanceBaseWorldLocation.toString());
+        UUID instanceId = UUID.randomUUID();
+        GameInstance newInstance = newGameInstance(instanceId, definition, arena, instanceBaseWorldLocation);
+        if (newInstance == null) {
+            releaseArenaSlot(slot);
+            future.completeExceptionally(new IllegalArgumentException("Unknown game type '" + definition.getGameType() + "'."));
+            return;
+        }
+
+        // Visible (but not joinable) while the arena is prepared
+        newInstance.setGameState(GameState.PREPARING);
+        runningGameInstances.put(instanceId, newInstance);
+        instanceArenaSlots.put(instanceId, slot);
+        preparingInstances.put(instanceId, future);
+
+        if (arena.getSchematicFile() != null && !arena.getSchematicFile().isEmpty()) {
+            arenaManager.pasteSchematicAsync(arena.getSchematicFile(), instanceBaseWorldLocation)
+                    .whenComplete((pasted, error) -> {
+                        if (plugin.isEnabled()) {
+                            plugin.getServer().getScheduler().runTask(plugin,
+                                    () -> loadChunksAndFinishPreparation(newInstance, slot, footprint, pasted != null && pasted && error == null));
+                        } else {
+                            abandonPreparation(instanceId);
+                        }
+                    });
         } else {
-            logger.warning("ArenaManager not available, or no schematic file defined for arena '" + arena.getArenaId() + "'. Arena not pasted via schematic.");
+            logger.warning("No schematic file defined for arena '" + arena.getArenaId() + "'. Arena not pasted via schematic.");
+            loadChunksAndFinishPreparation(newInstance, slot, footprint, true);
         }
+    }
 
+    /**
+     * Creates an instance of a template_world arena: its world is copied from the template first, and the
+     * instance is registered once that world is loaded. Main thread only.
+     */
+    private CompletableFuture<GameInstance> createTemplateWorldInstance(GameDefinition definition, ArenaDefinition arena) {
         UUID instanceId = UUID.randomUUID();
-        GameInstance newInstance = null;
+        String definitionKey = definition.getDefinitionId().toLowerCase();
+        provisioningInstances.merge(definitionKey, 1, Integer::sum);
+        CompletableFuture<GameInstance> future = new CompletableFuture<>();
+        arenaManager.getTemplateWorlds().provision(arena, instanceId).whenComplete((world, error) -> {
+            // provision() completes on the main thread, or on an async thread if it failed there
+            Runnable finish = () -> {
+                provisioningInstances.computeIfPresent(definitionKey, (k, count) -> count > 1 ? count - 1 : null);
+                if (world == null) {
+                    future.completeExceptionally(error != null ? error : new IllegalStateException("Template world was not created."));
+                    return;
+                }
+                Location base = arena.getTemplateOrigin().toAbsolute(new Location(world, 0, 0, 0));
+                GameInstance newInstance = newGameInstance(instanceId, definition, arena, base);
+                if (newInstance == null) {
+                    arenaManager.getTemplateWorlds().discard(world.getName());
+                    future.completeExceptionally(new IllegalArgumentException("Unknown game type '" + definition.getGameType() + "'."));
+                    return;
+                }
+                newInstance.setGameState(GameState.PREPARING);
+                runningGameInstances.put(instanceId, newInstance);
+                instanceTemplateWorlds.put(instanceId, world.getName());
+                preparingInstances.put(instanceId, future);
+                loadChunksAndFinishPreparation(newInstance, null, null, true);
+            };
+            if (plugin.getServer().isPrimaryThread()) finish.run();
+            else if (plugin.isEnabled()) plugin.getServer().getScheduler().runTask(plugin, finish);
+            else abandonProvisioning(definitionKey, future);
+        });
+        return future;
+    }
 
+    /**
+     * Settles a provisioning step whose main-thread hop cannot run because the plugin has been disabled.
+     */
+    private void abandonProvisioning(String definitionKey, CompletableFuture<GameInstance> future) {
+        provisioningInstances.computeIfPresent(definitionKey, (k, count) -> count > 1 ? count - 1 : null);
+        future.completeExceptionally(new IllegalStateException("Plugin disabled while provisioning the instance."));
+    }
+
+    /**
+     * Fails a registered instance's preparation whose main-thread hop cannot run because the plugin has been disabled.
+     */
+    private void abandonPreparation(UUID instanceId) {
+        CompletableFuture<GameInstance> future = preparingInstances.remove(instanceId);
+        if (future != null) future.completeExceptionally(new IllegalStateException("Plugin disabled while preparing the instance."));
+    }
+
+    /**
+     * Number of instances of a definition still being provisioned before they are registered (template world
+     * copies, schematic footprints being read); they count as preparing instances.
+     */
+    public int getProvisioningCount(String definitionId) {
+        return provisioningInstances.getOrDefault(definitionId.toLowerCase(), 0);
+    }
+
+    private GameInstance newGameInstance(UUID instanceId, GameDefinition definition, ArenaDefinition arena, Location instanceBaseWorldLocation) {
         switch (definition.getGameType().toUpperCase()) {
             case "KOTH":
-                newInstance = new KoTHGame(plugin, instanceId, definition, arena, instanceBaseWorldLocation);
-                break;
+                return new KoTHGame(plugin, instanceId, definition, arena, instanceBaseWorldLocation);
             case "INFECTION":
-                newInstance = new InfectionGame(plugin, instanceId, definition, arena, instanceBaseWorldLocation);
-                break;
+                return new InfectionGame(plugin, instanceId, definition, arena, instanceBaseWorldLocation);
             case "CAPTURETHESHARD":
-                newInstance = new CaptureTheShardGame(plugin, instanceId, definition, arena, instanceBaseWorldLocation);
-                break;
+                return new CaptureTheShardGame(plugin, instanceId, definition, arena, instanceBaseWorldLocation);
             default:
-                logger.severe("Unknown game_type '" + definition.getGameType() + "' for definition '" + definitionId + "'. Cannot create instance.");
-                return Optional.empty();
+                logger.severe("Unknown game_type '" + definition.getGameType() + "' for definition '" + definition.getDefinitionId() + "'. Cannot create instance.");
+                return null;
         }
+    }
 
-        if (newInstance == null) {
-            logger.severe("Failed to instantiate GameInstance for type: " + definition.getGameType() + " (Definition: " + definitionId + ")");
-            if (arenaManager != null && arena.getSchematicFile() != null && !arena.getSchematicFile().isEmpty()) {
-                // arenaManager.clearPastedArena(instanceBaseWorldLocation, arena); // Cleanup pasted schematic
-                logger.warning("Schematic may have been pasted for failed instance " + instanceId + ". Cleanup needed.");
-            }
-            return Optional.empty();
+    /**
+     * Once the arena is in place, loads its chunks asynchronously and holds them for the instance's lifetime,
+     * then finishes preparation, so setup and the first joins never load chunks on the main thread.
+     */
+    private void loadChunksAndFinishPreparation(GameInstance instance, ArenaSlot slot, ArenaFootprint footprint, boolean pasted) {
+        UUID instanceId = instance.getInstanceId();
+        if (!pasted || arenaManager == null || runningGameInstances.get(instanceId) != instance) {
+            finishInstancePreparation(instance, slot, pasted);
+            return;
         }
+        arenaManager.holdArenaChunks(instanceId, instance.getArena(), instance.getInstanceBaseWorldLocation(), footprint)
+                .whenComplete((loaded, error) -> {
+                    if (error != null) {
+                        logger.warning("Could not pre-load all arena chunks for instance " + instanceId.toString().substring(0,8) + ": " + error.getMessage());
+                    }
+                    if (plugin.getServer().isPrimaryThread()) finishInstancePreparation(instance, slot, true);
+                    else if (plugin.isEnabled()) plugin.getServer().getScheduler().runTask(plugin, () -> finishInstancePreparation(instance, slot, true));
+                    else abandonPreparation(instanceId);
+                });
+    }
 
-        newInstance.setupInstance();
-
-        if (newInstance.getGameState() == GameState.DISABLED) {
-            logger.warning("Game instance for definition '" + definitionId + "' (Instance ID: " + instanceId.toString().substring(0,8) + ") was disabled during its setup.");
-            newInstance.cleanupInstance(); // Call its own cleanup
-            if (arenaManager != null && arena.getSchematicFile() != null && !arena.getSchematicFile().isEmpty()) {
-                // arenaManager.clearPastedArena(instanceBaseWorldLocation, arena); // Cleanup pasted schematic
-                logger.warning("Schematic may have been pasted for disabled instance " + instanceId + ". Cleanup needed.");
-            }
-            return Optional.empty();
+    /**
+     * Main-thread completion of createGameInstance once the arena paste has finished (or failed).
+     */
+    private void finishInstancePreparation(GameInstance instance, ArenaSlot slot, boolean pasted) {
+        UUID instanceId = instance.getInstanceId();
+        String shortId = instanceId.toString().substring(0,8);
+        CompletableFuture<GameInstance> future = preparingInstances.remove(instanceId);
+        if (future == null) return;
+
+        if (!runningGameInstances.containsKey(instanceId)) {
+            // Ended while its arena was still being pasted; the slot was held until now so nothing else pastes over it
+            logger.info("Instance " + shortId + " was ended while preparing. Releasing its arena slot.");
+            if (slot != null) releaseArenaSlot(slot);
+            future.completeExceptionally(new IllegalStateException("Instance was ended while preparing."));
+            return;
+        }
+        if (!pasted) {
+            logger.severe("Failed to paste schematic '" + instance.getArena().getSchematicFile() + "' for new instance of " + instance.getDefinition().getDefinitionId() + ". Instance creation failed.");
+            discardPreparedInstance(instance, slot);
+            future.completeExceptionally(new IllegalStateException("Schematic paste failed."));
+            return;
+        }
+        logger.info("Schematic '" + instance.getArena().getSchematicFile() + "' pasted for instance " + shortId + " at " + instance.getInstanceBaseWorldLocation().toVector());
+
+        if (slot != null) arenaManager.startJournal(instanceId, slot); // From here on, changes to the arena are recorded for the reset
+        instance.setupInstance();
+
+        if (instance.getGameState() == GameState.DISABLED) {
+            logger.warning("Game instance for definition '" + instance.getDefinition().getDefinitionId() + "' (Instance ID: " + shortId + ") was disabled during its setup.");
+            instance.cleanupInstance(); // Call its own cleanup
+            // The pasted arena is left in place; nothing was played on it and the slot's next paste overwrites it
+            discardPreparedInstance(instance, slot);
+            future.completeExceptionally(new IllegalStateException("Instance was disabled during setup."));
+            return;
         }
 
-        runningGameInstances.put(instanceId, newInstance);
-        logger.info("Successfully created and registered new game instance '" + instanceId.toString().substring(0,8) + "' (Def: " + definition.getDefinitionId() + ", Type: " + definition.getGameType() + ", Arena: " + arena.getArenaId() + "). State: " + newInstance.getGameState());
-        return Optional.of(newInstance);
+        instanceScheduler.register(instance);
+        logger.info("Successfully created and registered new game instance '" + shortId + "' (Def: " + instance.getDefinition().getDefinitionId() + ", Type: " + instance.getDefinition().getGameType() + ", Arena: " + instance.getArena().getArenaId() + "). State: " + instance.getGameState());
+        future.complete(instance);
+    }
+
+    /**
+     * Frees an instance's arena slot and its place in the slot's world.
+     */
+    private void releaseArenaSlot(ArenaSlot slot) {
+        arenaManager.getSlotAllocator().release(slot);
+        instanceWorldPool.releaseWorld(slot.getWorldName());
+    }
+
+    private void discardPreparedInstance(GameInstance instance, ArenaSlot slot) {
+        arenaManager.stopJournal(instance.getInstanceId());
+        arenaManager.releaseArenaChunks(instance.getInstanceId());
+        runningGameInstances.remove(instance.getInstanceId());
+        instanceArenaSlots.remove(instance.getInstanceId());
+        if (slot != null) releaseArenaSlot(slot);
+        String templateWorld = instanceTemplateWorlds.remove(instance.getInstanceId());
+        if (templateWorld != null) arenaManager.getTemplateWorlds().discard(templateWorld);
     }
 
 
+    /**
+     * Recycles an instance whose match has finished: resets its arena (only the journaled block changes) and,
+     * once that is done, returns the same instance object to WAITING on the same arena slot. Called by
+     * GameInstance.finishMatch(); ignored for instances that are being ended.
+     * @param instance The FINISHED instance.
+     */
+    public void recycleInstance(GameInstance instance) {
+        UUID instanceId = instance.getInstanceId();
+        String shortId = instanceId.toString().substring(0,8);
+        if (runningGameInstances.get(instanceId) != instance || instance.getGameState() != GameState.FINISHED) return;
+        playerRegistry.removeInstance(instanceId); // stop() has already sent everyone out
+        if (!isOnCurrentDefinitions(instance)) {
+            logger.info("Instance " + shortId + " finished on an outdated definition or arena. Ending it instead of reusing it.");
+            endGameInstance(instanceId);
+            return;
+        }
+        if (instanceTemplateWorlds.containsKey(instanceId)) {
+            // Its world is thrown away rather than reset; the warm pool provisions a fresh copy if one is needed
+            logger.info("Instance " + shortId + " finished in its own template world copy. Ending it instead of resetting it.");
+            endGameInstance(instanceId);
+            return;
+        }
+        if (arenaManager == null || !plugin.isEnabled()) {
+            instance.setGameState(GameState.WAITING);
+            return;
+        }
+
+        instance.setGameState(GameState.RESETTING);
+        CompletableFuture<Boolean> reset = arenaManager.resetArena(instanceId, instance.getArena(), instance.getInstanceBaseWorldLocation());
+        resettingInstances.put(instanceId, reset);
+        reset.whenComplete((ok, error) -> plugin.getServer().getScheduler().runTask(plugin, () -> {
+            resettingInstances.remove(instanceId);
+            if (runningGameInstances.get(instanceId) != instance) return; // Ended while resetting; endGameInstance freed the slot
+            if (error != null || ok == null || !ok) {
+                logger.warning("Arena reset failed for instance " + shortId + ". Ending it instead of reusing it.");
+                endGameInstance(instanceId); // No journal any more, so this falls back to a full re-paste
+                return;
+            }
+            ArenaSlot slot = instanceArenaSlots.get(instanceId);
+            if (slot != null) arenaManager.startJournal(instanceId, slot);
+            instance.prepareNextMatch();
+            instance.setGameState(GameState.WAITING);
+            logger.info("Instance " + shortId + " (Def: " + instance.getDefinition().getDefinitionId() + ") reset and ready for its next match.");
+        }));
+    }
+
     public void endGameInstance(UUID instanceId) {
         // ... (existing code - unchanged, but ensure ArenaManager is used for clearing) ...
         GameInstance instance = runningGameInstances.remove(instanceId);
+        instanceScheduler.unregister(instanceId);
         if (instance != null) {
             logger.info("Ending game instance: " + instanceId.toString().substring(0,8) + " (Def: " + instance.getDefinition().getDefinitionId() + ")");
             instance.stop(true);
             instance.cleanupInstance();
-
-            if (arenaManager != null && instance.getArena().getSchematicFile() != null && !instance.getArena().getSchematicFile().isEmpty()) {
-                // arenaManager.clearPastedArena(instance.getInstanceBaseWorldLocation(), instance.getArena()); // Use ArenaManager
-                logger.info("Arena cleanup for instance " + instanceId.toString().substring(0,8) + " at " + instance.getInstanceBaseWorldLocation() + " needed via ArenaManager.");
-            }
-
-            List<UUID> playersToRemoveFromTracking = new ArrayList<>();
-            for (Map.Entry<UUID, UUID> entry : playerCurrentInstance.entrySet()) {
-                if (entry.getValue().equals(instanceId)) {
-                    playersToRemoveFromTracking.add(entry.getKey());
+            if (arenaManager != null) arenaManager.releaseArenaChunks(instanceId); // Tickets are held for the instance's whole lifetime
+
+            ArenaSlot slot = instanceArenaSlots.remove(instanceId);
+            // A preparing instance's slot is released by finishInstancePreparation once its paste is done
+            if (slot != null && arenaManager != null && !preparingInstances.containsKey(instanceId)) {
+                CompletableFuture<Boolean> inFlightReset = resettingInstances.remove(instanceId);
+                if (inFlightReset != null && plugin.isEnabled()) {
+                    // Already being reset after its last match; free the slot once that finishes
+                    inFlightReset.whenComplete((reset, error) -> plugin.getServer().getScheduler().runTask(plugin,
+                            () -> releaseArenaSlot(slot)));
+                } else if (plugin.isEnabled()) {
+                    // Revert only the blocks changed during the match; the slot is free again once that is done
+                    arenaManager.resetArena(instanceId, instance.getArena(), instance.getInstanceBaseWorldLocation())
+                            .whenComplete((reset, error) -> plugin.getServer().getScheduler().runTask(plugin,
+                                    () -> releaseArenaSlot(slot)));
+                } else {
+                    // Shutting down: no tasks can be scheduled any more, and the next paste into this slot overwrites it anyway
+                    arenaManager.stopJournal(instanceId);
+                    releaseArenaSlot(slot);
                 }
             }
-            for (UUID playerUUID : playersToRemoveFromTracking) {
-                playerCurrentInstance.remove(playerUUID);
+
+            String templateWorld = instanceTemplateWorlds.remove(instanceId);
+            if (templateWorld != null && arenaManager != null) {
+                arenaManager.getTemplateWorlds().discard(templateWorld); // stop() has already sent everyone out
             }
+
+            playerRegistry.removeInstance(instanceId); // Only this instance's members are touched
             logger.info("Instance " + instanceId.toString().substring(0,8) + " fully ended and removed.");
         } else {
             logger.warning("Attempted to end non-existent game instance: " + instanceId);
@@ -261,9 +617,18 @@ public class GameManager implements Listener {
 
     // ... (existing player management methods: addPlayerToInstance, removePlayerFromInstance, etc. - largely unchanged for now) ...
     public boolean addPlayerToInstance(Player player, UUID instanceId) {
+        return addPlayerToInstance(player, instanceId, instance -> instance.addPlayer(player));
+    }
+
+    /**
+     * Adds a player to an instance using a game-specific join (e.g. with a preferred team), with the same
+     * checks and player tracking as {@link #addPlayerToInstance(Player, UUID)}.
+     * @param adder Performs the instance-side join; returns true if the player was added.
+     */
+    public boolean addPlayerToInstance(Player player, UUID instanceId, Predicate<GameInstance> adder) {
         logger.fine("[PLAYER_TRACKING] Attempting to add player " + player.getName() + " to instance " + instanceId.toString().substring(0,8));
         if (isPlayerInAnyInstance(player)) {
-            UUID currentInstanceId = playerCurrentInstance.get(player.getUniqueId());
+            UUID currentInstanceId = playerRegistry.getInstanceOf(player.getUniqueId());
             if (currentInstanceId != null && currentInstanceId.equals(instanceId)) {
                 Optional<GameInstance> instOpt = getRunningGameInstance(instanceId);
                 if(instOpt.isPresent() && instOpt.get().isPlayerInGame(player.getUniqueId())){
@@ -283,8 +648,13 @@ public class GameManager implements Listener {
                 player.sendMessage(ChatColor.RED + "The game instance is currently disabled.");
                 return false;
             }
-            if (instance.addPlayer(player)) {
-                playerCurrentInstance.put(player.getUniqueId(), instanceId);
+            if (instance.getGameState() == GameState.PREPARING || instance.getGameState() == GameState.FINISHED || instance.getGameState() == GameState.RESETTING) {
+                player.sendMessage(ChatColor.YELLOW + "That arena is still being prepared. Please try again in a moment.");
+                return false;
+            }
+            if (adder.test(instance)) {
+                playerRegistry.put(player.getUniqueId(), instanceId);
+                warmInstancePool.recordDemand(instance.getDefinition().getDefinitionId());
                 return true;
             } else {
                 return false;
@@ -296,7 +666,7 @@ public class GameManager implements Listener {
     }
 
     public boolean removePlayerFromInstance(Player player) {
-        UUID instanceId = playerCurrentInstance.remove(player.getUniqueId());
+        UUID instanceId = playerRegistry.remove(player.getUniqueId());
         if (instanceId != null) {
             Optional<GameInstance> instanceOpt = getRunningGameInstance(instanceId);
             if (instanceOpt.isPresent()) {
@@ -311,7 +681,7 @@ public class GameManager implements Listener {
     }
 
     public Optional<GameInstance> getPlayerGameInstance(Player player) {
-        UUID instanceId = playerCurrentInstance.get(player.getUniqueId());
+        UUID instanceId = playerRegistry.getInstanceOf(player.getUniqueId());
         if (instanceId != null) {
             return getRunningGameInstance(instanceId);
         }
@@ -319,7 +689,21 @@ public class GameManager implements Listener {
     }
 
     public boolean isPlayerInAnyInstance(Player player) {
-        return playerCurrentInstance.containsKey(player.getUniqueId());
+        return playerRegistry.contains(player.getUniqueId());
+    }
+
+    /**
+     * Players tracked in an instance. Live view; main thread only.
+     */
+    public Set<UUID> getInstanceMembers(UUID instanceId) {
+        return playerRegistry.getMembers(instanceId);
+    }
+
+    /**
+     * Immutable copy of the player <-> instance index, safe to read from async tasks.
+     */
+    public PlayerInstanceRegistry.Snapshot getPlayerRegistrySnapshot() {
+        return playerRegistry.snapshot();
     }
 
 
@@ -330,7 +714,16 @@ public class GameManager implements Listener {
             endGameInstance(instanceId);
         }
         runningGameInstances.clear();
-        playerCurrentInstance.clear();
+        playerRegistry.clear();
+        preparingInstances.clear(); // Pending pastes complete into nothing once the plugin is disabled
+        resettingInstances.clear();
+        definitionFileWatcher.stop();
+        configManager.saveDefinitionSnapshot(); // Keeps files hot-reloaded this session out of the next startup's parse
+        matchmakingService.stop();
+        teleportService.stop();
+        warmInstancePool.stop();
+        instanceScheduler.stop();
+        instanceWorldPool.stop();
         logger.info("All game instances shut down and player tracking cleared.");
     }
 
@@ -644,6 +1037,8 @@ public class GameManager implements Listener {
             finishArenaSetupSession(player, true);
         }
 
+        matchmakingService.dequeue(player.getUniqueId());
+
         // Existing player instance removal logic
         logger.fine("[PLAYER_TRACKING] PlayerQuitEvent for " + player.getName());
         if (isPlayerInAnyInstance(player)) {
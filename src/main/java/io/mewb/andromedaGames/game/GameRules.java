@@ -0,0 +1,60 @@
+package io.mewb.andromedaGames.game;
+
+import io.mewb.andromedaGames.capturetheshard.CtsRules;
+import io.mewb.andromedaGames.infection.InfectionRules;
+import io.mewb.andromedaGames.koth.KoTHRules;
+import org.bukkit.ChatColor;
+
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * A definition's 'rules' section, validated and compiled once when the definition is loaded.
+ * Holds the rules every game type shares; each game type extends it with its own (e.g. {@link KoTHRules}).
+ * Instances read these plain fields instead of looking up the raw rules map.
+ */
+public class GameRules {
+
+    private final int maxPlayers;
+    private final int minPlayersToStart;
+    private final int countdownSeconds;
+    private final int gameDurationSeconds;
+    private final String scoreboardTitle; // Color codes already translated
+    private final int warmInstances;
+    private final String world;
+
+    protected GameRules(RuleReader rules, int defaultMaxPlayers, int defaultCountdownSeconds, int defaultDurationSeconds, String defaultScoreboardTitle) {
+        this.maxPlayers = rules.getInt("max_players", defaultMaxPlayers, 1);
+        this.minPlayersToStart = rules.getInt("min_players_to_start", 2, 0);
+        this.countdownSeconds = rules.getInt("countdown_seconds", defaultCountdownSeconds, 0);
+        this.gameDurationSeconds = rules.getInt("game_duration_seconds", defaultDurationSeconds, 1);
+        this.scoreboardTitle = ChatColor.translateAlternateColorCodes('&', rules.getString("scoreboard_title", defaultScoreboardTitle));
+        this.warmInstances = rules.getInt("warm_instances", 0, 0);
+        this.world = rules.getString("world", "world");
+    }
+
+    /**
+     * Compiles the raw rules of a definition into the rules class of its game type.
+     */
+    public static GameRules compile(String gameType, String definitionId, String displayName, Map<String, Object> rawRules, Logger logger) {
+        RuleReader reader = new RuleReader(definitionId, rawRules, logger);
+        switch (gameType.toUpperCase()) {
+            case "KOTH":
+                return new KoTHRules(reader, displayName);
+            case "INFECTION":
+                return new InfectionRules(reader, displayName);
+            case "CAPTURETHESHARD":
+                return new CtsRules(reader, displayName);
+            default:
+                return new GameRules(reader, 16, 10, 300, "&e&l" + displayName);
+        }
+    }
+
+    public int getMaxPlayers() { return maxPlayers; }
+    public int getMinPlayersToStart() { return minPlayersToStart; }
+    public int getCountdownSeconds() { return countdownSeconds; }
+    public int getGameDurationSeconds() { return gameDurationSeconds; }
+    public String getScoreboardTitle() { return scoreboardTitle; }
+    public int getWarmInstances() { return warmInstances; }
+    public String getWorld() { return world; }
+}
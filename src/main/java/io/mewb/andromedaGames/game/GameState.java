@@ -1,10 +1,12 @@
 package io.mewb.andromedaGames.game;
 
 public enum GameState {
+    PREPARING,    // Arena is being pasted asynchronously; not joinable yet
     WAITING,      // Waiting for players, or in lobby
     STARTING,     // Countdown phase before game begins
     ACTIVE,       // Game is in progress
     ENDING,       // Game has finished, showing scores, before reset
+    FINISHED,     // Match is over and players are out; waiting for the arena reset to begin
     DISABLED,     // Game is not available (e.g., arena issue, admin disabled)
     UNINITIALIZED, RESETTING     // Arena is being reset
 }
\ No newline at end of file
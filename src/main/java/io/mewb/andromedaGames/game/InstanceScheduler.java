@@ -0,0 +1,190 @@
+package io.mewb.andromedaGames.game;
+
+import io.mewb.andromedaGames.AndromedaGames;
+import io.mewb.andromedaGames.perf.TickProfiler;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Single owner of all GameInstance ticking.
+ * Runs one 1-tick Bukkit task and dispatches each registered instance at the period it declares
+ * for its current phase (see {@link GameInstance#getTickPeriod(GameState)}). Instances sharing a
+ * period are spread across offsets so they don't all fire on the same server tick, and each server
+ * tick stops dispatching once the configured millisecond budget is spent; anything left over stays
+ * due and runs first on the next tick. Instances in a phase that is not ticked (WAITING, RESETTING, DISABLED, ...)
+ * are kept out of the queue entirely until {@link GameInstance#setGameState} reports a phase change, so idle
+ * and warm instances cost nothing per tick.
+ */
+public class InstanceScheduler {
+
+    private final AndromedaGames plugin;
+    private final Logger logger;
+    private final TickProfiler profiler;
+    private final long tickBudgetNanos;
+
+    private final Map<UUID, Entry> entries = new HashMap<>();
+    private final PriorityQueue<Entry> dueQueue = new PriorityQueue<>((a, b) -> Long.compare(a.nextDueTick, b.nextDueTick));
+    // How many ticked instances currently sit on each offset (mod slot count), used to pick the emptiest slot
+    private final int[] offsetLoad = new int[20];
+
+    private BukkitTask task;
+    private Entry dispatching; // Entry whose tick() is running; its phase change is picked up after the tick
+    private long currentTick = 0;
+    private long deferredDispatches = 0;
+
+    private static final class Entry {
+        final GameInstance instance;
+        long nextDueTick;
+        GameState lastPhase;
+        int period;
+        int offsetSlot = -1;
+        boolean queued = false;
+        boolean cancelled = false;
+
+        Entry(GameInstance instance) { this.instance = instance; }
+    }
+
+    public InstanceScheduler(AndromedaGames plugin, double tickBudgetMillis) {
+        this.plugin = plugin;
+        this.logger = plugin.getLogger();
+        this.profiler = plugin.getTickProfiler();
+        this.tickBudgetNanos = (long) (Math.max(0.1, tickBudgetMillis) * 1_000_000L);
+    }
+
+    public void start() {
+        if (task != null) return;
+        task = plugin.getServer().getScheduler().runTaskTimer(plugin, this::runTick, 1L, 1L);
+        logger.info("[InstanceScheduler] Started with a per-tick budget of " + (tickBudgetNanos / 1_000_000.0) + "ms.");
+    }
+
+    public void stop() {
+        if (task != null && !task.isCancelled()) task.cancel();
+        task = null;
+        for (Entry entry : entries.values()) entry.cancelled = true;
+        entries.clear();
+        dueQueue.clear();
+        Arrays.fill(offsetLoad, 0);
+    }
+
+    public void register(GameInstance instance) {
+        if (instance == null || entries.containsKey(instance.getInstanceId())) return;
+        Entry entry = new Entry(instance);
+        entry.lastPhase = instance.getGameState();
+        schedulePhase(entry);
+        entries.put(instance.getInstanceId(), entry);
+        enqueue(entry);
+    }
+
+    /**
+     * Called by {@link GameInstance#setGameState} when an instance changes phase. Reschedules it for the new
+     * phase's period, taking it out of the queue if the new phase is not ticked. Main thread only.
+     */
+    public void phaseChanged(GameInstance instance) {
+        Entry entry = entries.get(instance.getInstanceId());
+        if (entry == null || entry.cancelled || entry == dispatching) return;
+        GameState phase = instance.getGameState();
+        if (phase == entry.lastPhase) return;
+        if (entry.queued) {
+            dueQueue.remove(entry); // Its due tick changes; phase changes are rare enough for the linear removal
+            entry.queued = false;
+        }
+        entry.lastPhase = phase;
+        schedulePhase(entry);
+        enqueue(entry);
+    }
+
+    public void unregister(UUID instanceId) {
+        Entry entry = entries.remove(instanceId);
+        if (entry == null) return;
+        entry.cancelled = true; // Lazily dropped from the queue if queued (it may also be mid-dispatch)
+        releaseOffset(entry);
+        profiler.forgetInstance(instanceId);
+    }
+
+    public int getRegisteredCount() { return entries.size(); }
+    public long getDeferredDispatches() { return deferredDispatches; }
+
+    private void runTick() {
+        currentTick++;
+        long tickStart = System.nanoTime();
+        boolean dispatchedAny = false;
+
+        while (!dueQueue.isEmpty()) {
+            Entry entry = dueQueue.peek();
+            if (entry.cancelled) { dueQueue.poll(); continue; }
+            if (entry.nextDueTick > currentTick) break;
+
+            // Always let at least one instance through so a single heavy match can't starve the rest forever
+            if (dispatchedAny && System.nanoTime() - tickStart >= tickBudgetNanos) {
+                deferredDispatches++;
+                break;
+            }
+            dueQueue.poll();
+            entry.queued = false;
+
+            dispatchedAny = true;
+            dispatching = entry;
+            long profileStart = profiler.start();
+            try {
+                entry.instance.tick();
+            } catch (Exception e) {
+                logger.log(Level.SEVERE, "[InstanceScheduler] Error ticking instance " + entry.instance.getInstanceId().toString().substring(0, 8), e);
+            } finally {
+                dispatching = null;
+            }
+            profiler.record(TickProfiler.Section.INSTANCE_TICK, entry.instance, profileStart);
+            // Keep cadence, but don't try to "catch up" a backlog of missed ticks after a long deferral
+            entry.nextDueTick = Math.max(entry.nextDueTick + entry.period, currentTick + 1);
+
+            if (!entry.cancelled) {
+                if (entry.lastPhase != entry.instance.getGameState()) {
+                    // Phase changed during its own tick (e.g. countdown finished); pick up the new period right away
+                    entry.lastPhase = entry.instance.getGameState();
+                    schedulePhase(entry);
+                }
+                enqueue(entry);
+            }
+        }
+    }
+
+    /** Queues an entry for its next due tick, unless its phase is not ticked. */
+    private void enqueue(Entry entry) {
+        if (entry.period <= 0 || entry.queued) return;
+        entry.queued = true;
+        dueQueue.offer(entry);
+    }
+
+    /**
+     * Recomputes period and first due tick for the entry's current phase.
+     * Ticked phases get the least-loaded offset slot, so instances of the same period are staggered.
+     */
+    private void schedulePhase(Entry entry) {
+        releaseOffset(entry);
+        entry.period = Math.max(0, entry.instance.getTickPeriod(entry.lastPhase));
+        if (entry.period <= 0) return; // Not queued until the next phase change
+        int slots = Math.min(entry.period, offsetLoad.length);
+        int bestSlot = 0;
+        for (int i = 1; i < slots; i++) {
+            if (offsetLoad[i] < offsetLoad[bestSlot]) bestSlot = i;
+        }
+        offsetLoad[bestSlot]++;
+        entry.offsetSlot = bestSlot;
+        // First dispatch lands on the next tick whose (tick mod slots) equals the chosen slot
+        long delta = Math.floorMod(bestSlot - (currentTick + 1), slots);
+        entry.nextDueTick = currentTick + 1 + delta;
+    }
+
+    private void releaseOffset(Entry entry) {
+        if (entry.offsetSlot >= 0) {
+            offsetLoad[entry.offsetSlot]--;
+            entry.offsetSlot = -1;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package io.mewb.andromedaGames.game;
+
+import io.mewb.andromedaGames.AndromedaGames;
+import io.mewb.andromedaGames.utils.FileUtil;
+import io.mewb.andromedaGames.utils.VoidChunkGenerator;
+import org.bukkit.Bukkit;
+import org.bukkit.GameRule;
+import org.bukkit.World;
+import org.bukkit.WorldCreator;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Spreads instances over a pool of void worlds ("shards") instead of putting every match into one world,
+ * so chunk loading and entity tracking are split between worlds.
+ * <p>
+ * Each shard holds at most {@code max_instances_per_world} instances. A new instance goes to the least-loaded
+ * loaded shard with room; a new shard is created only when all loaded ones are full. A shard that has been
+ * empty for the configured time is unloaded and its folder deleted, and leftover shard folders (e.g. after a
+ * crash) are deleted on startup, so a shard always comes back blank: discarding the whole world replaces
+ * block-level cleanup for everything that was in it.
+ * With sharding disabled, instances use the world named by their definition's {@code world} rule.
+ */
+public class InstanceWorldPool {
+
+    private static final int UNLOAD_CHECK_INTERVAL_TICKS = 200;
+
+    private final AndromedaGames plugin;
+    private final Logger logger;
+    private final boolean enabled;
+    private final String worldPrefix;
+    private final int maxWorlds;
+    private final int maxInstancesPerWorld;
+    private final long emptyUnloadNanos;
+
+    private final Map<String, Integer> instancesByShard = new HashMap<>(); // Loaded shards only
+    private final Map<String, Long> emptySinceNanos = new HashMap<>();
+    private final Set<String> pendingDeletions = new HashSet<>(); // Unloaded shards whose folder is still being deleted
+    private BukkitTask task;
+
+    public InstanceWorldPool(AndromedaGames plugin, boolean enabled, String worldPrefix, int maxWorlds, int maxInstancesPerWorld, int emptyUnloadSeconds) {
+        this.plugin = plugin;
+        this.logger = plugin.getLogger();
+        this.enabled = enabled;
+        this.worldPrefix = worldPrefix;
+        this.maxWorlds = Math.max(1, maxWorlds);
+        this.maxInstancesPerWorld = Math.max(1, maxInstancesPerWorld);
+        this.emptyUnloadNanos = TimeUnit.SECONDS.toNanos(Math.max(0, emptyUnloadSeconds));
+    }
+
+    public void start() {
+        if (!enabled || task != null) return;
+        deleteLeftoverShards();
+        task = plugin.getServer().getScheduler().runTaskTimer(plugin, this::unloadEmptyShards, UNLOAD_CHECK_INTERVAL_TICKS, UNLOAD_CHECK_INTERVAL_TICKS);
+        logger.info("[InstanceWorldPool] Started (up to " + maxWorlds + " worlds of " + maxInstancesPerWorld + " instances, prefix '" + worldPrefix + "').");
+    }
+
+    /**
+     * Stops the unload check and unloads all shards. Called on shutdown after all instances have ended.
+     */
+    public void stop() {
+        if (task != null && !task.isCancelled()) task.cancel();
+        task = null;
+        for (String worldName : instancesByShard.keySet()) {
+            World world = Bukkit.getWorld(worldName);
+            if (world != null && world.getPlayers().isEmpty() && Bukkit.unloadWorld(world, false)) deleteShardFolder(worldName);
+        }
+        instancesByShard.clear();
+        emptySinceNanos.clear();
+    }
+
+    /**
+     * Picks the world for a new instance and counts the instance against it. Main thread only.
+     * @return The world, or null if sharding is disabled and the definition's world is not loaded, or if every shard is full.
+     */
+    public World acquireWorld(GameDefinition definition) {
+        if (!enabled) return Bukkit.getWorld(definition.getRules().getWorld());
+
+        String best = null;
+        int bestCount = Integer.MAX_VALUE;
+        for (Map.Entry<String, Integer> entry : instancesByShard.entrySet()) {
+            if (entry.getValue() < maxInstancesPerWorld && entry.getValue() < bestCount) {
+                best = entry.getKey();
+                bestCount = entry.getValue();
+            }
+        }
+        World world = best != null ? Bukkit.getWorld(best) : createShard();
+        if (world == null) return null;
+        instancesByShard.merge(world.getName(), 1, Integer::sum);
+        emptySinceNanos.remove(world.getName());
+        return world;
+    }
+
+    /**
+     * Returns an instance's place in its world, once its arena slot has been released. Main thread only.
+     * Worlds that are not shards are ignored.
+     */
+    public void releaseWorld(String worldName) {
+        Integer count = instancesByShard.get(worldName);
+        if (count == null) return;
+        if (count <= 1) {
+            instancesByShard.put(worldName, 0);
+            emptySinceNanos.put(worldName, System.nanoTime());
+        } else {
+            instancesByShard.put(worldName, count - 1);
+        }
+    }
+
+    public boolean isEnabled() { return enabled; }
+
+    /** Instances per loaded shard, for diagnostics. */
+    public Map<String, Integer> getShardLoad() {
+        return new HashMap<>(instancesByShard);
+    }
+
+    private World createShard() {
+        for (int index = 0; index < maxWorlds; index++) {
+            String worldName = worldPrefix + index;
+            if (instancesByShard.containsKey(worldName) || pendingDeletions.contains(worldName)) continue;
+            if (new File(Bukkit.getWorldContainer(), worldName).exists()) continue; // Folder could not be deleted; retried on the next startup
+            World world = new WorldCreator(worldName)
+                    .generator(new VoidChunkGenerator())
+                    .generateStructures(false)
+                    .createWorld();
+            if (world == null) {
+                logger.severe("[InstanceWorldPool] Could not create shard world '" + worldName + "'.");
+                return null;
+            }
+            world.setAutoSave(false); // Its folder is deleted once the shard is unloaded anyway
+            world.setGameRule(GameRule.SPAWN_CHUNK_RADIUS, 0); // No spawn chunks kept loaded
+            world.setGameRule(GameRule.DO_MOB_SPAWNING, false);
+            world.setGameRule(GameRule.DO_DAYLIGHT_CYCLE, false);
+            world.setGameRule(GameRule.DO_WEATHER_CYCLE, false);
+            instancesByShard.put(worldName, 0);
+            logger.info("[InstanceWorldPool] Created shard world '" + worldName + "' (" + instancesByShard.size() + "/" + maxWorlds + " loaded).");
+            return world;
+        }
+        logger.warning("[InstanceWorldPool] All " + maxWorlds + " shard worlds are full (" + maxInstancesPerWorld + " instances each).");
+        return null;
+    }
+
+    private void unloadEmptyShards() {
+        long now = System.nanoTime();
+        emptySinceNanos.entrySet().removeIf(entry -> {
+            if (now - entry.getValue() < emptyUnloadNanos) return false;
+            String worldName = entry.getKey();
+            World world = Bukkit.getWorld(worldName);
+            if (world != null) {
+                if (!world.getPlayers().isEmpty()) return false; // Try again on the next check
+                if (!Bukkit.unloadWorld(world, false)) {
+                    logger.warning("[InstanceWorldPool] Could not unload empty shard world '" + worldName + "'. Keeping it.");
+                    return true;
+                }
+            }
+            instancesByShard.remove(worldName);
+            deleteShardFolder(worldName);
+            logger.info("[InstanceWorldPool] Unloaded empty shard world '" + worldName + "'.");
+            return true;
+        });
+    }
+
+    /**
+     * Deletes an unloaded shard's folder, in the background unless the plugin is disabling. The shard is not
+     * created again until the deletion is done, so chunks written while it was loaded never come back.
+     */
+    private void deleteShardFolder(String worldName) {
+        File folder = new File(Bukkit.getWorldContainer(), worldName);
+        if (!plugin.isEnabled()) {
+            deleteQuietly(folder);
+            return;
+        }
+        pendingDeletions.add(worldName);
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+            deleteQuietly(folder);
+            if (plugin.isEnabled()) plugin.getServer().getScheduler().runTask(plugin, () -> pendingDeletions.remove(worldName));
+        });
+    }
+
+    /** Deletes shard folders left behind by a crash or a failed unload. Runs once on startup. */
+    private void deleteLeftoverShards() {
+        File[] leftovers = Bukkit.getWorldContainer().listFiles((dir, name) -> isShardName(name));
+        if (leftovers == null) return;
+        for (File leftover : leftovers) {
+            if (Bukkit.getWorld(leftover.getName()) != null) continue;
+            logger.info("[InstanceWorldPool] Deleting leftover shard world folder '" + leftover.getName() + "'.");
+            deleteQuietly(leftover);
+        }
+    }
+
+    /** Whether a world folder name is one of this pool's shards (the prefix followed by an index). */
+    private boolean isShardName(String name) {
+        if (!name.startsWith(worldPrefix) || name.length() == worldPrefix.length()) return false;
+        for (int i = worldPrefix.length(); i < name.length(); i++) {
+            if (!Character.isDigit(name.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    private void deleteQuietly(File folder) {
+        try {
+            FileUtil.deleteDirectory(folder.toPath());
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "[InstanceWorldPool] Could not delete shard world folder " + folder.getAbsolutePath(), e);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package io.mewb.andromedaGames.game;
+
+import io.mewb.andromedaGames.AndromedaGames;
+import io.mewb.andromedaGames.arena.ArenaDefinition;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+/**
+ * Per-definition join queues with batched assignment.
+ * Joining only appends the player to their definition's queue (O(1)); every few ticks a batch run hands
+ * queued players, in FIFO order, to the fullest WAITING instances of that definition first. A new instance
+ * is created only when a queue holds more players than the free capacity of instances already on the way
+ * (PREPARING / RESETTING), at most one per definition per batch. Instances that reach their minimum player
+ * count are started automatically if configured.
+ */
+public class MatchmakingService {
+
+    private final AndromedaGames plugin;
+    private final GameManager gameManager;
+    private final Logger logger;
+    private final int batchIntervalTicks;
+    private final boolean autoStart;
+
+    private final Map<String, Deque<QueueEntry>> queuesByDefinition = new HashMap<>(); // Keyed by lower-case definition ID
+    private final Map<UUID, QueueEntry> entriesByPlayer = new HashMap<>();
+    private BukkitTask task;
+
+    private static final class QueueEntry {
+        final UUID playerId;
+        final Predicate<GameInstance> joiner; // Adds the player to the chosen instance (game-specific join options)
+        boolean cancelled = false;
+
+        QueueEntry(UUID playerId, Predicate<GameInstance> joiner) {
+            this.playerId = playerId;
+            this.joiner = joiner;
+        }
+    }
+
+    public MatchmakingService(AndromedaGames plugin, GameManager gameManager, int batchIntervalTicks, boolean autoStart) {
+        this.plugin = plugin;
+        this.gameManager = gameManager;
+        this.logger = plugin.getLogger();
+        this.batchIntervalTicks = Math.max(1, batchIntervalTicks);
+        this.autoStart = autoStart;
+    }
+
+    public void start() {
+        if (task != null) return;
+        task = plugin.getServer().getScheduler().runTaskTimer(plugin, this::runBatch, batchIntervalTicks, batchIntervalTicks);
+        logger.info("[Matchmaking] Started (batch every " + batchIntervalTicks + " ticks, auto-start: " + autoStart + ").");
+    }
+
+    public void stop() {
+        if (task != null && !task.isCancelled()) task.cancel();
+        task = null;
+        queuesByDefinition.clear();
+        entriesByPlayer.clear();
+    }
+
+    /**
+     * Queues a player for a match of the given definition, joined through GameManager.addPlayerToInstance.
+     */
+    public boolean enqueue(Player player, GameDefinition definition) {
+        return enqueue(player, definition, instance -> gameManager.addPlayerToInstance(player, instance.getInstanceId()));
+    }
+
+    /**
+     * Queues a player for a match of the given definition.
+     * @param joiner Called on assignment to add the player to the chosen instance; returns true if they joined.
+     * @return False if the player is already queued.
+     */
+    public boolean enqueue(Player player, GameDefinition definition, Predicate<GameInstance> joiner) {
+        if (entriesByPlayer.containsKey(player.getUniqueId())) {
+            player.sendMessage(ChatColor.RED + "You are already queued for a game.");
+            return false;
+        }
+        String key = definition.getDefinitionId().toLowerCase();
+        QueueEntry entry = new QueueEntry(player.getUniqueId(), joiner);
+        queuesByDefinition.computeIfAbsent(key, k -> new ArrayDeque<>()).add(entry);
+        entriesByPlayer.put(player.getUniqueId(), entry);
+        player.sendMessage(ChatColor.YELLOW + "You are queued for " + ChatColor.GOLD + definition.getDisplayName() + ChatColor.YELLOW + ". You'll be sent into a match shortly.");
+        return true;
+    }
+
+    /**
+     * Removes a player from whatever queue they are in (e.g. on quit).
+     * @return True if they were queued.
+     */
+    public boolean dequeue(UUID playerId) {
+        QueueEntry entry = entriesByPlayer.remove(playerId);
+        if (entry == null) return false;
+        entry.cancelled = true; // Dropped from its queue lazily by the next batch
+        return true;
+    }
+
+    public boolean isQueued(Player player) {
+        return entriesByPlayer.containsKey(player.getUniqueId());
+    }
+
+    public int getQueuedCount(String definitionId) {
+        Deque<QueueEntry> queue = queuesByDefinition.get(definitionId.toLowerCase());
+        if (queue == null) return 0;
+        int count = 0;
+        for (QueueEntry entry : queue) if (!entry.cancelled) count++;
+        return count;
+    }
+
+    private void runBatch() {
+        if (queuesByDefinition.isEmpty()) return;
+
+        // Group the running instances by definition once per batch
+        Map<String, List<GameInstance>> instancesByDefinition = new HashMap<>();
+        for (GameInstance instance : gameManager.getRunningInstances()) {
+            if (!queuesByDefinition.containsKey(instance.getDefinition().getDefinitionId().toLowerCase())) continue;
+            instancesByDefinition.computeIfAbsent(instance.getDefinition().getDefinitionId().toLowerCase(), k -> new ArrayList<>()).add(instance);
+        }
+
+        Iterator<Map.Entry<String, Deque<QueueEntry>>> it = queuesByDefinition.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Deque<QueueEntry>> queueEntry = it.next();
+            Deque<QueueEntry> queue = queueEntry.getValue();
+            List<GameInstance> instances = instancesByDefinition.getOrDefault(queueEntry.getKey(), new ArrayList<>());
+            assignQueue(queueEntry.getKey(), queue, instances);
+            if (queue.isEmpty()) it.remove();
+        }
+    }
+
+    private void assignQueue(String definitionKey, Deque<QueueEntry> queue, List<GameInstance> instances) {
+        // Fullest WAITING instance first, so matches fill up and start instead of spreading players thin
+        List<GameInstance> waiting = new ArrayList<>();
+        int pendingCapacity = 0;
+        for (GameInstance instance : instances) {
+            if (instance.getGameState() == GameState.WAITING) {
+                waiting.add(instance);
+            } else if (instance.getGameState() == GameState.PREPARING || instance.getGameState() == GameState.RESETTING || instance.getGameState() == GameState.FINISHED) {
+                pendingCapacity += instance.getMaxPlayers();
+            }
+        }
+        waiting.sort(Comparator.comparingInt(GameInstance::getPlayerCount).reversed());
+
+        List<GameInstance> joinedInstances = new ArrayList<>();
+        for (GameInstance instance : waiting) {
+            boolean joinedAny = false;
+            while (instance.getPlayerCount() < instance.getMaxPlayers() && instance.getGameState() == GameState.WAITING) {
+                QueueEntry entry = pollLive(queue);
+                if (entry == null) break;
+                Player player = Bukkit.getPlayer(entry.playerId);
+                entriesByPlayer.remove(entry.playerId);
+                if (player == null || !player.isOnline()) continue;
+                if (entry.joiner.test(instance)) {
+                    joinedAny = true;
+                } else {
+                    logger.warning("[Matchmaking] Failed to add " + player.getName() + " to instance " + instance.getInstanceId().toString().substring(0,8) + ".");
+                }
+            }
+            if (joinedAny) joinedInstances.add(instance);
+            if (queue.isEmpty()) break;
+        }
+
+        if (autoStart) {
+            for (GameInstance instance : joinedInstances) {
+                if (instance.getGameState() == GameState.WAITING && instance.getPlayerCount() >= instance.getMinPlayersToStart()) {
+                    logger.info("[Matchmaking] Auto-starting instance " + instance.getInstanceId().toString().substring(0,8) + " (" + instance.getPlayerCount() + " players).");
+                    instance.start(false);
+                }
+            }
+        }
+
+        dropCancelled(queue);
+        if (queue.size() > pendingCapacity) {
+            requestInstance(definitionKey);
+        }
+    }
+
+    private void requestInstance(String definitionKey) {
+        Optional<GameDefinition> defOpt = gameManager.getGameDefinition(definitionKey);
+        if (defOpt.isEmpty()) {
+            logger.warning("[Matchmaking] Definition '" + definitionKey + "' no longer exists. Dropping its queue.");
+            dropQueue(definitionKey, "That game is no longer available.");
+            return;
+        }
+        Optional<ArenaDefinition> arenaOpt = gameManager.getCompatibleArena(defOpt.get());
+        if (arenaOpt.isEmpty()) {
+            logger.warning("[Matchmaking] No compatible arena for '" + definitionKey + "'. Dropping its queue.");
+            dropQueue(definitionKey, "No compatible arenas are available for '" + defOpt.get().getDisplayName() + "'.");
+            return;
+        }
+        logger.info("[Matchmaking] Queue for '" + definitionKey + "' exceeds free capacity. Creating an instance on arena '" + arenaOpt.get().getArenaId() + "'.");
+        // Once WAITING, the new instance is picked up by the next batch
+        gameManager.createGameInstance(defOpt.get().getDefinitionId(), arenaOpt.get().getArenaId())
+                .whenComplete((instance, error) -> {
+                    if (error != null) {
+                        dropQueue(definitionKey, "A match for '" + defOpt.get().getDisplayName() + "' could not be prepared.");
+                    }
+                });
+    }
+
+    private void dropQueue(String definitionKey, String reason) {
+        Deque<QueueEntry> queue = queuesByDefinition.get(definitionKey);
+        if (queue == null) return;
+        for (QueueEntry entry : queue) {
+            if (entry.cancelled) continue;
+            entriesByPlayer.remove(entry.playerId);
+            Player player = Bukkit.getPlayer(entry.playerId);
+            if (player != null) player.sendMessage(ChatColor.RED + reason + " You have been removed from the queue.");
+        }
+        queue.clear(); // Empty queues are removed by the next batch
+    }
+
+    private QueueEntry pollLive(Deque<QueueEntry> queue) {
+        QueueEntry entry;
+        while ((entry = queue.poll()) != null) {
+            if (!entry.cancelled) return entry;
+        }
+        return null;
+    }
+
+    private void dropCancelled(Deque<QueueEntry> queue) {
+        queue.removeIf(entry -> entry.cancelled);
+    }
+}
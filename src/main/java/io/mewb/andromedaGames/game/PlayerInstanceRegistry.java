@@ -0,0 +1,122 @@
+package io.mewb.andromedaGames.game;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Two-way index of which players are in which game instance: player -> instance, plus each instance's member set.
+ * Both sides are updated together, so ending an instance only touches its own members.
+ * <p>
+ * Mutations happen on the main thread; plain lookups are meant for the main thread too. Async readers use
+ * {@link #snapshot()}, an immutable copy that is rebuilt lazily after the registry changes.
+ */
+public class PlayerInstanceRegistry {
+
+    private final Map<UUID, UUID> instanceByPlayer = new HashMap<>();
+    private final Map<UUID, Set<UUID>> membersByInstance = new HashMap<>();
+    private Snapshot snapshot = Snapshot.EMPTY; // null once stale
+
+    /**
+     * Immutable view of the registry at one point in time. Safe to share with any thread.
+     */
+    public static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(Map.of(), Map.of());
+
+        private final Map<UUID, UUID> instanceByPlayer;
+        private final Map<UUID, Set<UUID>> membersByInstance;
+
+        private Snapshot(Map<UUID, UUID> instanceByPlayer, Map<UUID, Set<UUID>> membersByInstance) {
+            this.instanceByPlayer = instanceByPlayer;
+            this.membersByInstance = membersByInstance;
+        }
+
+        /** @return The player's instance ID, or null if they are not in one. */
+        public UUID getInstanceOf(UUID playerId) { return instanceByPlayer.get(playerId); }
+        public Set<UUID> getMembers(UUID instanceId) { return membersByInstance.getOrDefault(instanceId, Set.of()); }
+        public Map<UUID, UUID> asMap() { return instanceByPlayer; }
+        public int getPlayerCount() { return instanceByPlayer.size(); }
+    }
+
+    /** @return The player's instance ID, or null if they are not in one. Main thread only. */
+    public UUID getInstanceOf(UUID playerId) {
+        return instanceByPlayer.get(playerId);
+    }
+
+    public boolean contains(UUID playerId) {
+        return instanceByPlayer.containsKey(playerId);
+    }
+
+    /** Live, read-only view of an instance's members. Main thread only. */
+    public Set<UUID> getMembers(UUID instanceId) {
+        Set<UUID> members = membersByInstance.get(instanceId);
+        return members == null ? Collections.emptySet() : Collections.unmodifiableSet(members);
+    }
+
+    /**
+     * Records that a player is in an instance, moving them out of any previous one.
+     * @return The player's previous instance ID, or null.
+     */
+    public synchronized UUID put(UUID playerId, UUID instanceId) {
+        UUID previous = instanceByPlayer.put(playerId, instanceId);
+        if (previous != null && !previous.equals(instanceId)) removeMember(previous, playerId);
+        membersByInstance.computeIfAbsent(instanceId, k -> new HashSet<>()).add(playerId);
+        snapshot = null;
+        return previous;
+    }
+
+    /**
+     * @return The instance ID the player was removed from, or null if they were not in one.
+     */
+    public synchronized UUID remove(UUID playerId) {
+        UUID instanceId = instanceByPlayer.remove(playerId);
+        if (instanceId == null) return null;
+        removeMember(instanceId, playerId);
+        snapshot = null;
+        return instanceId;
+    }
+
+    /**
+     * Drops an instance and all of its members from the registry.
+     * @return The players that were in it.
+     */
+    public synchronized Set<UUID> removeInstance(UUID instanceId) {
+        Set<UUID> members = membersByInstance.remove(instanceId);
+        if (members == null) return Collections.emptySet();
+        for (UUID playerId : members) {
+            instanceByPlayer.remove(playerId);
+        }
+        snapshot = null;
+        return members;
+    }
+
+    public synchronized void clear() {
+        instanceByPlayer.clear();
+        membersByInstance.clear();
+        snapshot = Snapshot.EMPTY;
+    }
+
+    /**
+     * Immutable copy of the registry, for async readers. Rebuilt only if the registry changed since the last call.
+     */
+    public synchronized Snapshot snapshot() {
+        if (snapshot == null) {
+            Map<UUID, Set<UUID>> members = new HashMap<>();
+            for (Map.Entry<UUID, Set<UUID>> entry : membersByInstance.entrySet()) {
+                members.put(entry.getKey(), Set.copyOf(entry.getValue()));
+            }
+            snapshot = new Snapshot(Map.copyOf(instanceByPlayer), Map.copyOf(members));
+        }
+        return snapshot;
+    }
+
+    private void removeMember(UUID instanceId, UUID playerId) {
+        Set<UUID> members = membersByInstance.get(instanceId);
+        if (members == null) return;
+        members.remove(playerId);
+        if (members.isEmpty()) membersByInstance.remove(instanceId);
+    }
+}
@@ -0,0 +1,87 @@
+package io.mewb.andromedaGames.game;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Reads values out of a definition's raw 'rules' map with type coercion, for compiling {@link GameRules}.
+ * Numbers given as strings (or with the wrong numeric type) are converted; values that cannot be converted
+ * or are out of range are logged against the definition and replaced by the default.
+ */
+public class RuleReader {
+
+    private final String definitionId;
+    private final Map<String, Object> rules;
+    private final Logger logger;
+
+    public RuleReader(String definitionId, Map<String, Object> rules, Logger logger) {
+        this.definitionId = definitionId;
+        this.rules = rules;
+        this.logger = logger;
+    }
+
+    public int getInt(String key, int defaultValue, int min) {
+        Object value = rules.get(key);
+        if (value == null) return defaultValue;
+        Integer result = null;
+        if (value instanceof Number) {
+            result = ((Number) value).intValue();
+        } else {
+            try {
+                result = (int) Double.parseDouble(value.toString().trim());
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        if (result == null) return invalid(key, value, "a whole number", defaultValue);
+        if (result < min) return invalid(key, value, "at least " + min, defaultValue);
+        return result;
+    }
+
+    public double getDouble(String key, double defaultValue, double min) {
+        Object value = rules.get(key);
+        if (value == null) return defaultValue;
+        Double result = null;
+        if (value instanceof Number) {
+            result = ((Number) value).doubleValue();
+        } else {
+            try {
+                result = Double.parseDouble(value.toString().trim());
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        if (result == null || result.isNaN()) return invalid(key, value, "a number", defaultValue);
+        if (result < min) return invalid(key, value, "at least " + min, defaultValue);
+        return result;
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        Object value = rules.get(key);
+        if (value == null) return defaultValue;
+        if (value instanceof Boolean) return (Boolean) value;
+        String text = value.toString().trim();
+        if (text.equalsIgnoreCase("true")) return true;
+        if (text.equalsIgnoreCase("false")) return false;
+        return invalid(key, value, "true or false", defaultValue);
+    }
+
+    public String getString(String key, String defaultValue) {
+        Object value = rules.get(key);
+        return value == null ? defaultValue : value.toString();
+    }
+
+    public <E extends Enum<E>> E getEnum(String key, Class<E> type, E defaultValue) {
+        Object value = rules.get(key);
+        if (value == null) return defaultValue;
+        try {
+            return Enum.valueOf(type, value.toString().trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return invalid(key, value, "a " + type.getSimpleName(), defaultValue);
+        }
+    }
+
+    private <T> T invalid(String key, Object value, String expected, T defaultValue) {
+        logger.warning("Game definition '" + definitionId + "': rule '" + key + "' is '" + value + "' but must be " + expected + ". Using " + defaultValue + ".");
+        return defaultValue;
+    }
+}
@@ -0,0 +1,130 @@
+package io.mewb.andromedaGames.game;
+
+import io.mewb.andromedaGames.AndromedaGames;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+/**
+ * Moves groups of players with Paper's teleportAsync, spread over several ticks so a whole roster (e.g. a
+ * 24-player match start) never lands in a single tick. Each tick starts teleports up to the configured cap;
+ * a destination whose chunk is not loaded yet counts double, since its chunk still has to be loaded and sent
+ * (arena chunks are normally already held loaded by the instance). Each batch reports through a future once
+ * every player in it has arrived (or could not be moved). Main thread only.
+ */
+public class TeleportService {
+
+    private final AndromedaGames plugin;
+    private final Logger logger;
+    private final int maxPerTick;
+
+    private final Deque<PendingTeleport> queue = new ArrayDeque<>();
+    private BukkitTask task;
+
+    private static final class PendingTeleport {
+        final Player player;
+        final Location destination;
+        final Batch batch;
+        final Predicate<Player> filter;
+
+        PendingTeleport(Player player, Location destination, Batch batch, Predicate<Player> filter) {
+            this.player = player;
+            this.destination = destination;
+            this.batch = batch;
+            this.filter = filter;
+        }
+    }
+
+    private static final class Batch {
+        final AtomicInteger remaining;
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        Batch(int size) {
+            this.remaining = new AtomicInteger(size);
+        }
+
+        void arrived() {
+            if (remaining.decrementAndGet() == 0) future.complete(null);
+        }
+    }
+
+    public TeleportService(AndromedaGames plugin, int maxPerTick) {
+        this.plugin = plugin;
+        this.logger = plugin.getLogger();
+        this.maxPerTick = Math.max(1, maxPerTick);
+    }
+
+    /**
+     * Queues teleports for a group of players. The first ones start right away, the rest over the next ticks.
+     * @param destinations Players and where to send them, in the order they should go.
+     * @return A future completed once every player has arrived, failed to teleport, or gone offline.
+     */
+    public CompletableFuture<Void> teleportAll(Map<Player, Location> destinations) {
+        return teleportAll(destinations, player -> true);
+    }
+
+    /**
+     * Queues teleports for a group of players, skipping those the filter rejects when their turn comes
+     * (e.g. players who left the game while waiting).
+     */
+    public CompletableFuture<Void> teleportAll(Map<Player, Location> destinations, Predicate<Player> filter) {
+        if (destinations.isEmpty()) return CompletableFuture.completedFuture(null);
+        Batch batch = new Batch(destinations.size());
+        destinations.forEach((player, destination) -> queue.add(new PendingTeleport(player, destination, batch, filter)));
+        drain();
+        if (!queue.isEmpty() && task == null) {
+            task = plugin.getServer().getScheduler().runTaskTimer(plugin, this::drain, 1L, 1L);
+        }
+        return batch.future;
+    }
+
+    /**
+     * Queues a single teleport.
+     */
+    public CompletableFuture<Void> teleport(Player player, Location destination) {
+        return teleportAll(Map.of(player, destination));
+    }
+
+    /**
+     * Drops all queued teleports; their batches complete as if the players had arrived. Called on shutdown.
+     */
+    public void stop() {
+        if (task != null && !task.isCancelled()) task.cancel();
+        task = null;
+        while (!queue.isEmpty()) queue.poll().batch.arrived();
+    }
+
+    private void drain() {
+        int budget = maxPerTick;
+        while (budget > 0 && !queue.isEmpty()) {
+            PendingTeleport pending = queue.poll();
+            Player player = pending.player;
+            Location destination = pending.destination;
+            if (!player.isOnline() || !pending.filter.test(player) || destination == null || destination.getWorld() == null) {
+                pending.batch.arrived();
+                continue;
+            }
+            boolean loaded = destination.getWorld().isChunkLoaded(destination.getBlockX() >> 4, destination.getBlockZ() >> 4);
+            budget -= loaded ? 1 : 2;
+            player.teleportAsync(destination).whenComplete((success, error) -> {
+                if (error != null || !Boolean.TRUE.equals(success)) {
+                    logger.warning("[TeleportService] Could not teleport " + player.getName() + " to " + destination.toVector()
+                            + (error != null ? ": " + error.getMessage() : "."));
+                }
+                pending.batch.arrived();
+            });
+        }
+        if (queue.isEmpty() && task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package io.mewb.andromedaGames.game;
+
+import io.mewb.andromedaGames.AndromedaGames;
+import io.mewb.andromedaGames.arena.ArenaDefinition;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Keeps a number of empty, already pasted and set up (WAITING) instances ready per game definition,
+ * so joins rarely have to wait for an arena paste. The pool size comes from the definition's
+ * {@code warm_instances} rule (0 = no pool).
+ * <p>
+ * A periodic check refills at most one instance per run, and only while the server's average tick time
+ * is under the configured limit, so pastes are spread out over quiet ticks. When a definition has had no
+ * joins for the idle period its pool shrinks to a single instance; surplus empty instances are ended one
+ * per run. Only instances the pool created itself are ever ended, and only while they have not started a match:
+ * instances made by matchmaking or an admin, and recycled ones, are left alone. Definitions without a
+ * {@code warm_instances} rule are not touched at all.
+ */
+public class WarmInstancePool {
+
+    private static final long FAILURE_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(60); // Pause warming a definition after a failed creation
+
+    private final AndromedaGames plugin;
+    private final GameManager gameManager;
+    private final Logger logger;
+    private final int checkIntervalTicks;
+    private final double maxMspt;
+    private final long idleShrinkNanos;
+
+    private final Map<String, Long> lastDemandNanos = new HashMap<>(); // Keyed by lower-case definition ID
+    private final Map<String, Long> backoffUntilNanos = new HashMap<>(); // Definitions whose last warm-up failed
+    private final Set<UUID> warmedInstances = new HashSet<>(); // Created by the pool and not yet used for a match
+    private long startedNanos;
+    private BukkitTask task;
+
+    public WarmInstancePool(AndromedaGames plugin, GameManager gameManager, int checkIntervalTicks, double maxMspt, int idleShrinkSeconds) {
+        this.plugin = plugin;
+        this.gameManager = gameManager;
+        this.logger = plugin.getLogger();
+        this.checkIntervalTicks = Math.max(1, checkIntervalTicks);
+        this.maxMspt = maxMspt;
+        this.idleShrinkNanos = TimeUnit.SECONDS.toNanos(Math.max(1, idleShrinkSeconds));
+    }
+
+    public void start() {
+        if (task != null) return;
+        startedNanos = System.nanoTime(); // Counts as demand, so pools fill to full size after startup
+        task = plugin.getServer().getScheduler().runTaskTimer(plugin, this::check, checkIntervalTicks, checkIntervalTicks);
+        logger.info("[WarmInstancePool] Started (check every " + checkIntervalTicks + " ticks, refill below " + maxMspt + "ms/tick).");
+    }
+
+    public void stop() {
+        if (task != null && !task.isCancelled()) task.cancel();
+        task = null;
+        lastDemandNanos.clear();
+        backoffUntilNanos.clear();
+        warmedInstances.clear();
+    }
+
+    /**
+     * Notes that a player joined (or queued for) an instance of this definition.
+     */
+    public void recordDemand(String definitionId) {
+        lastDemandNanos.put(definitionId.toLowerCase(), System.nanoTime());
+    }
+
+    private void check() {
+        long now = System.nanoTime();
+        boolean mayRefill = plugin.getServer().getAverageTickTime() <= maxMspt;
+
+        // A warmed instance that started a match (or was ended) is no longer the pool's to shrink
+        warmedInstances.removeIf(instanceId -> gameManager.getRunningGameInstance(instanceId)
+                .map(instance -> instance.getGameState() != GameState.WAITING)
+                .orElse(true));
+
+        for (GameDefinition definition : gameManager.getAllGameDefinitions()) {
+            int configured = definition.getRules().getWarmInstances();
+            if (configured <= 0) continue; // No pool for this definition
+            String key = definition.getDefinitionId().toLowerCase();
+            long lastDemand = lastDemandNanos.getOrDefault(key, startedNanos);
+            int target = (now - lastDemand) <= idleShrinkNanos ? configured : Math.min(configured, 1);
+
+            int idle = 0;
+            int preparing = gameManager.getProvisioningCount(definition.getDefinitionId()); // Not registered yet (template copies, footprint reads)
+            GameInstance surplus = null;
+            for (GameInstance instance : gameManager.getRunningInstances()) {
+                if (!instance.getDefinition().getDefinitionId().equalsIgnoreCase(definition.getDefinitionId())) continue;
+                if (instance.getGameState() == GameState.PREPARING) {
+                    preparing++;
+                } else if (instance.getGameState() == GameState.WAITING && instance.getPlayerCount() == 0) {
+                    idle++;
+                    if (warmedInstances.contains(instance.getInstanceId())) surplus = instance;
+                }
+            }
+
+            if (idle > target && surplus != null) {
+                logger.info("[WarmInstancePool] Shrinking pool for '" + definition.getDefinitionId() + "' (" + idle + " idle, target " + target + "). Ending " + surplus.getInstanceId().toString().substring(0,8));
+                gameManager.endGameInstance(surplus.getInstanceId());
+            } else if (mayRefill && preparing == 0 && idle < target && now >= backoffUntilNanos.getOrDefault(key, 0L)) {
+                Optional<ArenaDefinition> arenaOpt = gameManager.getCompatibleArena(definition);
+                if (arenaOpt.isEmpty()) {
+                    logger.warning("[WarmInstancePool] No compatible arena for '" + definition.getDefinitionId() + "'. Cannot warm instances.");
+                    backoffUntilNanos.put(key, now + FAILURE_BACKOFF_NANOS);
+                    continue;
+                }
+                logger.fine("[WarmInstancePool] Warming instance for '" + definition.getDefinitionId() + "' (" + idle + "/" + target + " ready).");
+                gameManager.createGameInstance(definition.getDefinitionId(), arenaOpt.get().getArenaId())
+                        .whenComplete((instance, error) -> {
+                            if (error != null) backoffUntilNanos.put(key, System.nanoTime() + FAILURE_BACKOFF_NANOS);
+                            else warmedInstances.add(instance.getInstanceId());
+                        });
+                mayRefill = false; // One paste per check, to keep the work spread out
+            }
+        }
+    }
+}
@@ -8,7 +8,7 @@ import io.mewb.andromedaGames.game.GameState;
 import io.mewb.andromedaGames.infection.votinghooks.InfectedSpeedBoostHook;
 import io.mewb.andromedaGames.infection.votinghooks.RevealSurvivorsHook;
 import io.mewb.andromedaGames.infection.votinghooks.SurvivorSpeedBoostHook;
-import io.mewb.andromedaGames.utils.GameScoreboard;
+import io.mewb.andromedaGames.perf.TickProfiler;
 import io.mewb.andromedaGames.utils.ParticleUtil;
 import io.mewb.andromedaGames.voting.VoteManager;
 import io.mewb.andromedaGames.voting.VotingHook;
@@ -22,32 +22,28 @@ import org.bukkit.Sound;
 import org.bukkit.SoundCategory;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.HandlerList;
-import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
-import org.bukkit.scheduler.BukkitTask;
-import org.bukkit.scoreboard.Team; // Spigot API Team
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
-public class InfectionGame extends GameInstance implements Listener {
+public class InfectionGame extends GameInstance {
 
     // Game parameters from GameDefinition's rules
     private int gameDurationSeconds;
     private int initialInfectedCount;
     private int countdownSeconds;
-    private String scoreboardTitle;
     private GameMode survivorGamemode = GameMode.SURVIVAL;
     private GameMode infectedGamemode = GameMode.SURVIVAL;
     private int minPlayersToStart;
@@ -60,16 +56,16 @@ public class InfectionGame extends GameInstance implements Listener {
     private final Set<UUID> infectedPlayers = new HashSet<>();
     private final Set<UUID> survivorPlayers = new HashSet<>(); // All players in playersInGame not in infectedPlayers
 
-    // Tasks
-    private BukkitTask gameTimerTask;
-    private BukkitTask countdownTask;
+    // Tick state - driven by the InstanceScheduler (see getTickPeriod)
+    private static final int ACTIVE_TICK_PERIOD = 5; // Infected particles 4x/second
+    private static final int ACTIVE_TICKS_PER_SECOND = 20 / ACTIVE_TICK_PERIOD;
+    private int countdownRemaining;
+    private int activeTickCounter;
     private int timeRemainingSeconds;
 
-    // Scoreboard Teams for visual differentiation (Spigot API)
-    private Team infectedTeamSpigot;
-    private Team survivorTeamSpigot;
-    private String infectedTeamNameSpigot; // Unique name for Spigot team for this instance
-    private String survivorTeamNameSpigot; // Unique name for Spigot team for this instance
+    // Nametag teams for visual differentiation, kept on the instance's scoreboard
+    private static final String INFECTED_TEAM = "infected";
+    private static final String SURVIVOR_TEAM = "survivor";
 
     private final Random random = new Random();
 
@@ -84,22 +80,15 @@ public class InfectionGame extends GameInstance implements Listener {
     public void setupInstance() {
         this.logger.info("[InfectionInstance:" + instanceId.toString().substring(0, 8) + "] Setting up with definition '" + definition.getDefinitionId() + "' and arena '" + arena.getArenaId() + "'.");
 
-        // Load rules from GameDefinition (inherited `this.definition`)
-        this.gameDurationSeconds = definition.getRule("game_duration_seconds", 300);
+        // Load rules from GameDefinition (compiled and validated when the definition was loaded)
+        InfectionRules rules = (InfectionRules) definition.getRules();
+        this.gameDurationSeconds = rules.getGameDurationSeconds();
         this.timeRemainingSeconds = this.gameDurationSeconds;
-        this.initialInfectedCount = definition.getRule("initial_infected_count", 1);
-        this.countdownSeconds = definition.getRule("countdown_seconds", 15);
-        this.minPlayersToStart = definition.getRule("min_players_to_start", 2);
-        this.scoreboardTitle = ChatColor.translateAlternateColorCodes('&', definition.getRule("scoreboard_title", "&c&lINFECTION: &e" + definition.getDisplayName()));
-
-        try {
-            this.survivorGamemode = GameMode.valueOf(definition.getRule("survivor_gamemode", "SURVIVAL").toString().toUpperCase());
-            this.infectedGamemode = GameMode.valueOf(definition.getRule("infected_gamemode", "SURVIVAL").toString().toUpperCase());
-        } catch (IllegalArgumentException e) {
-            this.logger.warning("[InfectionInstance:" + instanceId.toString().substring(0,8) + "] Invalid gamemode in definition. Defaulting to SURVIVAL. Error: " + e.getMessage());
-            this.survivorGamemode = GameMode.SURVIVAL;
-            this.infectedGamemode = GameMode.SURVIVAL;
-        }
+        this.initialInfectedCount = rules.getInitialInfectedCount();
+        this.countdownSeconds = rules.getCountdownSeconds();
+        this.minPlayersToStart = rules.getMinPlayersToStart();
+        this.survivorGamemode = rules.getSurvivorGamemode();
+        this.infectedGamemode = rules.getInfectedGamemode();
 
         // Load locations from ArenaDefinition, making them absolute using helpers from GameInstance
         this.absoluteLobbySpawn = getAbsoluteLocation("lobby_spawn");
@@ -120,12 +109,7 @@ public class InfectionGame extends GameInstance implements Listener {
         this.absoluteGameSpawns.forEach(loc -> this.logger.finer("[InfectionInstance:" + instanceId.toString().substring(0,8) + "] Game Spawn: " + loc.toString()));
 
 
-        // Initialize unique Spigot team names for this instance
-        // Using a shorter, more readable prefix for team names
-        String instancePrefix = "ag_" + instanceId.toString().substring(0, 4);
-        this.infectedTeamNameSpigot = instancePrefix + "_inf";
-        this.survivorTeamNameSpigot = instancePrefix + "_surv";
-        setupSpigotScoreboardTeams();
+        setupNametagTeams();
 
         // Voting System Configuration from GameDefinition
         ConfigurationSection votingConfigSection = definition.getVotingConfig();
@@ -180,58 +164,22 @@ public class InfectionGame extends GameInstance implements Listener {
         this.logger.info("[InfectionInstance:" + instanceId.toString().substring(0,8) + "] Loaded " + availableVotingHooks.size() + " voting hooks from definition.");
     }
 
-    private void setupSpigotScoreboardTeams() {
-        org.bukkit.scoreboard.Scoreboard mainScoreboard = Bukkit.getScoreboardManager().getMainScoreboard();
-
-        // Cleanup existing teams with the same name first (e.g., from a server reload or unclean shutdown)
-        Team existingInfectedTeam = mainScoreboard.getTeam(infectedTeamNameSpigot);
-        if (existingInfectedTeam != null) existingInfectedTeam.unregister();
-        infectedTeamSpigot = mainScoreboard.registerNewTeam(infectedTeamNameSpigot);
-        infectedTeamSpigot.setColor(ChatColor.RED);
-        infectedTeamSpigot.setPrefix(ChatColor.RED + "[INFECTED] ");
-        infectedTeamSpigot.setAllowFriendlyFire(false); // Infected shouldn't hurt each other by default
-        infectedTeamSpigot.setCanSeeFriendlyInvisibles(true); // Important if infected get invisibility
-
-        Team existingSurvivorTeam = mainScoreboard.getTeam(survivorTeamNameSpigot);
-        if (existingSurvivorTeam != null) existingSurvivorTeam.unregister();
-        survivorTeamSpigot = mainScoreboard.registerNewTeam(survivorTeamNameSpigot);
-        survivorTeamSpigot.setColor(ChatColor.GREEN);
-        survivorTeamSpigot.setPrefix(ChatColor.GREEN + "[SURVIVOR] ");
+    private void setupNametagTeams() {
+        scoreboard.registerNametagTeam(INFECTED_TEAM, ChatColor.RED, ChatColor.RED + "[INFECTED] ", team -> {
+            team.setAllowFriendlyFire(false); // Infected shouldn't hurt each other by default
+            team.setCanSeeFriendlyInvisibles(true); // Important if infected get invisibility
+        });
         // Friendly fire for survivors is usually true in Bukkit by default, can be set if needed.
-        this.logger.fine("[InfectionInstance:" + instanceId.toString().substring(0,8) + "] Spigot teams '" + infectedTeamNameSpigot + "' and '" + survivorTeamNameSpigot + "' configured.");
-    }
-
-    private void clearSpigotScoreboardTeams() {
-        org.bukkit.scoreboard.Scoreboard mainScoreboard = Bukkit.getScoreboardManager().getMainScoreboard();
-        if (infectedTeamSpigot != null) {
-            Team teamToUnregister = mainScoreboard.getTeam(infectedTeamSpigot.getName()); // Use getName() for safety
-            if (teamToUnregister != null) {
-                teamToUnregister.unregister();
-                this.logger.fine("[InfectionInstance:" + instanceId.toString().substring(0,8) + "] Unregistered Spigot team: " + infectedTeamSpigot.getName());
-            }
-            infectedTeamSpigot = null;
-        }
-        if (survivorTeamSpigot != null) {
-            Team teamToUnregister = mainScoreboard.getTeam(survivorTeamSpigot.getName());
-            if (teamToUnregister != null) {
-                teamToUnregister.unregister();
-                this.logger.fine("[InfectionInstance:" + instanceId.toString().substring(0,8) + "] Unregistered Spigot team: " + survivorTeamSpigot.getName());
-            }
-            survivorTeamSpigot = null;
-        }
+        scoreboard.registerNametagTeam(SURVIVOR_TEAM, ChatColor.GREEN, ChatColor.GREEN + "[SURVIVOR] ", null);
+        this.logger.fine("[InfectionInstance:" + instanceId.toString().substring(0,8) + "] Nametag teams configured.");
     }
 
     @Override
     public void cleanupInstance() {
         this.logger.info("[InfectionInstance:" + instanceId.toString().substring(0,8) + "] Cleaning up...");
-        cancelTasks(); // Cancels countdownTask, gameTimerTask, and any active vote
-
-        // Destroy player-specific scoreboards
-        playerScoreboards.values().forEach(GameScoreboard::destroy);
-        playerScoreboards.clear();
+        cancelTasks(); // Ends any active vote; ticking stops with the instance's unregistration
 
-        HandlerList.unregisterAll(this); // Unregister instance-specific listeners
-        clearSpigotScoreboardTeams(); // Unregister Spigot teams associated with this instance
+        scoreboard.destroy(); // Hides the sidebar and unregisters its boards and nametag teams
 
         // playersInGame, infectedPlayers, survivorPlayers will be cleared if stop() is called,
         // or naturally when the instance is dereferenced.
@@ -240,20 +188,20 @@ public class InfectionGame extends GameInstance implements Listener {
     }
 
     private void cancelTasks() {
-        if (countdownTask != null && !countdownTask.isCancelled()) {
-            countdownTask.cancel();
-            countdownTask = null;
-        }
-        if (gameTimerTask != null && !gameTimerTask.isCancelled()) {
-            gameTimerTask.cancel();
-            gameTimerTask = null;
-        }
+        // Countdown and game timer are ticked by the InstanceScheduler and stop with the state change
         if (voteManager != null && voteManager.isVoteActive()) {
             voteManager.endVote(false); // End vote without announcing a winner if game is ending abruptly
         }
         this.logger.fine("[InfectionInstance:" + instanceId.toString().substring(0,8) + "] All scheduled tasks cancelled.");
     }
 
+    @Override
+    public int getTickPeriod(GameState phase) {
+        if (phase == GameState.STARTING) return 20;
+        if (phase == GameState.ACTIVE) return ACTIVE_TICK_PERIOD;
+        return 0;
+    }
+
     @Override
     public boolean start(boolean bypassMinPlayerCheck) {
         if (gameState == GameState.DISABLED) {
@@ -284,36 +232,27 @@ public class InfectionGame extends GameInstance implements Listener {
         this.activeVotingHook = null; // Reset active hook (inherited from GameInstance)
         this.activeHookEndTimeMillis = 0; // Reset hook end time (inherited)
 
+        List<Player> playersToPrepare = new ArrayList<>();
         // Prepare players: clear inventory, set gamemode, setup scoreboards
         playersInGame.forEach(uuid -> {
             Player p = Bukkit.getPlayer(uuid);
             if (p != null && p.isOnline()) {
-                playerStateManager.clearPlayerForGame(p, this.survivorGamemode); // All start as survivors
-
-                GameScoreboard sb = playerScoreboards.get(uuid);
-                if (sb == null) {
-                    sb = new GameScoreboard(p, scoreboardTitle);
-                    playerScoreboards.put(uuid, sb);
-                } else {
-                    sb.updateTitle(scoreboardTitle); // Ensure title is fresh
-                }
-                sb.show();
-
-                if (survivorTeamSpigot != null) { // Add to Spigot survivor team
-                    survivorTeamSpigot.addEntry(p.getName());
-                }
-                updateScoreboard(p); // Initial scoreboard display
+                playersToPrepare.add(p); // Cleared for the game in batches below
+                scoreboard.addViewer(p);
+                scoreboard.setNametagTeam(p.getName(), SURVIVOR_TEAM);
             }
         });
+        updateAllScoreboards(); // Initial scoreboard display
 
         // Teleport players to game spawns
+        Map<Player, Location> destinations = new LinkedHashMap<>();
         if (!absoluteGameSpawns.isEmpty()) {
             List<UUID> playerList = new ArrayList<>(playersInGame);
             Collections.shuffle(playerList); // Shuffle for random spawn assignment
             for (int i = 0; i < playerList.size(); i++) {
                 Player player = Bukkit.getPlayer(playerList.get(i));
                 if (player != null && player.isOnline()) {
-                    player.teleport(absoluteGameSpawns.get(i % absoluteGameSpawns.size()));
+                    destinations.put(player, absoluteGameSpawns.get(i % absoluteGameSpawns.size()));
                 }
             }
         } else {
@@ -321,17 +260,16 @@ public class InfectionGame extends GameInstance implements Listener {
             // Fallback: teleport to lobby spawn if game spawns are missing
             playersInGame.forEach(uuid -> {
                 Player p = Bukkit.getPlayer(uuid);
-                if (p != null && p.isOnline() && absoluteLobbySpawn != null) p.teleport(absoluteLobbySpawn);
+                if (p != null && p.isOnline() && absoluteLobbySpawn != null) destinations.put(p, absoluteLobbySpawn);
             });
         }
 
-        startCountdown();
+        prepareAndTeleportForStart(playersToPrepare, this.survivorGamemode, destinations, this::startCountdown); // All start as survivors; countdown begins once everyone is ready
         return true;
     }
 
     private void startCountdown() {
-        cancelTasks(); // Ensure no previous countdown is running
-        final int[] currentCountdownValue = {this.countdownSeconds};
+        cancelTasks(); // Ensure no previous vote is running
         broadcastToGamePlayers(ChatColor.GOLD + "INFECTION! " + ChatColor.YELLOW + "The game will begin soon. Someone will be chosen...");
 
         for (UUID uuid : playersInGame) {
@@ -339,33 +277,30 @@ public class InfectionGame extends GameInstance implements Listener {
             if (p != null) p.playSound(p.getLocation(), Sound.BLOCK_NOTE_BLOCK_BELL, SoundCategory.PLAYERS, 0.8f, 0.7f);
         }
 
-        this.countdownTask = plugin.getServer().getScheduler().runTaskTimer(plugin, () -> {
-            if (gameState != GameState.STARTING) {
-                cancelTasks();
-                return;
-            }
+        this.countdownRemaining = this.countdownSeconds;
+    }
 
-            if (currentCountdownValue[0] > 0) {
-                String titleMessage = ChatColor.RED + "GET READY!";
-                String subtitleMessage = ChatColor.YELLOW.toString() + currentCountdownValue[0] + "...";
-                for (UUID uuid : playersInGame) {
-                    Player p = Bukkit.getPlayer(uuid);
-                    if (p != null && p.isOnline()) {
-                        p.sendTitle(titleMessage, subtitleMessage, 0, 25, 5);
-                        if (currentCountdownValue[0] <= 5) { // Sound for last 5 seconds
-                            p.playSound(p.getLocation(), Sound.BLOCK_NOTE_BLOCK_HAT, SoundCategory.PLAYERS, 1f, 0.8f + (0.1f * (5 - currentCountdownValue[0])) );
-                        }
+    @Override
+    protected void countdownTick() {
+        if (countdownRemaining > 0) {
+            String titleMessage = ChatColor.RED + "GET READY!";
+            String subtitleMessage = ChatColor.YELLOW.toString() + countdownRemaining + "...";
+            for (UUID uuid : playersInGame) {
+                Player p = Bukkit.getPlayer(uuid);
+                if (p != null && p.isOnline()) {
+                    p.sendTitle(titleMessage, subtitleMessage, 0, 25, 5);
+                    if (countdownRemaining <= 5) { // Sound for last 5 seconds
+                        p.playSound(p.getLocation(), Sound.BLOCK_NOTE_BLOCK_HAT, SoundCategory.PLAYERS, 1f, 0.8f + (0.1f * (5 - countdownRemaining)) );
                     }
                 }
             }
+        }
 
-            if (currentCountdownValue[0] <= 0) {
-                cancelTasks(); // Stop this countdown task
-                selectInitialInfected();
-                activateGame(); // Transition to ACTIVE state and start game logic
-            }
-            currentCountdownValue[0]--;
-        }, 0L, 20L); // 0L delay, 20L (1 second) period
+        if (countdownRemaining <= 0) {
+            selectInitialInfected();
+            activateGame(); // Transition to ACTIVE state and start game logic
+        }
+        countdownRemaining--;
     }
 
     private void selectInitialInfected() {
@@ -427,9 +362,8 @@ public class InfectionGame extends GameInstance implements Listener {
         // targetPlayer.addPotionEffect(new PotionEffect(PotionEffectType.GLOWING, Integer.MAX_VALUE, 0, false, false, false)); // Persistent glow
         targetPlayer.setGameMode(infectedGamemode); // Change gamemode if different
 
-        // Update Spigot scoreboard teams
-        if (survivorTeamSpigot != null) survivorTeamSpigot.removeEntry(targetPlayer.getName());
-        if (infectedTeamSpigot != null) infectedTeamSpigot.addEntry(targetPlayer.getName());
+        // Update nametag team
+        scoreboard.setNametagTeam(targetPlayer.getName(), INFECTED_TEAM);
 
         // Notify the player they've been infected
         String infectorName = (infector != null) ? infector.getName() : "the initial plague";
@@ -455,7 +389,6 @@ public class InfectionGame extends GameInstance implements Listener {
     private void activateGame() {
         if (gameState != GameState.STARTING) return; // Should only activate from STARTING
         setGameState(GameState.ACTIVE);
-        plugin.getServer().getPluginManager().registerEvents(this, plugin); // Register instance-specific listener
         broadcastToGamePlayers(ChatColor.RED + "" + ChatColor.BOLD + "The INFECTION has begun! RUN or HUNT!");
         this.logger.info("[InfectionInstance:" + instanceId.toString().substring(0,8) + "] is now ACTIVE.");
 
@@ -464,37 +397,7 @@ public class InfectionGame extends GameInstance implements Listener {
             this.lastVoteTriggerTimeMillis = System.currentTimeMillis(); // Initialize for first vote interval
         }
 
-        // Start main game timer task
-        this.gameTimerTask = plugin.getServer().getScheduler().runTaskTimer(plugin, () -> {
-            if (gameState != GameState.ACTIVE) {
-                cancelTasks(); // Stop this task if game is no longer active
-                return;
-            }
-            timeRemainingSeconds--;
-
-            // Handle voting triggers
-            if (votingEnabled && voteManager != null && !voteManager.isVoteActive() &&
-                    availableVotingHooks != null && !availableVotingHooks.isEmpty()) {
-                if ((System.currentTimeMillis() - lastVoteTriggerTimeMillis) / 1000 >= voteIntervalSeconds) {
-                    triggerInfectionVote();
-                }
-            }
-
-            // Handle active voting hook expiration
-            if (activeVotingHook != null && activeHookEndTimeMillis > 0 && System.currentTimeMillis() >= activeHookEndTimeMillis) {
-                broadcastToGamePlayers(ChatColor.YELLOW + activeVotingHook.getDisplayName() + " has worn off!");
-                // Specific cleanup for the hook could be done here if VotingHook had a 'cleanUp' method
-                activeVotingHook = null; // Reset active hook (inherited)
-                activeHookEndTimeMillis = 0; // Reset hook end time (inherited)
-            }
-
-            updateAllScoreboards(); // Update scoreboards every second
-
-            if (timeRemainingSeconds <= 0) {
-                broadcastToGamePlayers(ChatColor.GOLD + "Time's up! The survivors have held out!");
-                stop(false); // Survivors win if time runs out
-            }
-        }, 0L, 20L); // 0L delay, 20L (1 second) period
+        this.activeTickCounter = 0;
     }
 
     private void triggerInfectionVote() {
@@ -554,7 +457,6 @@ public class InfectionGame extends GameInstance implements Listener {
         GameState previousState = gameState;
         setGameState(GameState.ENDING);
         cancelTasks(); // Stop game timer, countdown, and vote tasks
-        HandlerList.unregisterAll(this); // Unregister instance-specific listener
 
         String winnerMessage;
         Sound endSound = Sound.ENTITY_VILLAGER_NO; float pitch = 1f;
@@ -587,6 +489,7 @@ public class InfectionGame extends GameInstance implements Listener {
         final float finalPitch = pitch;
 
         // Use a copy of playersInGame for safe iteration while modifying player states/teleporting
+        List<Player> playersToRestore = new ArrayList<>();
         String finalWinnerMessage = winnerMessage;
         new HashSet<>(playersInGame).forEach(uuid -> {
             Player player = Bukkit.getPlayer(uuid);
@@ -596,15 +499,12 @@ public class InfectionGame extends GameInstance implements Listener {
                         10, 80, 30);
                 player.playSound(player.getLocation(), finalEndSound, SoundCategory.PLAYERS, 1f, finalPitch);
 
-                GameScoreboard sb = playerScoreboards.remove(uuid); // Remove and destroy scoreboard
-                if (sb != null) sb.destroy();
+                scoreboard.removeViewer(player);
 
-                playerStateManager.restorePlayerState(player); // Restore original state
+                playersToRestore.add(player); // Restored in batches below
                 player.removePotionEffect(PotionEffectType.GLOWING); // Ensure glow is removed
 
-                // Remove from Spigot teams
-                if (infectedTeamSpigot != null) infectedTeamSpigot.removeEntry(player.getName());
-                if (survivorTeamSpigot != null) survivorTeamSpigot.removeEntry(player.getName());
+                scoreboard.setNametagTeam(player.getName(), null); // Remove from nametag teams
 
                 if (absoluteLobbySpawn != null) { // Teleport to lobby
                     player.teleport(absoluteLobbySpawn);
@@ -615,16 +515,15 @@ public class InfectionGame extends GameInstance implements Listener {
                 playerStateManager.removePlayerState(Bukkit.getOfflinePlayer(uuid).getPlayer()); // Clean up saved state
             }
         });
+        playerStateManager.restoreAll(playersToRestore); // Spread over ticks, not one packet burst
 
         // Clear all instance-specific player tracking sets
         playersInGame.clear();
         infectedPlayers.clear();
         survivorPlayers.clear();
 
-        // Arena reset is handled by GameManager when it calls cleanupInstance() and then potentially resets arena.
-        setGameState(GameState.WAITING); // Set back to WAITING for potential reuse or proper shutdown by GameManager
-        this.logger.info("[InfectionInstance:" + instanceId.toString().substring(0,8) + "] logic finished, set to WAITING.");
-        // GameManager should call cleanupInstance() which might then trigger ArenaManager.resetArena(this.arena, this.instanceBaseWorldLocation)
+        this.logger.info("[InfectionInstance:" + instanceId.toString().substring(0,8) + "] logic finished. Resetting arena for the next match.");
+        finishMatch(); // GameManager resets the arena and returns this instance to WAITING
     }
 
 
@@ -645,7 +544,7 @@ public class InfectionGame extends GameInstance implements Listener {
             return false;
         }
 
-        int maxPlayers = definition.getRule("max_players", 20);
+        int maxPlayers = getMaxPlayers();
         if (playersInGame.size() >= maxPlayers) {
             player.sendMessage(ChatColor.RED + "This game instance is full (" + playersInGame.size() + "/" + maxPlayers + ")!");
             return false;
@@ -679,8 +578,7 @@ public class InfectionGame extends GameInstance implements Listener {
         UUID playerUUID = player.getUniqueId();
         this.logger.info("[InfectionInstance:" + instanceId.toString().substring(0,8) + "] Attempting to remove player " + player.getName());
 
-        GameScoreboard sb = playerScoreboards.remove(playerUUID);
-        if (sb != null) sb.destroy();
+        scoreboard.removeViewer(player);
 
         boolean wasInGame = playersInGame.remove(playerUUID); // Remove from master list in GameInstance
         boolean wasInfected = infectedPlayers.remove(playerUUID);
@@ -689,9 +587,7 @@ public class InfectionGame extends GameInstance implements Listener {
         playerStateManager.restorePlayerState(player); // Restore state regardless of role
         player.removePotionEffect(PotionEffectType.GLOWING); // Ensure effects are cleared
 
-        // Remove from Spigot teams
-        if (infectedTeamSpigot != null) infectedTeamSpigot.removeEntry(player.getName());
-        if (survivorTeamSpigot != null) survivorTeamSpigot.removeEntry(player.getName());
+        scoreboard.setNametagTeam(player.getName(), null); // Remove from nametag teams
 
         if (wasInGame) {
             player.sendMessage(ChatColor.GRAY + "You left Infection: " + definition.getDisplayName());
@@ -720,12 +616,8 @@ public class InfectionGame extends GameInstance implements Listener {
 
     @Override
     protected void gameTick() {
-        // This method is called by GameInstance.tick() if gameState is ACTIVE.
-        // The main game timer and periodic updates (like scoreboard, vote checks) are handled
-        // by the BukkitTask scheduled in `activateGame()`.
-        // This gameTick() could be used for more frequent, per-tick logic if needed,
-        // but for Infection, the 1-second timer in activateGame() handles most periodic tasks.
-        // For example, if infected players had a passive particle effect, it could be spawned here.
+        // Called by the InstanceScheduler every ACTIVE_TICK_PERIOD ticks while ACTIVE.
+        // Infected particles run on every call; the timer, votes and scoreboards run once per second.
         if (gameState != GameState.ACTIVE) return;
 
         for(UUID infectedUUID : infectedPlayers) {
@@ -735,23 +627,41 @@ public class InfectionGame extends GameInstance implements Listener {
             }
         }
 
-    }
+        if (++activeTickCounter < ACTIVE_TICKS_PER_SECOND) return;
+        activeTickCounter = 0;
+        timeRemainingSeconds--;
 
-    @EventHandler
-    public void onPlayerDamageByPlayer(EntityDamageByEntityEvent event) {
-        if (gameState != GameState.ACTIVE) return; // Only process during active game
-        if (!(event.getEntity() instanceof Player && event.getDamager() instanceof Player)) return;
+        // Handle voting triggers
+        if (votingEnabled && voteManager != null && !voteManager.isVoteActive() &&
+                availableVotingHooks != null && !availableVotingHooks.isEmpty()) {
+            if ((System.currentTimeMillis() - lastVoteTriggerTimeMillis) / 1000 >= voteIntervalSeconds) {
+                triggerInfectionVote();
+            }
+        }
 
-        Player damaged = (Player) event.getEntity();
-        Player damager = (Player) event.getDamager();
+        // Handle active voting hook expiration
+        if (activeVotingHook != null && activeHookEndTimeMillis > 0 && System.currentTimeMillis() >= activeHookEndTimeMillis) {
+            broadcastToGamePlayers(ChatColor.YELLOW + activeVotingHook.getDisplayName() + " has worn off!");
+            // Specific cleanup for the hook could be done here if VotingHook had a 'cleanUp' method
+            activeVotingHook = null; // Reset active hook (inherited)
+            activeHookEndTimeMillis = 0; // Reset hook end time (inherited)
+        }
 
-        // CRITICAL: Ensure both players are part of THIS game instance
-        if (!playersInGame.contains(damaged.getUniqueId()) || !playersInGame.contains(damager.getUniqueId())) {
-            return; // Event is not relevant to this instance
+        updateAllScoreboards(); // Update scoreboards every second
+
+        if (timeRemainingSeconds <= 0) {
+            broadcastToGamePlayers(ChatColor.GOLD + "Time's up! The survivors have held out!");
+            stop(false); // Survivors win if time runs out
         }
+    }
 
-        // Infection logic: an infected player damages a survivor
-        if (infectedPlayers.contains(damager.getUniqueId()) && survivorPlayers.contains(damaged.getUniqueId())) {
+    @Override
+    public void onPlayerDamageByPlayer(EntityDamageByEntityEvent event, Player damaged, Player damager) {
+        if (gameState != GameState.ACTIVE) return; // Only process during active game
+        // GameEventRouter only forwards hits where both players are in this instance
+
+        // Infection logic: an infected player hits a survivor (in melee; projectiles don't tag)
+        if (event.getDamager() == damager && infectedPlayers.contains(damager.getUniqueId()) && survivorPlayers.contains(damaged.getUniqueId())) {
             infectPlayer(damaged.getUniqueId(), damager, true); // Infect the survivor, announce publicly
             event.setDamage(0.1); // Minimize actual damage, the tag is the important part
             // Could add custom sound/particle for successful infection tag
@@ -809,51 +719,38 @@ public class InfectionGame extends GameInstance implements Listener {
     }
 
     private void updateAllScoreboards() {
-        for (UUID playerUUID : playersInGame) { // Iterate over playersInGame from GameInstance
-            Player p = Bukkit.getPlayer(playerUUID);
-            if (p != null && p.isOnline()) {
-                updateScoreboard(p);
-            }
-        }
-    }
-
-    private void updateScoreboard(Player player) {
-        GameScoreboard sb = playerScoreboards.get(player.getUniqueId());
-        if (sb == null) return; // Should not happen if player is in game and scoreboard was set up
-
-        sb.clearAllLines(); // Clear previous lines
-        int line = 0;
-
-        sb.setLine(line++, "&7Time Left: &e" + formatTime(this.timeRemainingSeconds));
-        sb.setLine(line++, "&m--------------------"); // Separator
-        sb.setLine(line++, "&aSurvivors: &f" + survivorPlayers.size());
-        sb.setLine(line++, "&cInfected: &f" + infectedPlayers.size());
-        sb.setLine(line++, "&m--------------------"); // Separator
-
-        // Player's role
-        if (infectedPlayers.contains(player.getUniqueId())) {
-            sb.setLine(line++, "&cYOU ARE INFECTED");
-            sb.setLine(line++, "&eObjective: Infect survivors!");
-        } else if (survivorPlayers.contains(player.getUniqueId())) {
-            sb.setLine(line++, "&aYOU ARE A SURVIVOR");
-            sb.setLine(line++, "&eObjective: Survive!");
-        } else {
-            sb.setLine(line++, "&7Role: Spectating (or error)"); // Fallback
-        }
+        long profileStart = profiler.start();
+        List<String> top = new ArrayList<>();
+        top.add("&7Time Left: &e" + formatTime(this.timeRemainingSeconds));
+        top.add("&m--------------------"); // Separator
+        top.add("&aSurvivors: &f" + survivorPlayers.size());
+        top.add("&cInfected: &f" + infectedPlayers.size());
+        top.add("&m--------------------"); // Separator
 
         // Active voting hook display
+        List<String> bottom = new ArrayList<>();
         if (activeVotingHook != null) { // Check inherited field
-            sb.setLine(line++, "&m--------------------");
-            sb.setLine(line++, "&dEvent: &f" + activeVotingHook.getDisplayName());
+            bottom.add("&m--------------------");
+            bottom.add("&dEvent: &f" + activeVotingHook.getDisplayName());
             if (activeHookEndTimeMillis > 0) { // Check inherited field
                 long hookTimeLeft = (activeHookEndTimeMillis - System.currentTimeMillis()) / 1000;
                 if (hookTimeLeft > 0) {
-                    sb.setLine(line++, "&dTime Left: &f" + formatTime((int) hookTimeLeft));
+                    bottom.add("&dTime Left: &f" + formatTime((int) hookTimeLeft));
                 }
             }
         }
-        // Ensure scoreboard is shown (it should be, but just in case)
-        // sb.show(); // GameScoreboard.show() is typically called once when player joins/game starts
+        scoreboard.update(top, this::getRoleLines, bottom); // One board per role, shared by everyone in it
+        profiler.record(TickProfiler.Section.SCOREBOARD, this, profileStart);
+    }
+
+    // Player's role, the only per-player part of the sidebar
+    private List<String> getRoleLines(Player player) {
+        if (infectedPlayers.contains(player.getUniqueId())) {
+            return List.of("&cYOU ARE INFECTED", "&eObjective: Infect survivors!");
+        } else if (survivorPlayers.contains(player.getUniqueId())) {
+            return List.of("&aYOU ARE A SURVIVOR", "&eObjective: Survive!");
+        }
+        return List.of("&7Role: Spectating (or error)"); // Fallback
     }
 
     private String formatTime(int totalSeconds) {
@@ -0,0 +1,26 @@
+package io.mewb.andromedaGames.infection;
+
+import io.mewb.andromedaGames.game.GameRules;
+import io.mewb.andromedaGames.game.RuleReader;
+import org.bukkit.GameMode;
+
+/**
+ * Compiled rules of an INFECTION game definition.
+ */
+public class InfectionRules extends GameRules {
+
+    private final int initialInfectedCount;
+    private final GameMode survivorGamemode;
+    private final GameMode infectedGamemode;
+
+    public InfectionRules(RuleReader rules, String displayName) {
+        super(rules, 20, 15, 300, "&c&lINFECTION: &e" + displayName);
+        this.initialInfectedCount = rules.getInt("initial_infected_count", 1, 0);
+        this.survivorGamemode = rules.getEnum("survivor_gamemode", GameMode.class, GameMode.SURVIVAL);
+        this.infectedGamemode = rules.getEnum("infected_gamemode", GameMode.class, GameMode.SURVIVAL);
+    }
+
+    public int getInitialInfectedCount() { return initialInfectedCount; }
+    public GameMode getSurvivorGamemode() { return survivorGamemode; }
+    public GameMode getInfectedGamemode() { return infectedGamemode; }
+}
@@ -10,8 +10,8 @@ import io.mewb.andromedaGames.koth.votinghooks.LaunchPadsHook;
 import io.mewb.andromedaGames.koth.votinghooks.LowGravityHook;
 import io.mewb.andromedaGames.koth.votinghooks.PlayerSwapHook;
 import io.mewb.andromedaGames.koth.votinghooks.TntDropHook;
+import io.mewb.andromedaGames.perf.TickProfiler;
 // PlayerStateManager is inherited from GameInstance
-import io.mewb.andromedaGames.utils.GameScoreboard;
 // LocationUtil might not be directly needed if using RelativeLocation resolution from GameInstance
 import io.mewb.andromedaGames.utils.ParticleUtil;
 // RelativeLocation is used by GameInstance's getAbsoluteLocation helper
@@ -29,13 +29,11 @@ import org.bukkit.SoundCategory;
 import org.bukkit.World;
 import org.bukkit.configuration.ConfigurationSection; // For parsing voting config from GameDefinition
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
@@ -56,7 +54,6 @@ public class KoTHGame extends GameInstance {
     private int minPlayersToStart;
     private int countdownSeconds;
     private GameMode gameplayGamemode;
-    private String scoreboardTitle;
 
 
     // Arena details - from ArenaDefinition + instanceBaseWorldLocation
@@ -64,16 +61,16 @@ public class KoTHGame extends GameInstance {
     private List<Location> absoluteGameSpawns;
 
     // Game state tracking
-    private final Map<UUID, Integer> playerScores;
-    private BukkitTask gameTickTask;
-    private BukkitTask countdownTask;
+    private static final int TOP_PLAYERS_SHOWN = 3;
+    private final KoTHLeaderboard leaderboard;
+    private int countdownRemaining; // Driven by countdownTick() while STARTING
     private UUID playerCurrentlyOnHill = null;
 
 
     public KoTHGame(AndromedaGames plugin, UUID instanceId, GameDefinition definition, ArenaDefinition arena, Location instanceBaseWorldLocation) {
         super(plugin, instanceId, definition, arena, instanceBaseWorldLocation);
         this.playersInGame = new HashSet<>();
-        this.playerScores = new HashMap<>();
+        this.leaderboard = new KoTHLeaderboard(TOP_PLAYERS_SHOWN);
         this.absoluteGameSpawns = new ArrayList<>();
         this.availableVotingHooks = new ArrayList<>(); // Inherited from GameInstance
         // Fields will be set in setupInstance()
@@ -83,20 +80,15 @@ public class KoTHGame extends GameInstance {
     public void setupInstance() {
         this.logger.info("[KoTHInstance:" + instanceId.toString().substring(0,8) + "] Setting up with definition '" + definition.getDefinitionId() + "' and arena '" + arena.getArenaId() + "'.");
 
-        // Load rules from GameDefinition
-        this.gameDurationSeconds = definition.getRule("game_duration_seconds", 300);
-        this.minPlayersToStart = definition.getRule("min_players_to_start", 2);
-        this.countdownSeconds = definition.getRule("countdown_seconds", 10);
-        this.originalHillRadius = definition.getRule("hill_radius", 5);
+        // Load rules from GameDefinition (compiled and validated when the definition was loaded)
+        KoTHRules rules = (KoTHRules) definition.getRules();
+        this.gameDurationSeconds = rules.getGameDurationSeconds();
+        this.minPlayersToStart = rules.getMinPlayersToStart();
+        this.countdownSeconds = rules.getCountdownSeconds();
+        this.originalHillRadius = rules.getHillRadius();
         this.currentHillRadius = this.originalHillRadius;
         this.currentHillRadiusSquared = this.currentHillRadius * this.currentHillRadius;
-        this.scoreboardTitle = ChatColor.translateAlternateColorCodes('&', definition.getRule("scoreboard_title", "&6&lKoTH: &e" + definition.getDisplayName()));
-        try {
-            this.gameplayGamemode = GameMode.valueOf(definition.getRule("gameplay_gamemode", "SURVIVAL").toString().toUpperCase());
-        } catch (IllegalArgumentException e) {
-            this.logger.warning("Invalid gameplay_gamemode in definition for " + definition.getDefinitionId() + ". Defaulting to SURVIVAL.");
-            this.gameplayGamemode = GameMode.SURVIVAL;
-        }
+        this.gameplayGamemode = rules.getGameplayGamemode();
 
         // Load locations from ArenaDefinition, making them absolute using helpers from GameInstance
         this.absoluteHillCenter = getAbsoluteLocation("hill_center");
@@ -167,19 +159,21 @@ public class KoTHGame extends GameInstance {
     public void cleanupInstance() {
         this.logger.info("Cleaning up KoTH instance: " + instanceId.toString().substring(0,8));
         cancelTasks();
-        playerScoreboards.values().forEach(GameScoreboard::destroy);
-        playerScoreboards.clear();
+        scoreboard.destroy();
         // ArenaManager will handle arena reset/deletion based on instanceBaseWorldLocation
     }
 
     private void cancelTasks() {
-        if (countdownTask != null && !countdownTask.isCancelled()) countdownTask.cancel();
-        countdownTask = null;
-        if (gameTickTask != null && !gameTickTask.isCancelled()) gameTickTask.cancel();
-        gameTickTask = null;
+        // Countdown and game ticks are owned by the InstanceScheduler and stop with the state change
         if (voteManager != null && voteManager.isVoteActive()) voteManager.endVote(false);
     }
 
+    @Override
+    public int getTickPeriod(GameState phase) {
+        // Countdown and scoring both run once per second
+        return (phase == GameState.STARTING || phase == GameState.ACTIVE) ? 20 : 0;
+    }
+
     @Override
     public boolean start(boolean bypassMinPlayerCheck) {
         if (gameState == GameState.DISABLED) {
@@ -189,8 +183,7 @@ public class KoTHGame extends GameInstance {
         if (gameState != GameState.WAITING && gameState != GameState.ENDING) {
             this.logger.warning("KoTH instance " + instanceId.toString().substring(0,8) + " cannot start, current state: " + gameState); return false;
         }
-        // Get minPlayers from definition
-        int minPlayersRequired = definition.getRule("min_players_to_start", 2);
+        int minPlayersRequired = minPlayersToStart;
 
         if (!bypassMinPlayerCheck && playersInGame.size() < minPlayersRequired) {
             broadcastToGamePlayers(ChatColor.RED + "Not enough players to start! Need " + minPlayersRequired + ", have " + playersInGame.size() + ".");
@@ -203,48 +196,44 @@ public class KoTHGame extends GameInstance {
         }
 
         setGameState(GameState.STARTING);
-        playerScores.clear();
+        leaderboard.clear();
         playerCurrentlyOnHill = null;
         activeVotingHook = null; // Inherited from GameInstance
         activeHookEndTimeMillis = 0; // Inherited from GameInstance
         this.currentHillRadius = this.originalHillRadius;
         this.currentHillRadiusSquared = this.currentHillRadius * this.currentHillRadius;
 
+        List<Player> playersToPrepare = new ArrayList<>();
         playersInGame.forEach(uuid -> {
-            playerScores.put(uuid, 0);
             Player p = Bukkit.getPlayer(uuid);
+            leaderboard.add(uuid, p != null ? p.getName() : "Player");
             if (p != null) {
-                playerStateManager.clearPlayerForGame(p, this.gameplayGamemode);
-                GameScoreboard sb = playerScoreboards.get(uuid);
-                if (sb == null) {
-                    sb = new GameScoreboard(p, scoreboardTitle);
-                    playerScoreboards.put(uuid, sb);
-                }
-                sb.show();
-                updateScoreboard(p);
+                playersToPrepare.add(p); // Cleared for the game in batches below
+                scoreboard.addViewer(p);
             }
         });
+        updateAllScoreboards();
         timeElapsedSeconds = 0;
         if (this.votingEnabled && this.voteManager != null) { // Check inherited fields
             lastVoteTriggerTimeMillis = System.currentTimeMillis();
         }
 
+        if (absoluteGameSpawns.isEmpty()) this.logger.warning("No game spawns for instance " + instanceId.toString().substring(0,8) + "!");
+        Map<Player, Location> destinations = new LinkedHashMap<>();
         int spawnIndex = 0;
         for (UUID uuid : playersInGame) {
             Player player = Bukkit.getPlayer(uuid);
             if (player != null && player.isOnline()) {
-                if (!absoluteGameSpawns.isEmpty()) {
-                    player.teleport(absoluteGameSpawns.get(spawnIndex % absoluteGameSpawns.size())); spawnIndex++;
-                } else { this.logger.warning("No game spawns for instance " + instanceId.toString().substring(0,8) + "!"); player.teleport(absoluteLobbySpawn); }
+                destinations.put(player, absoluteGameSpawns.isEmpty() ? absoluteLobbySpawn : absoluteGameSpawns.get(spawnIndex++ % absoluteGameSpawns.size()));
             }
         }
-        startCountdown();
+        prepareAndTeleportForStart(playersToPrepare, this.gameplayGamemode, destinations, this::startCountdown); // Countdown begins once everyone is ready
         return true;
     }
 
     private void startCountdown() {
         cancelTasks();
-        final int[] currentCountdownValue = {countdownSeconds}; // Use countdownSeconds from definition
+        this.countdownRemaining = countdownSeconds; // Use countdownSeconds from definition
         for (UUID uuid : playersInGame) {
             Player p = Bukkit.getPlayer(uuid);
             if (p != null) {
@@ -252,31 +241,30 @@ public class KoTHGame extends GameInstance {
                 p.playSound(p.getLocation(), Sound.BLOCK_NOTE_BLOCK_BELL, SoundCategory.PLAYERS, 1f, 0.8f);
             }
         }
-        this.countdownTask = plugin.getServer().getScheduler().runTaskTimer(plugin, () -> {
-            if (gameState != GameState.STARTING) { cancelTasks(); return; }
-            String titleMessage = ChatColor.YELLOW.toString() + currentCountdownValue[0];
-            if (currentCountdownValue[0] <= 0) { titleMessage = ChatColor.GREEN + "GO!"; }
-            for (UUID uuid : playersInGame) {
-                Player p = Bukkit.getPlayer(uuid);
-                if (p != null) {
-                    p.sendTitle(titleMessage, "", 0, 25, 5);
-                    if (currentCountdownValue[0] > 0 && currentCountdownValue[0] <= 3) {
-                        p.playSound(p.getLocation(), Sound.BLOCK_NOTE_BLOCK_HAT, SoundCategory.PLAYERS, 1f, 1f + (0.2f * (3 - currentCountdownValue[0])) );
-                    } else if (currentCountdownValue[0] == 0) {
-                        p.playSound(p.getLocation(), Sound.ENTITY_PLAYER_LEVELUP, SoundCategory.PLAYERS, 1f, 1.2f);
-                    }
+    }
+
+    @Override
+    protected void countdownTick() {
+        String titleMessage = ChatColor.YELLOW.toString() + countdownRemaining;
+        if (countdownRemaining <= 0) { titleMessage = ChatColor.GREEN + "GO!"; }
+        for (UUID uuid : playersInGame) {
+            Player p = Bukkit.getPlayer(uuid);
+            if (p != null) {
+                p.sendTitle(titleMessage, "", 0, 25, 5);
+                if (countdownRemaining > 0 && countdownRemaining <= 3) {
+                    p.playSound(p.getLocation(), Sound.BLOCK_NOTE_BLOCK_HAT, SoundCategory.PLAYERS, 1f, 1f + (0.2f * (3 - countdownRemaining)) );
+                } else if (countdownRemaining == 0) {
+                    p.playSound(p.getLocation(), Sound.ENTITY_PLAYER_LEVELUP, SoundCategory.PLAYERS, 1f, 1.2f);
                 }
             }
-            if (currentCountdownValue[0] > 0) {
-                broadcastToGamePlayers(ChatColor.GREEN + "Starting in " + ChatColor.YELLOW + currentCountdownValue[0] + "...");
-            }
-            if (currentCountdownValue[0] <= 0) {
-                if (countdownTask != null && !countdownTask.isCancelled()) countdownTask.cancel();
-                countdownTask = null;
-                activateGame();
-            }
-            currentCountdownValue[0]--;
-        }, 0L, 20L);
+        }
+        if (countdownRemaining > 0) {
+            broadcastToGamePlayers(ChatColor.GREEN + "Starting in " + ChatColor.YELLOW + countdownRemaining + "...");
+        }
+        if (countdownRemaining <= 0) {
+            activateGame();
+        }
+        countdownRemaining--;
     }
 
     private void activateGame() {
@@ -284,7 +272,6 @@ public class KoTHGame extends GameInstance {
         setGameState(GameState.ACTIVE);
         broadcastToGamePlayers(ChatColor.GOLD + "" + ChatColor.BOLD + "KoTH Game '" + definition.getDisplayName() + "' has started! Capture the hill!");
         this.logger.info("KoTH instance " + instanceId.toString().substring(0,8) + " is now ACTIVE.");
-        this.gameTickTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::gameTick, 0L, 20L);
         if (this.votingEnabled && this.voteManager != null) {
             lastVoteTriggerTimeMillis = System.currentTimeMillis();
         }
@@ -298,17 +285,12 @@ public class KoTHGame extends GameInstance {
         setGameState(GameState.ENDING);
         cancelTasks();
 
-        UUID winnerUUID = null;
         String winnerName = "No one";
-        if (previousState == GameState.ACTIVE || (force && !playerScores.isEmpty())) {
-            int maxScore = -1;
-            for (Map.Entry<UUID, Integer> entry : playerScores.entrySet()) {
-                if (entry.getValue() > maxScore) { maxScore = entry.getValue(); winnerUUID = entry.getKey(); }
-            }
-            if (winnerUUID != null) {
-                Player winnerPlayer = Bukkit.getPlayer(winnerUUID);
-                winnerName = (winnerPlayer != null && winnerPlayer.isOnline()) ? winnerPlayer.getName() : "An unknown player";
-                broadcastToGamePlayers(ChatColor.GOLD + winnerName + " has won KoTH with " + maxScore + " seconds on the hill!");
+        if (previousState == GameState.ACTIVE || (force && !leaderboard.isEmpty())) {
+            KoTHLeaderboard.Entry leader = leaderboard.getLeader(); // Ties go to whoever reached the score first
+            if (leader != null) {
+                winnerName = leader.getName();
+                broadcastToGamePlayers(ChatColor.GOLD + winnerName + " has won KoTH with " + leader.getScore() + " seconds on the hill!");
             } else if (!playersInGame.isEmpty()) {
                 broadcastToGamePlayers(ChatColor.YELLOW + "KoTH game ended. No winner could be determined.");
             } else if (previousState != GameState.WAITING && previousState != GameState.ENDING) {
@@ -323,24 +305,23 @@ public class KoTHGame extends GameInstance {
             }
         }
 
+        List<Player> playersToRestore = new ArrayList<>();
         new HashSet<>(playersInGame).forEach(uuid -> {
             Player player = Bukkit.getPlayer(uuid);
             if (player != null && player.isOnline()) {
-                GameScoreboard sb = playerScoreboards.remove(uuid);
-                if (sb != null) sb.destroy();
-                playerStateManager.restorePlayerState(player);
+                scoreboard.removeViewer(player);
+                playersToRestore.add(player); // Restored in batches below
                 if (absoluteLobbySpawn != null) player.teleport(absoluteLobbySpawn);
                 else player.teleport(getGameWorld().getSpawnLocation());
             } else {
                 playerStateManager.removePlayerState(Bukkit.getOfflinePlayer(uuid).getPlayer());
             }
         });
+        playerStateManager.restoreAll(playersToRestore); // Spread over ticks, not one packet burst
         playersInGame.clear();
 
-        // Actual arena reset will be handled by GameManager when it fully discards this instance
-        setGameState(GameState.WAITING);
-        this.logger.info("KoTH instance " + instanceId.toString().substring(0,8) + " logic finished. Set to WAITING (or should be FINISHED).");
-        // GameManager should call cleanupInstance() which might then trigger ArenaManager.resetArena(this.arena, this.instanceBaseWorldLocation)
+        this.logger.info("KoTH instance " + instanceId.toString().substring(0,8) + " logic finished. Resetting arena for the next match.");
+        finishMatch(); // GameManager resets the arena and returns this instance to WAITING
     }
 
     @Override
@@ -359,7 +340,7 @@ public class KoTHGame extends GameInstance {
             return false;
         }
 
-        int maxPlayers = definition.getRule("max_players", 16); // Example: get max_players rule
+        int maxPlayers = getMaxPlayers();
         if (playersInGame.size() >= maxPlayers) {
             player.sendMessage(ChatColor.RED + "This game instance is full (" + playersInGame.size() + "/" + maxPlayers + ")!");
             return false;
@@ -376,14 +357,12 @@ public class KoTHGame extends GameInstance {
         player.teleport(absoluteLobbySpawn);
 
         playersInGame.add(player.getUniqueId());
-        playerScores.put(player.getUniqueId(), 0);
+        leaderboard.add(player.getUniqueId(), player.getName());
 
         if (gameState == GameState.STARTING || gameState == GameState.ACTIVE) {
             playerStateManager.clearPlayerForGame(player, this.gameplayGamemode);
-            GameScoreboard sb = new GameScoreboard(player, scoreboardTitle);
-            playerScoreboards.put(player.getUniqueId(), sb);
-            sb.show();
-            updateScoreboard(player);
+            scoreboard.addViewer(player);
+            updateAllScoreboards();
         }
 
         player.sendMessage(ChatColor.GREEN + "You have joined KoTH: " + definition.getDisplayName());
@@ -396,11 +375,10 @@ public class KoTHGame extends GameInstance {
     @Override
     public void removePlayer(Player player) {
         this.logger.info("[KoTHInstance-" + instanceId.toString().substring(0,8) + "] Attempting to remove player " + player.getName());
-        GameScoreboard sb = playerScoreboards.remove(player.getUniqueId());
-        if (sb != null) sb.destroy();
+        scoreboard.removeViewer(player);
 
         boolean wasInGame = playersInGame.remove(player.getUniqueId());
-        playerScores.remove(player.getUniqueId());
+        leaderboard.remove(player.getUniqueId());
 
         playerStateManager.restorePlayerState(player);
 
@@ -415,7 +393,7 @@ public class KoTHGame extends GameInstance {
                 }
             }
             if ((gameState == GameState.ACTIVE || gameState == GameState.STARTING)) {
-                int minPlayersRequired = definition.getRule("min_players_to_start", 2);
+                int minPlayersRequired = minPlayersToStart;
                 if (playersInGame.isEmpty() && minPlayersRequired > 0) {
                     broadcastToGamePlayers(ChatColor.YELLOW + "The last player left. The game is ending."); stop(false);
                 } else if (playersInGame.size() < minPlayersRequired && minPlayersRequired > 1) {
@@ -430,10 +408,7 @@ public class KoTHGame extends GameInstance {
 
     @Override
     protected void gameTick() {
-        if (gameState != GameState.ACTIVE) {
-            if (gameTickTask != null && !gameTickTask.isCancelled()) gameTickTask.cancel();
-            gameTickTask = null; return;
-        }
+        if (gameState != GameState.ACTIVE) return;
         timeElapsedSeconds++;
         if (timeElapsedSeconds >= gameDurationSeconds) {
             broadcastToGamePlayers(ChatColor.GOLD + "Time's up!"); stop(false); return;
@@ -454,17 +429,15 @@ public class KoTHGame extends GameInstance {
             }
         }
 
-        String currentHillHolderName = null;
         UUID newHillHolderUUID = null;
 
         for (UUID uuid : playersInGame) {
             Player player = Bukkit.getPlayer(uuid);
             if (player != null && player.isOnline()) {
                 if (isPlayerOnHill(player)) {
-                    playerScores.put(uuid, playerScores.getOrDefault(uuid, 0) + 1);
-                    currentHillHolderName = player.getName();
+                    int score = leaderboard.increment(uuid); // O(log P) re-rank
                     newHillHolderUUID = uuid;
-                    player.spigot().sendMessage(ChatMessageType.ACTION_BAR, TextComponent.fromLegacyText(ChatColor.GREEN + "You are capturing the hill! Score: " + playerScores.get(uuid)));
+                    player.spigot().sendMessage(ChatMessageType.ACTION_BAR, TextComponent.fromLegacyText(ChatColor.GREEN + "You are capturing the hill! Score: " + score));
                     ParticleUtil.spawnPlayerStatusParticles(player, Particle.HAPPY_VILLAGER, 5, 0.3, 0.5, 0.3, 0.01);
                     break;
                 }
@@ -485,7 +458,7 @@ public class KoTHGame extends GameInstance {
             playerCurrentlyOnHill = null;
         }
 
-        updateAllScoreboards(currentHillHolderName);
+        updateAllScoreboards();
 
         if (timeElapsedSeconds > 0 && timeElapsedSeconds % 30 == 0) {
             broadcastToGamePlayers(ChatColor.YELLOW + "KoTH: " + ChatColor.AQUA + (gameDurationSeconds - timeElapsedSeconds) + "s" + ChatColor.YELLOW + " remaining.");
@@ -543,45 +516,36 @@ public class KoTHGame extends GameInstance {
         }
     }
 
-    private void updateAllScoreboards() { updateAllScoreboards(null); }
-    private void updateAllScoreboards(String playerOnHillName) {
-        for (UUID playerUUID : playersInGame) {
-            Player p = Bukkit.getPlayer(playerUUID);
-            if (p != null && p.isOnline()) { updateScoreboard(p, playerOnHillName); }
-        }
-    }
-
-    private void updateScoreboard(Player player) { updateScoreboard(player, null); }
-    private void updateScoreboard(Player player, String playerOnHillName) {
-        GameScoreboard sb = playerScoreboards.get(player.getUniqueId());
-        if (sb == null) return;
-        sb.clearAllLines();
-        int line = 0;
-        sb.setLine(line++, "&7Time Left: &e" + formatTime(gameDurationSeconds - timeElapsedSeconds));
-        sb.setLine(line++, "&7Your Score: &a" + playerScores.getOrDefault(player.getUniqueId(), 0));
-        if (playerOnHillName != null) { sb.setLine(line++, "&7On Hill: &6" + playerOnHillName); }
-        else { sb.setLine(line++, "&7On Hill: &cNone"); }
-        sb.setLine(line++, "&m--------------------");
-        List<Map.Entry<UUID, Integer>> sortedScores = new ArrayList<>(playerScores.entrySet());
-        sortedScores.sort(Map.Entry.comparingByValue(Comparator.reverseOrder()));
-        sb.setLine(line++, "&bTop Players:");
+    private void updateAllScoreboards() {
+        long profileStart = profiler.start();
+        // Shared lines are built once; only "Your Score" is per player, and players with equal scores share a board
+        List<String> top = Collections.singletonList("&7Time Left: &e" + formatTime(gameDurationSeconds - timeElapsedSeconds));
+        List<String> bottom = new ArrayList<>();
+        Player playerOnHill = playerCurrentlyOnHill != null ? Bukkit.getPlayer(playerCurrentlyOnHill) : null;
+        if (playerOnHill != null) { bottom.add("&7On Hill: &6" + playerOnHill.getName()); }
+        else { bottom.add("&7On Hill: &cNone"); }
+        bottom.add("&m--------------------");
+        bottom.add("&bTop Players:");
         int rank = 1;
-        for (Map.Entry<UUID, Integer> entry : sortedScores) {
-            if (rank > 3) break;
-            Player p = Bukkit.getPlayer(entry.getKey());
-            String name = (p != null && p.isOnline()) ? p.getName() : "Player";
-            sb.setLine(line++, "&7" + rank + ". &f" + name + ": &e" + entry.getValue());
+        for (KoTHLeaderboard.Entry entry : leaderboard.getTop()) { // Cached, names resolved on join
+            bottom.add("&7" + rank + ". &f" + entry.getName() + ": &e" + entry.getScore());
             rank++;
         }
-        while (rank <=3) { sb.setLine(line++, "&7" + rank + ". &8---"); rank++; }
+        while (rank <= TOP_PLAYERS_SHOWN) { bottom.add("&7" + rank + ". &8---"); rank++; }
         if (activeVotingHook != null) {
-            sb.setLine(line++, "&m--------------------");
-            sb.setLine(line++, "&dEvent: &f" + activeVotingHook.getDisplayName());
+            bottom.add("&m--------------------");
+            bottom.add("&dEvent: &f" + activeVotingHook.getDisplayName());
             if (activeHookEndTimeMillis > 0) {
                 long hookTimeLeft = (activeHookEndTimeMillis - System.currentTimeMillis()) / 1000;
-                if (hookTimeLeft > 0) { sb.setLine(line++, "&dTime Left: &f" + formatTime((int)hookTimeLeft)); }
+                if (hookTimeLeft > 0) { bottom.add("&dTime Left: &f" + formatTime((int)hookTimeLeft)); }
             }
         }
+        scoreboard.update(top, this::getScoreLines, bottom);
+        profiler.record(TickProfiler.Section.SCOREBOARD, this, profileStart);
+    }
+
+    private List<String> getScoreLines(Player player) {
+        return Collections.singletonList("&7Your Score: &a" + leaderboard.getScore(player.getUniqueId()));
     }
 
     private String formatTime(int totalSeconds) {
@@ -0,0 +1,127 @@
+package io.mewb.andromedaGames.koth;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Scores of one KoTH match, kept ranked as they change. A score change re-positions only that player
+ * (O(log P)), and the top entries shown on the sidebar are cached until the ranking changes, so neither
+ * the per-second scoreboard update nor the winner selection sorts the whole roster. Ties go to whoever
+ * reached the score first. Names are resolved once, when a player is added. Main thread only.
+ */
+public class KoTHLeaderboard {
+
+    private static final Comparator<Entry> RANKING = Comparator
+            .comparingInt((Entry entry) -> entry.score).reversed()
+            .thenComparingLong(entry -> entry.reachedAt)
+            .thenComparing(entry -> entry.playerId);
+
+    private final int topSize;
+    private final Map<UUID, Entry> entries = new HashMap<>();
+    private final TreeSet<Entry> ranking = new TreeSet<>(RANKING);
+    private List<Entry> cachedTop = Collections.emptyList();
+    private boolean topDirty = false;
+    private long sequence = 0; // Order in which scores were reached, for tie-breaks
+
+    public static final class Entry {
+        private final UUID playerId;
+        private final String name;
+        private int score;
+        private long reachedAt;
+
+        private Entry(UUID playerId, String name, long reachedAt) {
+            this.playerId = playerId;
+            this.name = name;
+            this.reachedAt = reachedAt;
+        }
+
+        public UUID getPlayerId() { return playerId; }
+        public String getName() { return name; }
+        public int getScore() { return score; }
+    }
+
+    /**
+     * @param topSize How many leading entries {@link #getTop()} returns.
+     */
+    public KoTHLeaderboard(int topSize) {
+        this.topSize = Math.max(1, topSize);
+    }
+
+    /**
+     * Adds a player with a score of 0. Does nothing if they are already on the leaderboard.
+     */
+    public void add(UUID playerId, String name) {
+        if (entries.containsKey(playerId)) return;
+        Entry entry = new Entry(playerId, name, sequence++);
+        entries.put(playerId, entry);
+        ranking.add(entry);
+        topDirty = true;
+    }
+
+    public void remove(UUID playerId) {
+        Entry entry = entries.remove(playerId);
+        if (entry == null) return;
+        ranking.remove(entry);
+        topDirty = true;
+    }
+
+    /**
+     * Adds one point to a player's score.
+     * @return The new score, or -1 if the player is not on the leaderboard.
+     */
+    public int increment(UUID playerId) {
+        Entry entry = entries.get(playerId);
+        if (entry == null) return -1;
+        ranking.remove(entry); // Re-positioned with its new key
+        entry.score++;
+        entry.reachedAt = sequence++;
+        ranking.add(entry);
+        if (!topDirty && (cachedTop.size() < topSize || RANKING.compare(entry, cachedTop.get(cachedTop.size() - 1)) <= 0)) {
+            topDirty = true; // The entry is (now) within the shown top
+        }
+        return entry.score;
+    }
+
+    public int getScore(UUID playerId) {
+        Entry entry = entries.get(playerId);
+        return entry != null ? entry.score : 0;
+    }
+
+    /**
+     * The leading entries, best first, at most the configured top size. Rebuilt only after the ranking changed.
+     */
+    public List<Entry> getTop() {
+        if (topDirty) {
+            List<Entry> top = new ArrayList<>(topSize);
+            for (Entry entry : ranking) {
+                if (top.size() == topSize) break;
+                top.add(entry);
+            }
+            cachedTop = Collections.unmodifiableList(top);
+            topDirty = false;
+        }
+        return cachedTop;
+    }
+
+    /** The current leader, or null if the leaderboard is empty. */
+    public Entry getLeader() {
+        return ranking.isEmpty() ? null : ranking.first();
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    public void clear() {
+        entries.clear();
+        ranking.clear();
+        cachedTop = Collections.emptyList();
+        topDirty = false;
+    }
+}
@@ -0,0 +1,23 @@
+package io.mewb.andromedaGames.koth;
+
+import io.mewb.andromedaGames.game.GameRules;
+import io.mewb.andromedaGames.game.RuleReader;
+import org.bukkit.GameMode;
+
+/**
+ * Compiled rules of a KOTH game definition.
+ */
+public class KoTHRules extends GameRules {
+
+    private final int hillRadius;
+    private final GameMode gameplayGamemode;
+
+    public KoTHRules(RuleReader rules, String displayName) {
+        super(rules, 16, 10, 300, "&6&lKoTH: &e" + displayName);
+        this.hillRadius = rules.getInt("hill_radius", 5, 1);
+        this.gameplayGamemode = rules.getEnum("gameplay_gamemode", GameMode.class, GameMode.SURVIVAL);
+    }
+
+    public int getHillRadius() { return hillRadius; }
+    public GameMode getGameplayGamemode() { return gameplayGamemode; }
+}
@@ -14,7 +14,9 @@ import org.bukkit.entity.Player;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -84,18 +86,19 @@ public class PlayerSwapHook implements VotingHook {
         if (loc2.getWorld() != null) loc2.getWorld().playSound(loc2, Sound.ENTITY_ENDERMAN_TELEPORT, SoundCategory.PLAYERS, 1f, 0.8f);
 
 
-        player1.teleport(loc2);
-        player2.teleport(loc1);
-
-        // Effects at new locations
-        Location newLoc1 = player1.getLocation(); // Get new location after teleport
-        ParticleUtil.spawnLocationEffect(newLoc1, Particle.WITCH, 40, 0.5, 1, 0.5, 0.1);
-        if (newLoc1.getWorld() != null) newLoc1.getWorld().playSound(newLoc1, Sound.ENTITY_ENDERMAN_TELEPORT, SoundCategory.PLAYERS, 1f, 1.2f);
-
-        Location newLoc2 = player2.getLocation(); // Get new location after teleport
-        ParticleUtil.spawnLocationEffect(newLoc2, Particle.WITCH, 40, 0.5, 1, 0.5, 0.1);
-        if (newLoc2.getWorld() != null) newLoc2.getWorld().playSound(newLoc2, Sound.ENTITY_ENDERMAN_TELEPORT, SoundCategory.PLAYERS, 1f, 1.2f);
+        Map<Player, Location> swap = new LinkedHashMap<>();
+        swap.put(player1, loc2);
+        swap.put(player2, loc1);
+        game.plugin.getGameManager().getTeleportService().teleportAll(swap).thenRun(() -> {
+            // Effects at new locations
+            Location newLoc1 = player1.getLocation(); // Get new location after teleport
+            ParticleUtil.spawnLocationEffect(newLoc1, Particle.WITCH, 40, 0.5, 1, 0.5, 0.1);
+            if (newLoc1.getWorld() != null) newLoc1.getWorld().playSound(newLoc1, Sound.ENTITY_ENDERMAN_TELEPORT, SoundCategory.PLAYERS, 1f, 1.2f);
 
+            Location newLoc2 = player2.getLocation(); // Get new location after teleport
+            ParticleUtil.spawnLocationEffect(newLoc2, Particle.WITCH, 40, 0.5, 1, 0.5, 0.1);
+            if (newLoc2.getWorld() != null) newLoc2.getWorld().playSound(newLoc2, Sound.ENTITY_ENDERMAN_TELEPORT, SoundCategory.PLAYERS, 1f, 1.2f);
+        });
 
         game.broadcastToGamePlayers(ChatColor.YELLOW + player1.getName() + " and " + player2.getName() + " have been scrambled!");
         game.plugin.getLogger().info(getId() + " applied to instance " + game.getInstanceId().toString().substring(0,8) + ": Swapped " + player1.getName() + " with " + player2.getName());
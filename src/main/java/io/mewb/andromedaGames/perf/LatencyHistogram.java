@@ -0,0 +1,109 @@
+package io.mewb.andromedaGames.perf;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size, allocation-free latency histogram with a rolling window.
+ * Values are nanoseconds, bucketed log-linearly (4 sub-buckets per power of two, ~19% resolution)
+ * from 1us up to ~17s. Two windows are kept and rotated; percentiles are read over both,
+ * so the figures always cover between one and two window lengths of samples.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MIN_EXPONENT = 10; // 2^10ns ~= 1us; anything below lands in bucket 0
+    private static final int MAX_EXPONENT = 34; // 2^34ns ~= 17s; anything above lands in the last bucket
+    static final int BUCKET_COUNT = (MAX_EXPONENT - MIN_EXPONENT + 1) * SUB_BUCKETS;
+
+    private final long windowNanos;
+    private long[] current = new long[BUCKET_COUNT];
+    private long[] previous = new long[BUCKET_COUNT];
+    private long currentMax, previousMax;
+    private long currentCount, previousCount;
+    private long currentSum, previousSum;
+    private long windowStartNanos;
+
+    public LatencyHistogram(long windowNanos) {
+        this.windowNanos = windowNanos;
+        this.windowStartNanos = System.nanoTime();
+    }
+
+    /**
+     * Records one sample. Never allocates.
+     * @param valueNanos The measured duration in nanoseconds.
+     * @param nowNanos The current System.nanoTime(), used for window rotation.
+     */
+    public void record(long valueNanos, long nowNanos) {
+        if (nowNanos - windowStartNanos >= windowNanos) rotate(nowNanos);
+        if (valueNanos < 0) valueNanos = 0;
+        current[bucketIndex(valueNanos)]++;
+        currentCount++;
+        currentSum += valueNanos;
+        if (valueNanos > currentMax) currentMax = valueNanos;
+    }
+
+    private void rotate(long nowNanos) {
+        long[] recycled = previous;
+        previous = current;
+        previousMax = currentMax;
+        previousCount = currentCount;
+        previousSum = currentSum;
+        Arrays.fill(recycled, 0L);
+        current = recycled;
+        currentMax = 0;
+        currentCount = 0;
+        currentSum = 0;
+        windowStartNanos = nowNanos;
+    }
+
+    public void reset() {
+        Arrays.fill(current, 0L);
+        Arrays.fill(previous, 0L);
+        currentMax = previousMax = 0;
+        currentCount = previousCount = 0;
+        currentSum = previousSum = 0;
+        windowStartNanos = System.nanoTime();
+    }
+
+    public long getCount() { return currentCount + previousCount; }
+    public long getMaxNanos() { return Math.max(currentMax, previousMax); }
+
+    public long getMeanNanos() {
+        long count = getCount();
+        return count == 0 ? 0 : (currentSum + previousSum) / count;
+    }
+
+    /**
+     * @param percentile Between 0 and 100.
+     * @return The upper bound of the bucket containing the given percentile, in nanoseconds (capped at the max seen).
+     */
+    public long getPercentileNanos(double percentile) {
+        long count = getCount();
+        if (count == 0) return 0;
+        long target = (long) Math.ceil(count * (percentile / 100.0));
+        if (target < 1) target = 1;
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += current[i] + previous[i];
+            if (seen >= target) return Math.min(bucketUpperBound(i), getMaxNanos());
+        }
+        return getMaxNanos();
+    }
+
+    static int bucketIndex(long valueNanos) {
+        if (valueNanos <= 0) return 0;
+        int exponent = 63 - Long.numberOfLeadingZeros(valueNanos);
+        if (exponent < MIN_EXPONENT) return 0;
+        if (exponent > MAX_EXPONENT) return BUCKET_COUNT - 1;
+        int sub = (int) ((valueNanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+        return (exponent - MIN_EXPONENT) * SUB_BUCKETS + sub;
+    }
+
+    static long bucketUpperBound(int index) {
+        int exponent = MIN_EXPONENT + index / SUB_BUCKETS;
+        int sub = index % SUB_BUCKETS;
+        long base = 1L << exponent;
+        return base + ((base >>> SUB_BUCKET_BITS) * (sub + 1)) - 1;
+    }
+}
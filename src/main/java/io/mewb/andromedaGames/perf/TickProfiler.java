@@ -0,0 +1,136 @@
+package io.mewb.andromedaGames.perf;
+
+import io.mewb.andromedaGames.game.GameInstance;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nanosecond timing of the plugin's main-thread work, kept as rolling histograms per instance,
+ * per game type and per section. Usage at a call site:
+ * <pre>
+ *     long t = profiler.start();
+ *     ... work ...
+ *     profiler.record(TickProfiler.Section.SCOREBOARD, this, t);
+ * </pre>
+ * When disabled, start() returns 0 and record() returns immediately. When enabled, recording a sample
+ * never allocates: histograms are created once per instance / game type and reused.
+ */
+public class TickProfiler {
+
+    public enum Section {
+        INSTANCE_TICK,   // Full InstanceScheduler dispatch of GameInstance.tick()
+        GAME_TICK,       // The phase method inside tick(): gameTick()/countdownTick()/endingTick()
+        SCOREBOARD,      // updateAllScoreboards()
+        VOTE_TIMER,      // VoteManager's per-second vote timer
+        VOTE_HOOK_APPLY, // VotingHook.apply()
+        SCHEMATIC_PASTE, // ArenaManager.pasteSchematic()
+        ARENA_RESET      // ArenaManager.resetArena() journal revert
+    }
+
+    private static final int SECTION_COUNT = Section.values().length;
+    private static final Section[] SECTIONS = Section.values();
+
+    private final long windowNanos;
+    private volatile boolean enabled;
+
+    private final LatencyHistogram[] globalHistograms = new LatencyHistogram[SECTION_COUNT];
+    private final Map<String, LatencyHistogram[]> gameTypeHistograms = new HashMap<>();
+    private final Map<UUID, LatencyHistogram[]> instanceHistograms = new HashMap<>();
+
+    public TickProfiler(boolean enabled, int windowSeconds) {
+        this.enabled = enabled;
+        this.windowNanos = TimeUnit.SECONDS.toNanos(Math.max(1, windowSeconds));
+        for (int i = 0; i < SECTION_COUNT; i++) globalHistograms[i] = new LatencyHistogram(windowNanos);
+    }
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public long getWindowSeconds() { return TimeUnit.NANOSECONDS.toSeconds(windowNanos); }
+
+    /**
+     * @return A start timestamp to hand back to record(), or 0 if profiling is disabled.
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Records the time elapsed since startNanos against the section, and against the instance
+     * and its game type if an instance is given.
+     */
+    public void record(Section section, GameInstance instance, long startNanos) {
+        if (startNanos == 0L) return;
+        long now = System.nanoTime();
+        long elapsed = now - startNanos;
+        synchronized (this) { // Pastes may be timed off the main thread
+            globalHistograms[section.ordinal()].record(elapsed, now);
+            if (instance == null) return;
+            histogramsFor(instanceHistograms, instance.getInstanceId())[section.ordinal()].record(elapsed, now);
+            histogramsFor(gameTypeHistograms, instance.getDefinition().getGameType())[section.ordinal()].record(elapsed, now);
+        }
+    }
+
+    private <K> LatencyHistogram[] histogramsFor(Map<K, LatencyHistogram[]> map, K key) {
+        LatencyHistogram[] histograms = map.get(key);
+        if (histograms == null) { // Only allocated the first time an instance / game type is seen
+            histograms = new LatencyHistogram[SECTION_COUNT];
+            for (int i = 0; i < SECTION_COUNT; i++) histograms[i] = new LatencyHistogram(windowNanos);
+            map.put(key, histograms);
+        }
+        return histograms;
+    }
+
+    /**
+     * Drops the histograms of an instance that has ended.
+     */
+    public synchronized void forgetInstance(UUID instanceId) {
+        instanceHistograms.remove(instanceId);
+    }
+
+    public synchronized void reset() {
+        for (LatencyHistogram h : globalHistograms) h.reset();
+        gameTypeHistograms.clear();
+        instanceHistograms.clear();
+    }
+
+    // --- Snapshot accessors for /ag perf ---
+
+    public synchronized Snapshot snapshotGlobal(Section section) {
+        return Snapshot.of(globalHistograms[section.ordinal()]);
+    }
+
+    public synchronized Snapshot snapshotInstance(UUID instanceId, Section section) {
+        LatencyHistogram[] histograms = instanceHistograms.get(instanceId);
+        return histograms == null ? Snapshot.EMPTY : Snapshot.of(histograms[section.ordinal()]);
+    }
+
+    public synchronized Map<String, Snapshot> snapshotGameTypes(Section section) {
+        Map<String, Snapshot> result = new HashMap<>();
+        gameTypeHistograms.forEach((type, histograms) -> result.put(type, Snapshot.of(histograms[section.ordinal()])));
+        return Collections.unmodifiableMap(result);
+    }
+
+    public static Section[] sections() { return SECTIONS.clone(); }
+
+    /**
+     * Immutable read-out of one histogram, in nanoseconds.
+     */
+    public static final class Snapshot {
+        public static final Snapshot EMPTY = new Snapshot(0, 0, 0, 0, 0, 0);
+
+        public final long count, mean, p50, p95, p99, max;
+
+        private Snapshot(long count, long mean, long p50, long p95, long p99, long max) {
+            this.count = count; this.mean = mean; this.p50 = p50; this.p95 = p95; this.p99 = p99; this.max = max;
+        }
+
+        static Snapshot of(LatencyHistogram h) {
+            if (h.getCount() == 0) return EMPTY;
+            return new Snapshot(h.getCount(), h.getMeanNanos(), h.getPercentileNanos(50), h.getPercentileNanos(95), h.getPercentileNanos(99), h.getMaxNanos());
+        }
+    }
+}
@@ -1,12 +1,31 @@
 package io.mewb.andromedaGames.player;
 
 import org.bukkit.GameMode;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Registry;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.potion.PotionEffect;
+import org.bukkit.potion.PotionEffectType;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 public class PlayerState {
+    // Snapshot format: magic, version, then a header (attributes, flags, effects) followed by the item slots.
+    private static final int SNAPSHOT_MAGIC = 0x41475053; // "AGPS"
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final int FLAG_FLYING = 1;
+    private static final int FLAG_ALLOW_FLIGHT = 1 << 1;
+    private static final int EFFECT_AMBIENT = 1;
+    private static final int EFFECT_PARTICLES = 1 << 1;
+    private static final int EFFECT_ICON = 1 << 2;
+
     private final ItemStack[] inventory;
     private final ItemStack[] armor;
     private final Collection<PotionEffect> effects;
@@ -54,4 +73,102 @@ public class PlayerState {
     public GameMode getGameMode() { return gameMode; }
     public boolean isFlying() { return isFlying; }
     public boolean isAllowFlight() { return allowFlight; }
+
+    /**
+     * Encodes this state as a compact snapshot: a small header with the attributes and potion effects,
+     * then every item slot via {@link ItemStack#serializeAsBytes()}. The snapshot is what is kept for queued
+     * players, written to disk and can be handed to another server. Safe off the main thread as long as the
+     * items are copies nobody else touches.
+     */
+    public byte[] toBytes() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeByte(SNAPSHOT_VERSION);
+            out.writeDouble(health);
+            out.writeDouble(maxHealth);
+            out.writeInt(foodLevel);
+            out.writeFloat(saturation);
+            out.writeFloat(exhaustion);
+            out.writeInt(level);
+            out.writeFloat(exp);
+            out.writeByte(gameMode.ordinal());
+            out.writeByte((isFlying ? FLAG_FLYING : 0) | (allowFlight ? FLAG_ALLOW_FLIGHT : 0));
+            out.writeShort(effects.size());
+            for (PotionEffect effect : effects) {
+                out.writeUTF(effect.getType().getKey().toString());
+                out.writeInt(effect.getDuration());
+                out.writeByte(effect.getAmplifier());
+                out.writeByte((effect.isAmbient() ? EFFECT_AMBIENT : 0) | (effect.hasParticles() ? EFFECT_PARTICLES : 0) | (effect.hasIcon() ? EFFECT_ICON : 0));
+            }
+            writeItems(out, inventory);
+            writeItems(out, armor);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a snapshot made by {@link #toBytes()}. Item deserialization touches the server's data converters,
+     * so call this on the main thread. Effects whose type no longer exists are dropped.
+     * @throws IOException If the data is not a snapshot of a supported version, or is truncated.
+     */
+    public static PlayerState fromBytes(byte[] data) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) throw new IOException("Not a player state snapshot.");
+            int version = in.readUnsignedByte();
+            if (version != SNAPSHOT_VERSION) throw new IOException("Unsupported player state snapshot version " + version + ".");
+            double health = in.readDouble();
+            double maxHealth = in.readDouble();
+            int foodLevel = in.readInt();
+            float saturation = in.readFloat();
+            float exhaustion = in.readFloat();
+            int level = in.readInt();
+            float exp = in.readFloat();
+            int gameModeOrdinal = in.readUnsignedByte();
+            GameMode gameMode = gameModeOrdinal < GameMode.values().length ? GameMode.values()[gameModeOrdinal] : GameMode.SURVIVAL;
+            int flags = in.readUnsignedByte();
+            int effectCount = in.readUnsignedShort();
+            List<PotionEffect> effects = new ArrayList<>(effectCount);
+            for (int i = 0; i < effectCount; i++) {
+                String typeKey = in.readUTF();
+                int duration = in.readInt();
+                int amplifier = in.readByte();
+                int effectFlags = in.readUnsignedByte();
+                NamespacedKey key = NamespacedKey.fromString(typeKey);
+                PotionEffectType type = key != null ? Registry.EFFECT.get(key) : null;
+                if (type == null) continue;
+                effects.add(new PotionEffect(type, duration, amplifier,
+                        (effectFlags & EFFECT_AMBIENT) != 0, (effectFlags & EFFECT_PARTICLES) != 0, (effectFlags & EFFECT_ICON) != 0));
+            }
+            ItemStack[] inventory = readItems(in);
+            ItemStack[] armor = readItems(in);
+            return new PlayerState(inventory, armor, effects, health, maxHealth, foodLevel, saturation, exhaustion,
+                    level, exp, gameMode, (flags & FLAG_FLYING) != 0, (flags & FLAG_ALLOW_FLIGHT) != 0);
+        }
+    }
+
+    private static void writeItems(DataOutputStream out, ItemStack[] items) throws IOException {
+        out.writeShort(items.length);
+        for (ItemStack item : items) {
+            if (item == null || item.getType().isAir()) {
+                out.writeInt(0); // Empty slot
+                continue;
+            }
+            byte[] itemBytes = item.serializeAsBytes();
+            out.writeInt(itemBytes.length);
+            out.write(itemBytes);
+        }
+    }
+
+    private static ItemStack[] readItems(DataInputStream in) throws IOException {
+        ItemStack[] items = new ItemStack[in.readUnsignedShort()];
+        for (int i = 0; i < items.length; i++) {
+            int length = in.readInt();
+            if (length == 0) continue;
+            byte[] itemBytes = new byte[length];
+            in.readFully(itemBytes);
+            items[i] = ItemStack.deserializeBytes(itemBytes);
+        }
+        return items;
+    }
 }
@@ -1,24 +1,87 @@
 package io.mewb.andromedaGames.player;
 
+import io.mewb.andromedaGames.AndromedaGames;
+import org.bukkit.ChatColor;
 import org.bukkit.GameMode;
 import org.bukkit.attribute.Attribute;
+import org.bukkit.attribute.AttributeInstance;
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
 import org.bukkit.potion.PotionEffect;
+import org.bukkit.potion.PotionEffectType;
+import org.bukkit.scheduler.BukkitRunnable;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
-public class PlayerStateManager {
+public class PlayerStateManager implements Listener {
 
-    private static final Map<UUID, PlayerState> savedStates = new HashMap<>();
+    private static final Map<UUID, SavedState> savedStates = new HashMap<>();
+    private final AndromedaGames plugin;
     private final Logger logger;
+    private final PlayerStateStore store; // Durable copy of savedStates, so states survive a crash
+    private final int maxPerTick; // Players prepared or restored per tick by prepareAll/restoreAll
+    private final Set<UUID> pendingRestores = new HashSet<>();
 
-    public PlayerStateManager(Logger logger) {
-        this.logger = logger;
+    public PlayerStateManager(AndromedaGames plugin) {
+        this.plugin = plugin;
+        this.logger = plugin.getLogger();
+        this.store = new PlayerStateStore(plugin.getDataFolder(), logger);
+        this.maxPerTick = plugin.getConfigManager().getPlayerPreparationMaxPerTick();
+    }
+
+    /**
+     * A saved state is held as the captured copy only until the store thread has encoded it; after that just
+     * the compact snapshot is kept, so queued players cost a few KB each instead of live item object graphs.
+     */
+    private static final class SavedState {
+        private volatile PlayerState captured;
+        private volatile byte[] snapshot;
+
+        SavedState(PlayerState captured) {
+            this.captured = captured;
+        }
+
+        void encoded(byte[] snapshot) {
+            this.snapshot = snapshot; // Set before dropping the copy, so get() always sees one of them
+            this.captured = null;
+        }
+
+        PlayerState get() throws IOException {
+            PlayerState state = captured;
+            return state != null ? state : PlayerState.fromBytes(snapshot);
+        }
+    }
+
+    public PlayerStateStore getStore() {
+        return store;
+    }
+
+    /**
+     * Gets a player's saved state as a snapshot, e.g. to hand it to another server.
+     * @return The snapshot, or null if none is saved or it is still being encoded.
+     */
+    public byte[] getStateSnapshot(UUID playerUUID) {
+        SavedState saved = savedStates.get(playerUUID);
+        return saved != null ? saved.snapshot : null;
     }
 
     /**
@@ -28,6 +91,9 @@ public class PlayerStateManager {
     public void savePlayerState(Player player) {
         if (player == null) return;
         UUID playerUUID = player.getUniqueId();
+        if (pendingRestores.contains(playerUUID)) {
+            restorePlayerState(player); // Still queued from their last game; save their real state, not that game's
+        }
 
         if (savedStates.containsKey(playerUUID)) {
             // This might happen if a player joins another game before their state from a previous one was cleared,
@@ -36,9 +102,10 @@ public class PlayerStateManager {
             // For now, we'll allow overwrite, but a more robust system might prevent this or handle it differently.
         }
 
-        ItemStack[] inventory = player.getInventory().getContents();
-        ItemStack[] armor = player.getInventory().getArmorContents();
-        Collection<PotionEffect> effects = player.getActivePotionEffects();
+        // Copies, not the inventory's live stacks, so the store thread can encode them safely
+        ItemStack[] inventory = copyItems(player.getInventory().getContents());
+        ItemStack[] armor = copyItems(player.getInventory().getArmorContents());
+        Collection<PotionEffect> effects = new ArrayList<>(player.getActivePotionEffects());
         double health = player.getHealth();
         int foodLevel = player.getFoodLevel();
         float saturation = player.getSaturation();
@@ -53,10 +120,29 @@ public class PlayerStateManager {
 
 
         PlayerState state = new PlayerState(inventory, armor, effects, health, maxHealth, foodLevel, saturation, exhaustion, level, exp, gameMode, isFlying, allowFlight);
-        savedStates.put(playerUUID, state);
+        SavedState saved = new SavedState(state);
+        savedStates.put(playerUUID, saved);
+        store.saveAsync(playerUUID, state).thenAccept(saved::encoded);
         logger.fine("Saved state for player " + player.getName());
     }
 
+    private static ItemStack[] copyItems(ItemStack[] items) {
+        ItemStack[] copies = new ItemStack[items.length];
+        for (int i = 0; i < items.length; i++) {
+            if (items[i] != null && !items[i].getType().isAir()) copies[i] = items[i].clone();
+        }
+        return copies;
+    }
+
+    private PlayerState decode(UUID playerUUID, SavedState saved) {
+        try {
+            return saved.get();
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.SEVERE, "Could not decode saved state of player " + playerUUID, e);
+            return null;
+        }
+    }
+
     /**
      * Restores the saved state to a player.
      * @param player The player whose state is to be restored.
@@ -65,42 +151,162 @@ public class PlayerStateManager {
     public boolean restorePlayerState(Player player) {
         if (player == null) return false;
         UUID playerUUID = player.getUniqueId();
-        PlayerState state = savedStates.remove(playerUUID); // Remove after restoring
+        pendingRestores.remove(playerUUID);
+        SavedState saved = savedStates.remove(playerUUID); // Remove after restoring
+        PlayerState state = saved != null ? decode(playerUUID, saved) : null;
 
         if (state == null) {
             logger.warning("No saved state found for player " + player.getName() + " to restore.");
             return false;
         }
+        store.deleteAsync(playerUUID);
+        applyState(player, state);
+        logger.info("Restored state for player " + player.getName());
+        return true;
+    }
 
-        // Clear current inventory and effects before restoring
-        player.getInventory().clear();
-        for (PotionEffect effect : player.getActivePotionEffects()) {
-            player.removePotionEffect(effect.getType());
+    /**
+     * Restores the saved states of a whole roster, spread over ticks (see {@link #prepareAll}). Players stay
+     * queued until their turn; saving a queued player's state again restores the old one first, and players
+     * who go offline before their turn keep their state for the next join.
+     * @return A future completed on the main thread once every queued player has been handled.
+     */
+    public CompletableFuture<Void> restoreAll(Collection<Player> players) {
+        for (Player player : players) pendingRestores.add(player.getUniqueId());
+        return runSpread(players, player -> {
+            if (pendingRestores.remove(player.getUniqueId()) && player.isOnline()) restorePlayerState(player);
+        });
+    }
+
+    /**
+     * Clears a whole roster for a game (see {@link #clearPlayerForGame}), at most the configured number of
+     * players per tick, so a match start does not send every player's inventory, effect and attribute
+     * packets in the same tick.
+     * @param stillPlaying Checked when a player's turn comes; players it rejects (e.g. who left the game meanwhile) are skipped.
+     * @return A future completed on the main thread once every player has been prepared.
+     */
+    public CompletableFuture<Void> prepareAll(Collection<Player> players, GameMode gameMode, Predicate<Player> stillPlaying) {
+        return runSpread(players, player -> {
+            if (player.isOnline() && stillPlaying.test(player)) clearPlayerForGame(player, gameMode);
+        });
+    }
+
+    private CompletableFuture<Void> runSpread(Collection<Player> players, Consumer<Player> action) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        Iterator<Player> remaining = new ArrayList<>(players).iterator();
+        if (!plugin.isEnabled()) { // Disabling: no more ticks to spread over
+            remaining.forEachRemaining(action);
+            done.complete(null);
+            return done;
+        }
+        new BukkitRunnable() {
+            @Override
+            public void run() {
+                for (int handled = 0; handled < maxPerTick && remaining.hasNext(); handled++) {
+                    action.accept(remaining.next());
+                }
+                if (!remaining.hasNext()) {
+                    cancel();
+                    done.complete(null);
+                }
+            }
+        }.runTaskTimer(plugin, 0L, 1L);
+        return done;
+    }
+
+    /**
+     * Brings a player to the given state, changing only what differs from their current state, so a restore
+     * or clear sends packets only for the slots, effects and attributes that actually change.
+     */
+    private void applyState(Player player, PlayerState state) {
+        PlayerInventory inventory = player.getInventory();
+        ItemStack[] targetContents = state.getInventory();
+        for (int slot = 0; slot < inventory.getSize(); slot++) {
+            ItemStack target = slot < targetContents.length ? targetContents[slot] : null;
+            if (!sameItem(inventory.getItem(slot), target)) inventory.setItem(slot, target);
+        }
+        ItemStack[] currentArmor = inventory.getArmorContents();
+        ItemStack[] targetArmor = state.getArmor();
+        for (int i = 0; i < currentArmor.length; i++) {
+            if (!sameItem(currentArmor[i], i < targetArmor.length ? targetArmor[i] : null)) {
+                inventory.setArmorContents(targetArmor);
+                break;
+            }
         }
 
-        player.getInventory().setContents(state.getInventory());
-        player.getInventory().setArmorContents(state.getArmor());
-        player.addPotionEffects(state.getEffects());
+        Map<PotionEffectType, PotionEffect> missingEffects = new HashMap<>();
+        for (PotionEffect effect : state.getEffects()) missingEffects.put(effect.getType(), effect);
+        for (PotionEffect current : player.getActivePotionEffects()) {
+            PotionEffect target = missingEffects.get(current.getType());
+            if (current.equals(target)) {
+                missingEffects.remove(current.getType()); // Already active as saved
+            } else {
+                player.removePotionEffect(current.getType());
+            }
+        }
+        if (!missingEffects.isEmpty()) player.addPotionEffects(missingEffects.values());
 
         // Restore health carefully, considering max health
-        player.getAttribute(Attribute.GENERIC_MAX_HEALTH).setBaseValue(state.getMaxHealth()); // Restore max health first
-        if (state.getHealth() > state.getMaxHealth()) { // Cap health at their restored max health
-            player.setHealth(state.getMaxHealth());
-        } else {
-            player.setHealth(state.getHealth());
+        AttributeInstance maxHealthAttribute = player.getAttribute(Attribute.GENERIC_MAX_HEALTH);
+        if (maxHealthAttribute.getBaseValue() != state.getMaxHealth()) {
+            maxHealthAttribute.setBaseValue(state.getMaxHealth()); // Restore max health first
         }
+        double health = Math.min(state.getHealth(), state.getMaxHealth()); // Cap health at their restored max health
+        if (player.getHealth() != health) player.setHealth(health);
 
-        player.setFoodLevel(state.getFoodLevel());
-        player.setSaturation(state.getSaturation());
-        player.setExhaustion(state.getExhaustion());
-        player.setLevel(state.getLevel());
-        player.setExp(state.getExp());
-        player.setGameMode(state.getGameMode());
-        player.setAllowFlight(state.isAllowFlight()); // Restore allow flight before setting flying state
-        player.setFlying(state.isFlying()); // Restore flying state
+        if (player.getFoodLevel() != state.getFoodLevel()) player.setFoodLevel(state.getFoodLevel());
+        if (player.getSaturation() != state.getSaturation()) player.setSaturation(state.getSaturation());
+        if (player.getExhaustion() != state.getExhaustion()) player.setExhaustion(state.getExhaustion());
+        if (player.getLevel() != state.getLevel()) player.setLevel(state.getLevel());
+        if (player.getExp() != state.getExp()) player.setExp(state.getExp());
+        if (player.getGameMode() != state.getGameMode()) player.setGameMode(state.getGameMode());
+        // Restore allow flight before setting flying state
+        if (player.getAllowFlight() != state.isAllowFlight()) player.setAllowFlight(state.isAllowFlight());
+        if (player.isFlying() != state.isFlying()) player.setFlying(state.isFlying());
+    }
 
-        logger.info("Restored state for player " + player.getName());
-        return true;
+    private static boolean sameItem(ItemStack current, ItemStack target) {
+        boolean currentEmpty = current == null || current.getType().isAir();
+        boolean targetEmpty = target == null || target.getType().isAir();
+        if (currentEmpty || targetEmpty) return currentEmpty == targetEmpty;
+        return current.equals(target);
+    }
+
+    /**
+     * Gives a joining player back a state that was never restored, e.g. because the server crashed mid-match
+     * or the game ended while they were offline. States held in memory win over the stored copy.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        Player player = event.getPlayer();
+        UUID playerUUID = player.getUniqueId();
+        if (plugin.getGameManager() != null && plugin.getGameManager().isPlayerInAnyInstance(player)) return;
+        if (savedStates.containsKey(playerUUID)) {
+            restorePlayerState(player);
+            player.sendMessage(ChatColor.YELLOW + "Your inventory from before your last game has been restored.");
+            return;
+        }
+        if (!store.hasStoredState(playerUUID)) return;
+
+        store.loadAsync(playerUUID).thenAccept(snapshot -> {
+            if (snapshot == null || !plugin.isEnabled()) return;
+            plugin.getServer().getScheduler().runTask(plugin, () -> {
+                Player online = plugin.getServer().getPlayer(playerUUID);
+                if (online == null || savedStates.containsKey(playerUUID)) return; // Left again, or joined a game meanwhile
+                if (plugin.getGameManager() != null && plugin.getGameManager().isPlayerInAnyInstance(online)) return;
+                PlayerState state;
+                try {
+                    state = PlayerState.fromBytes(snapshot);
+                } catch (IOException | RuntimeException e) {
+                    logger.log(Level.SEVERE, "Could not decode stored state of player " + online.getName() + ". Keeping the file.", e);
+                    return;
+                }
+                store.deleteAsync(playerUUID);
+                applyState(online, state);
+                online.sendMessage(ChatColor.YELLOW + "Your inventory from before your last game has been restored.");
+                logger.info("Restored stored state for player " + online.getName() + " (left over from an interrupted game).");
+            });
+        });
     }
 
     /**
@@ -112,27 +318,14 @@ public class PlayerStateManager {
     public void clearPlayerForGame(Player player, GameMode gameMode) {
         if (player == null) return;
 
-        player.getInventory().clear();
-        player.getInventory().setArmorContents(null); // Clear armor slots
-
-        for (PotionEffect effect : player.getActivePotionEffects()) {
-            player.removePotionEffect(effect.getType());
-        }
-
-        // Reset health to default max (20) or a game-specific max if needed
-        // For now, let's assume default max health unless game modifies it
-        player.getAttribute(Attribute.GENERIC_MAX_HEALTH).setBaseValue(20.0); // Reset to default
-        player.setHealth(20.0); // Full health
-        player.setFoodLevel(20); // Full hunger
-        player.setSaturation(20f); // Full saturation (important for natural regeneration)
-        player.setExhaustion(0f);
-        player.setLevel(0);
-        player.setExp(0f);
-        player.setFireTicks(0);
-
-        player.setGameMode(gameMode);
-        player.setAllowFlight(gameMode == GameMode.CREATIVE || gameMode == GameMode.SPECTATOR); // Default flight allowance
-        player.setFlying(false); // Ensure not flying unless gamemode allows and intended
+        // Empty inventory and armor, no effects, default max health (20), full health and hunger
+        // (full saturation is important for natural regeneration), no XP
+        PlayerState cleared = new PlayerState(new ItemStack[player.getInventory().getSize()], new ItemStack[4], Collections.emptyList(),
+                20.0, 20.0, 20, 20f, 0f, 0, 0f, gameMode,
+                false, // Ensure not flying unless gamemode allows and intended
+                gameMode == GameMode.CREATIVE || gameMode == GameMode.SPECTATOR); // Default flight allowance
+        applyState(player, cleared);
+        if (player.getFireTicks() > 0) player.setFireTicks(0);
 
         logger.fine("Cleared player " + player.getName() + " for game, set gamemode to " + gameMode.name());
     }
@@ -146,6 +339,7 @@ public class PlayerStateManager {
     public void removePlayerState(Player player) {
         if (player == null) return;
         if (savedStates.remove(player.getUniqueId()) != null) {
+            store.deleteAsync(player.getUniqueId());
             logger.fine("Removed saved state for player " + player.getName());
         }
     }
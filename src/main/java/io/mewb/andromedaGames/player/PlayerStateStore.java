@@ -0,0 +1,143 @@
+package io.mewb.andromedaGames.player;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Durable copy of saved player states, one snapshot file per player under {@code playerstates/}, so a player's
+ * pre-game inventory, XP and effects survive a server crash mid-match.
+ * <p>
+ * All file work runs on one background thread in submission order, so a save followed by a delete for the
+ * same player can never be reordered, and encoding the snapshot happens there too. Files are written to
+ * a temporary file with SYNC and then atomically moved into place, so a crash leaves either the old or the
+ * new state, never a torn one.
+ */
+public class PlayerStateStore {
+
+    private final Logger logger;
+    private final File directory;
+    private final ExecutorService writer;
+
+    public PlayerStateStore(File dataFolder, Logger logger) {
+        this.logger = logger;
+        this.directory = new File(dataFolder, "playerstates");
+        if (!directory.exists() && !directory.mkdirs()) {
+            logger.severe("Could not create player state directory: " + directory.getAbsolutePath());
+        }
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "AndromedaGames-PlayerStateStore");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Encodes a player's state to its snapshot and writes it, both in the background. The state's items must be
+     * copies that nothing else modifies.
+     * @return A future completed off the main thread with the snapshot, or exceptionally if encoding failed.
+     */
+    public CompletableFuture<byte[]> saveAsync(UUID playerId, PlayerState state) {
+        CompletableFuture<byte[]> future = new CompletableFuture<>();
+        submit(() -> {
+            byte[] snapshot;
+            try {
+                snapshot = state.toBytes();
+            } catch (IOException | RuntimeException e) {
+                logger.log(Level.SEVERE, "Could not encode state of player " + playerId + ". It will not survive a crash.", e);
+                future.completeExceptionally(e);
+                return;
+            }
+            future.complete(snapshot);
+            write(playerId, snapshot);
+        });
+        return future;
+    }
+
+    /**
+     * Deletes a player's stored state in the background, after any earlier save for them.
+     */
+    public void deleteAsync(UUID playerId) {
+        submit(() -> {
+            try {
+                Files.deleteIfExists(fileOf(playerId).toPath());
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Could not delete stored state of player " + playerId, e);
+            }
+        });
+    }
+
+    /**
+     * Reads a player's stored snapshot in the background, after any earlier save or delete for them.
+     * Decode it with {@link PlayerState#fromBytes(byte[])} on the main thread.
+     * @return A future completed off the main thread with the snapshot, or null if none is stored or it is unreadable.
+     */
+    public CompletableFuture<byte[]> loadAsync(UUID playerId) {
+        CompletableFuture<byte[]> future = new CompletableFuture<>();
+        submit(() -> future.complete(read(playerId)));
+        return future;
+    }
+
+    /** Whether a stored state file exists for a player. A cheap check, safe on the main thread. */
+    public boolean hasStoredState(UUID playerId) {
+        return fileOf(playerId).isFile();
+    }
+
+    /**
+     * Waits (briefly) for queued writes to finish. Called on plugin disable.
+     */
+    public void shutdown() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.warning("Timed out waiting for player states to be written.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void submit(Runnable task) {
+        if (writer.isShutdown()) {
+            task.run(); // Disabling: run inline rather than lose the write
+            return;
+        }
+        writer.execute(task);
+    }
+
+    private File fileOf(UUID playerId) {
+        return new File(directory, playerId + ".state");
+    }
+
+    private void write(UUID playerId, byte[] snapshot) {
+        File target = fileOf(playerId);
+        File temp = new File(directory, playerId + ".state.tmp");
+        try {
+            Files.write(temp.toPath(), snapshot,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE, StandardOpenOption.SYNC);
+            Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Could not store state of player " + playerId + ". It will not survive a crash.", e);
+        }
+    }
+
+    private byte[] read(UUID playerId) {
+        File file = fileOf(playerId);
+        if (!file.isFile()) return null;
+        try {
+            return Files.readAllBytes(file.toPath());
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Could not read stored state of player " + playerId + " from " + file.getName(), e);
+            return null;
+        }
+    }
+}
@@ -10,28 +10,33 @@ import org.bukkit.scoreboard.Team;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.UUID;
 
+/**
+ * One sidebar board. It can be shown to any number of players; {@link InstanceScoreboard} shares one board
+ * between all players of an instance whose personal lines match. Besides the sidebar lines, the board carries
+ * the instance's nametag teams, since a player's nametag colours come from the board they are viewing.
+ */
 public class GameScoreboard {
 
-    private final Player player;
+    private static final String NAMETAG_TEAM_PREFIX = "nt_"; // Keeps nametag teams apart from the line teams
+
     private final Scoreboard scoreboard;
     private final Objective objective;
 
     // To store and update lines without flickering, we use teams for each line
     private final Map<Integer, Team> lineTeams = new HashMap<>();
     private final String[] lineEntryPlaceholders; // Invisible ChatColor sequences
+    // Last text set per line (before colour translation), null if the line is not shown. Only changed lines are re-sent.
+    private final String[] renderedLines = new String[MAX_LINES];
 
     private static final int MAX_LINES = 15; // Max lines on a sidebar scoreboard (excluding title)
 
     /**
-     * Creates a new scoreboard for a player.
-     * @param player The player this scoreboard belongs to.
+     * Creates a new scoreboard.
      * @param title The title of the scoreboard (max 32 chars).
      */
-    public GameScoreboard(Player player, String title) {
-        this.player = player;
-        // Create a new scoreboard for the player to avoid conflicts
+    public GameScoreboard(String title) {
+        // Create a new scoreboard to avoid conflicts with the main one and other instances
         this.scoreboard = Bukkit.getScoreboardManager().getNewScoreboard();
 
         // Register the objective for the sidebar
@@ -53,6 +58,8 @@ public class GameScoreboard {
      * Sets or updates a specific line on the scoreboard.
      * Lines are ordered from top (higher score value) to bottom (lower score value).
      * For sidebar, higher score means lower on the list. We'll reverse this for intuitive line numbers.
+     * Does nothing if the line already shows this text, so callers can re-render every line each update and
+     * only the lines that changed send a packet. A line's score is set once, when it is first shown.
      *
      * @param lineNumber The line number (0 is the top-most line under the title).
      * @param text The text to display on this line (max 32 chars for prefix/suffix combined effectively).
@@ -62,6 +69,7 @@ public class GameScoreboard {
             return; // Invalid line number
         }
 
+        if (text.equals(renderedLines[lineNumber])) return; // Unchanged
         Team team = lineTeams.get(lineNumber);
         if (team == null) return; // Should not happen
 
@@ -100,7 +108,10 @@ public class GameScoreboard {
 
         // Scores determine order: higher score = lower on list.
         // So, line 0 (top) gets score MAX_LINES, line 1 gets MAX_LINES - 1, etc.
-        objective.getScore(this.lineEntryPlaceholders[lineNumber]).setScore(MAX_LINES - lineNumber);
+        if (renderedLines[lineNumber] == null) {
+            objective.getScore(this.lineEntryPlaceholders[lineNumber]).setScore(MAX_LINES - lineNumber);
+        }
+        renderedLines[lineNumber] = text;
     }
 
     /**
@@ -108,9 +119,10 @@ public class GameScoreboard {
      * @param lineNumber The line number to clear.
      */
     public void clearLine(int lineNumber) {
-        if (lineNumber < 0 || lineNumber >= MAX_LINES) {
-            return;
+        if (lineNumber < 0 || lineNumber >= MAX_LINES || renderedLines[lineNumber] == null) {
+            return; // Invalid or not shown
         }
+        renderedLines[lineNumber] = null;
         scoreboard.resetScores(this.lineEntryPlaceholders[lineNumber]); // Remove the score
         Team team = lineTeams.get(lineNumber);
         if (team != null) {
@@ -123,36 +135,68 @@ public class GameScoreboard {
      * Clears all lines on the scoreboard.
      */
     public void clearAllLines() {
-        for (int i = 0; i < MAX_LINES; i++) {
+        clearLinesFrom(0);
+    }
+
+    /**
+     * Clears every shown line from the given line down. Call after rendering an update's lines, so lines the
+     * previous update used but this one did not are removed.
+     * @param firstLine The first line to clear.
+     */
+    public void clearLinesFrom(int firstLine) {
+        for (int i = Math.max(0, firstLine); i < MAX_LINES; i++) {
             clearLine(i);
         }
     }
 
     /**
-     * Shows the scoreboard to the player.
+     * Shows the scoreboard to a player.
      */
-    public void show() {
-        if (player.isOnline()) {
+    public void show(Player player) {
+        if (player.isOnline() && player.getScoreboard() != this.scoreboard) {
             player.setScoreboard(this.scoreboard);
         }
     }
 
     /**
-     * Hides the scoreboard from the player by setting their scoreboard to the main server scoreboard.
+     * Hides the scoreboard from a player by setting their scoreboard to the main server scoreboard.
      */
-    public void hide() {
+    public void hide(Player player) {
         if (player.isOnline() && player.getScoreboard() == this.scoreboard) {
             player.setScoreboard(Bukkit.getScoreboardManager().getMainScoreboard());
         }
     }
 
     /**
-     * Removes the scoreboard and unregisters teams/objectives.
-     * Call this when the player leaves the game or the scoreboard is no longer needed.
+     * Registers a nametag team on this board.
+     * @return The team, for further options (friendly fire, invisibles, ...).
+     */
+    public Team registerNametagTeam(String teamName, ChatColor color, String prefix) {
+        Team team = scoreboard.registerNewTeam(NAMETAG_TEAM_PREFIX + teamName);
+        team.setColor(color);
+        team.setPrefix(prefix);
+        return team;
+    }
+
+    /**
+     * Puts an entry (a player name) into a nametag team on this board, leaving any other team it was in.
+     * @param teamName The team, or null to only remove the entry from its team.
+     */
+    public void setNametagTeam(String entry, String teamName) {
+        Team current = scoreboard.getEntryTeam(entry);
+        if (current != null && current.getName().equals(NAMETAG_TEAM_PREFIX + teamName)) return;
+        if (current != null && current.getName().startsWith(NAMETAG_TEAM_PREFIX)) current.removeEntry(entry);
+        if (teamName == null) return;
+        Team team = scoreboard.getTeam(NAMETAG_TEAM_PREFIX + teamName);
+        if (team != null) team.addEntry(entry);
+    }
+
+    /**
+     * Unregisters the teams and objective of this board.
+     * Call this once no player is viewing it anymore.
      */
     public void destroy() {
-        hide(); // Ensure it's hidden first
-        for (Team team : lineTeams.values()) {
+        for (Team team : scoreboard.getTeams()) {
             try {
                 team.unregister();
             } catch (IllegalStateException e) { /* Already unregistered */ }
@@ -0,0 +1,202 @@
+package io.mewb.andromedaGames.utils;
+
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.entity.Player;
+import org.bukkit.scoreboard.Team;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * The sidebar and nametag teams of one game instance, built in two layers: instance-wide lines (time left,
+ * top players, active hook, team scores) rendered once per update for the whole instance, and a player's
+ * personal lines (their role, what they carry). Players whose personal lines are the same share one
+ * {@link GameScoreboard}, so the number of boards follows the number of distinct personal views in an
+ * instance (e.g. infected and survivors) instead of the number of players. A player alone on their board keeps
+ * it when their personal lines change, so only the changed lines are sent. Nametag teams are kept on
+ * every board of the instance. Main thread only.
+ */
+public class InstanceScoreboard {
+
+    private String title;
+    private final Map<UUID, String> viewOfPlayer = new HashMap<>(); // Player -> key of the view they see, null until the first update
+    private final Map<String, View> views = new HashMap<>(); // Key (personal lines joined) -> view
+    private final Map<String, NametagTeam> nametagTeams = new LinkedHashMap<>();
+    private final Map<String, String> nametagTeamOfEntry = new HashMap<>();
+    private List<String> sharedTop = Collections.emptyList();
+    private List<String> sharedBottom = Collections.emptyList();
+
+    private static final class View {
+        final GameScoreboard board;
+        List<String> personalLines;
+        int viewers;
+
+        View(GameScoreboard board, List<String> personalLines) {
+            this.board = board;
+            this.personalLines = personalLines;
+        }
+    }
+
+    private static final class NametagTeam {
+        final ChatColor color;
+        final String prefix;
+        final Consumer<Team> options;
+
+        NametagTeam(ChatColor color, String prefix, Consumer<Team> options) {
+            this.color = color;
+            this.prefix = prefix;
+            this.options = options;
+        }
+    }
+
+    public InstanceScoreboard(String title) {
+        this.title = title;
+    }
+
+    /**
+     * Adds a player to the instance's sidebar. They are shown the board for their view on the next {@link #update}.
+     */
+    public void addViewer(Player player) {
+        viewOfPlayer.putIfAbsent(player.getUniqueId(), null); // No view yet
+    }
+
+    /**
+     * Stops showing the instance's sidebar to a player; they get the main scoreboard back.
+     */
+    public void removeViewer(Player player) {
+        String key = viewOfPlayer.remove(player.getUniqueId());
+        if (key == null) return;
+        View view = views.get(key);
+        if (view == null) return;
+        view.board.hide(player);
+        releaseView(key, view);
+    }
+
+    public boolean isViewer(UUID playerId) {
+        return viewOfPlayer.containsKey(playerId);
+    }
+
+    /**
+     * Renders the sidebar: the shared lines once for the instance, the personal lines once per distinct view.
+     * Only lines whose text changed are sent (see {@link GameScoreboard#setLine}).
+     * @param top Instance-wide lines shown above the personal lines.
+     * @param personalLines A viewer's personal lines. Viewers with equal lines share a board.
+     * @param bottom Instance-wide lines shown below the personal lines.
+     */
+    public void update(List<String> top, Function<Player, List<String>> personalLines, List<String> bottom) {
+        this.sharedTop = new ArrayList<>(top);
+        this.sharedBottom = new ArrayList<>(bottom);
+        for (UUID playerId : new ArrayList<>(viewOfPlayer.keySet())) {
+            Player player = Bukkit.getPlayer(playerId);
+            if (player != null && player.isOnline()) moveToView(player, personalLines.apply(player));
+        }
+        for (View view : views.values()) render(view);
+    }
+
+    /**
+     * Registers a nametag team on every board of the instance, current and future.
+     * @param options Further team options, applied on each board; may be null.
+     */
+    public void registerNametagTeam(String teamName, ChatColor color, String prefix, Consumer<Team> options) {
+        if (nametagTeams.containsKey(teamName)) return; // Already registered, e.g. by an earlier setup
+        NametagTeam nametagTeam = new NametagTeam(color, prefix, options);
+        nametagTeams.put(teamName, nametagTeam);
+        for (View view : views.values()) applyTeam(view.board, teamName, nametagTeam);
+    }
+
+    /**
+     * Puts a player's name into a nametag team on every board of the instance.
+     * @param teamName The team, or null to take the player out of their team.
+     */
+    public void setNametagTeam(String entry, String teamName) {
+        if (teamName == null) nametagTeamOfEntry.remove(entry);
+        else nametagTeamOfEntry.put(entry, teamName);
+        for (View view : views.values()) view.board.setNametagTeam(entry, teamName);
+    }
+
+    public void setTitle(String title) {
+        if (title.equals(this.title)) return;
+        this.title = title;
+        for (View view : views.values()) view.board.updateTitle(title);
+    }
+
+    /** Number of boards currently in use, for diagnostics. */
+    public int getBoardCount() {
+        return views.size();
+    }
+
+    /**
+     * Hides the sidebar from every viewer and unregisters all boards.
+     */
+    public void destroy() {
+        for (Map.Entry<UUID, String> entry : viewOfPlayer.entrySet()) {
+            Player player = Bukkit.getPlayer(entry.getKey());
+            View view = entry.getValue() != null ? views.get(entry.getValue()) : null;
+            if (player != null && view != null) view.board.hide(player);
+        }
+        viewOfPlayer.clear();
+        views.values().forEach(view -> view.board.destroy());
+        views.clear();
+    }
+
+    private void moveToView(Player player, List<String> personalLines) {
+        String key = String.join("\n", personalLines);
+        String previousKey = viewOfPlayer.put(player.getUniqueId(), key);
+        if (key.equals(previousKey)) return;
+
+        View view = views.get(key);
+        View previous = previousKey != null ? views.get(previousKey) : null;
+        if (view == null && previous != null && previous.viewers == 1) {
+            // Sole viewer of their board (e.g. the only player with their score): re-key it in place, so only the
+            // changed personal lines are sent instead of a new board
+            views.remove(previousKey);
+            previous.personalLines = new ArrayList<>(personalLines);
+            views.put(key, previous);
+            render(previous);
+            return;
+        }
+        if (view == null) {
+            view = new View(createBoard(), new ArrayList<>(personalLines));
+            views.put(key, view);
+            render(view);
+        }
+        view.viewers++;
+        view.board.show(player);
+
+        if (previous != null) releaseView(previousKey, previous);
+    }
+
+    private void releaseView(String key, View view) {
+        if (--view.viewers > 0) return;
+        views.remove(key);
+        view.board.destroy();
+    }
+
+    private GameScoreboard createBoard() {
+        GameScoreboard board = new GameScoreboard(title);
+        nametagTeams.forEach((teamName, nametagTeam) -> applyTeam(board, teamName, nametagTeam));
+        nametagTeamOfEntry.forEach(board::setNametagTeam);
+        return board;
+    }
+
+    private static void applyTeam(GameScoreboard board, String teamName, NametagTeam nametagTeam) {
+        Team team = board.registerNametagTeam(teamName, nametagTeam.color, nametagTeam.prefix);
+        if (nametagTeam.options != null) nametagTeam.options.accept(team);
+    }
+
+    private void render(View view) {
+        int line = 0;
+        for (String text : sharedTop) view.board.setLine(line++, text);
+        for (String text : view.personalLines) view.board.setLine(line++, text);
+        for (String text : sharedBottom) view.board.setLine(line++, text);
+        view.board.clearLinesFrom(line);
+    }
+}
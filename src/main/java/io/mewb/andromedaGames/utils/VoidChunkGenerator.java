@@ -0,0 +1,24 @@
+package io.mewb.andromedaGames.utils;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.generator.ChunkGenerator;
+
+import java.util.Random;
+
+/**
+ * Generates nothing, for instance worlds whose content is pasted or copied in.
+ */
+public class VoidChunkGenerator extends ChunkGenerator {
+    @Override public boolean shouldGenerateNoise() { return false; }
+    @Override public boolean shouldGenerateSurface() { return false; }
+    @Override public boolean shouldGenerateCaves() { return false; }
+    @Override public boolean shouldGenerateDecorations() { return false; }
+    @Override public boolean shouldGenerateMobs() { return false; }
+    @Override public boolean shouldGenerateStructures() { return false; }
+
+    @Override
+    public Location getFixedSpawnLocation(World world, Random random) {
+        return new Location(world, 0, 100, 0);
+    }
+}
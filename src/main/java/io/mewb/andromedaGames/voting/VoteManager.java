@@ -3,6 +3,7 @@ package io.mewb.andromedaGames.voting;
 import io.mewb.andromedaGames.AndromedaGames;
 import io.mewb.andromedaGames.game.GameInstance; // Changed from Game to GameInstance
 import io.mewb.andromedaGames.game.GameState;   // Assuming GameInstance has getGameState()
+import io.mewb.andromedaGames.perf.TickProfiler;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Sound;
@@ -83,18 +84,19 @@ public class VoteManager {
 
         AtomicInteger timeLeft = new AtomicInteger(durationSeconds);
         voteTimerTask = plugin.getServer().getScheduler().runTaskTimer(plugin, () -> {
+            long profileStart = plugin.getTickProfiler().start();
             if (!isVoteActive || game.getGameState() != GameState.ACTIVE) {
                 endVote(false);
-                return;
-            }
-
-            if (timeLeft.get() % 10 == 0 && timeLeft.get() > 0 && timeLeft.get() < durationSeconds) {
-                game.broadcastToGamePlayers(ChatColor.YELLOW + "Vote ends in " + timeLeft.get() + " seconds! Type " + ChatColor.GREEN + "/vote <number>");
-            }
+            } else {
+                if (timeLeft.get() % 10 == 0 && timeLeft.get() > 0 && timeLeft.get() < durationSeconds) {
+                    game.broadcastToGamePlayers(ChatColor.YELLOW + "Vote ends in " + timeLeft.get() + " seconds! Type " + ChatColor.GREEN + "/vote <number>");
+                }
 
-            if (timeLeft.decrementAndGet() <= 0) {
-                endVote(true);
+                if (timeLeft.decrementAndGet() <= 0) {
+                    endVote(true);
+                }
             }
+            plugin.getTickProfiler().record(TickProfiler.Section.VOTE_TIMER, game, profileStart);
         }, 20L, 20L);
 
         logger.info("[" + game.getDefinition().getDefinitionId() + "-Instance:" + game.getInstanceId().toString().substring(0,8) + "] Vote started with options: " +
@@ -196,7 +198,9 @@ public class VoteManager {
 
         try {
             if (winningHook.canApply(game)) { // Pass GameInstance
+                long profileStart = plugin.getTickProfiler().start();
                 winningHook.apply(game, votersForWinningHook); // Pass GameInstance
+                plugin.getTickProfiler().record(TickProfiler.Section.VOTE_HOOK_APPLY, game, profileStart);
                 logger.info(gameInstanceContext + " Applied winning voting hook: " + winningHook.getDisplayName());
                 game.setActiveVotingHook(winningHook); // Inform the game instance
             } else {